@@ -0,0 +1,59 @@
+package com.interseguro.soat.api;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+import java.io.IOException;
+
+/**
+ * Hooks de Cucumber de la suite API (sin navegador).
+ * Apunta al backend configurado en api.base.url o, solo si se pide explícitamente
+ * (api.stub.enabled=true, desarrollo local), levanta el stub una vez por ejecución.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar el ciclo de vida
+ * del stub con los hooks globales de Cucumber 7.
+ */
+public class ApiHooks {
+
+    private static final Log LOG = Log.get("API");
+
+    private static QuoteStubServer stubServer;
+    private static QuoteApiClient client;
+
+    /**
+     * Se ejecuta UNA VEZ antes de todos los escenarios.
+     * Inicializa el cliente HTTP (y el stub local si está habilitado).
+     */
+    @BeforeAll
+    public static void startBackend() throws IOException {
+        ConfigManager config = ConfigManager.getInstance();
+        String baseUrl = config.getApiBaseUrl();
+        if (config.isApiStubEnabled()) {
+            stubServer = new QuoteStubServer();
+            baseUrl = stubServer.start(0);
+            LOG.warn("Stub local de cotización iniciado en: " + baseUrl
+                    + " (implementa las reglas que se validan: no prueba el backend real)");
+        } else {
+            LOG.info("Ejecutando contra el backend: " + baseUrl);
+        }
+        client = new QuoteApiClient(baseUrl, config.getApiTimeout());
+    }
+
+    /**
+     * Se ejecuta UNA VEZ después de todos los escenarios.
+     */
+    @AfterAll
+    public static void stopBackend() {
+        if (stubServer != null) {
+            stubServer.stop();
+            LOG.info("Stub local detenido");
+        }
+    }
+
+    /** @return Cliente HTTP compartido por los step definitions de la suite API */
+    static QuoteApiClient getClient() {
+        return client;
+    }
+}
@@ -0,0 +1,129 @@
+package com.interseguro.soat.api;
+
+import com.interseguro.soat.logging.Log;
+import io.cucumber.java.es.Cuando;
+import io.cucumber.java.es.Dado;
+import io.cucumber.java.es.Entonces;
+import io.cucumber.java.es.Y;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Step Definitions de la suite API para soat_cotizacion.feature.
+ * Implementa los mismos textos de paso que {@code SoatSteps} pero contra el
+ * backend de cotización vía HTTP, validando únicamente reglas de negocio.
+ *
+ * Se selecciona con el runner {@code ApiTestRunner} (glue com.interseguro.soat.api),
+ * por lo que nunca convive con el glue de UI en la misma ejecución.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para mapear los pasos de UI a
+ * llamadas HTTP equivalentes y sus validaciones con JUnit 5 Assertions.
+ */
+public class ApiSoatSteps {
+
+    private static final Log LOG = Log.get("API");
+
+    private QuoteApiClient client;
+    private QuoteApiClient.ApiResponse cotizacion;
+    private QuoteApiClient.ApiResponse resumen;
+    private String planId;
+
+    // ==================== ANTECEDENTES (Background) ====================
+
+    @Dado("que el usuario ingresa a la página de SOAT Digital")
+    public void elUsuarioIngresaALaPaginaDeSOATDigital() {
+        client = ApiHooks.getClient();
+        QuoteApiClient.ApiResponse estado = client.getEstado();
+        assertTrue(estado.isSuccess(), "El backend de cotización no está disponible: " + estado);
+    }
+
+    // ==================== ACCIONES (When/And) ====================
+
+    @Cuando("ingresa la placa {string} y hace clic en Cotizar Ahora")
+    public void ingresaLaPlacaYHaceClicEnCotizarAhora(String placa) {
+        cotizacion = client.cotizar(placa);
+    }
+
+    @Y("edita los datos del vehículo seleccionando marca {string} y modelo {string}")
+    public void editaLosDatosDelVehiculoSeleccionandoMarcaYModelo(String marca, String modelo) {
+        assertCotizacionGenerada();
+        cotizacion = client.editarVehiculo(cotizacion.getString("cotizacionId"), marca, modelo);
+        assertTrue(cotizacion.isSuccess(),
+                "No se pudo editar el vehículo a " + marca + " " + modelo + ": " + cotizacion);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> vehiculo = (Map<String, Object>) cotizacion.getBody().get("vehiculo");
+        assertEquals(marca, vehiculo.get("marca"), "La marca no se actualizó en la cotización");
+        assertEquals(modelo, vehiculo.get("modelo"), "El modelo no se actualizó en la cotización");
+    }
+
+    @Y("guarda los cambios del vehículo")
+    public void guardaLosCambiosDelVehiculo() {
+        // En la API la edición se persiste en la misma petición; se valida que haya planes recalculados
+        assertFalse(getPlanes().isEmpty(), "La cotización no tiene planes tras guardar el vehículo");
+    }
+
+    @Y("selecciona el plan de seguro más económico")
+    public void seleccionaElPlanDeSeguroMasEconomico() {
+        assertCotizacionGenerada();
+        Map<String, Object> masEconomico = getPlanes().stream()
+                .min(Comparator.comparingDouble(p -> ((Number) p.get("precio")).doubleValue()))
+                .orElseThrow(() -> new AssertionError("La cotización no tiene planes: " + cotizacion));
+        planId = String.valueOf(masEconomico.get("id"));
+        LOG.info("Plan más económico: " + masEconomico.get("nombre")
+                + " (S/ " + masEconomico.get("precio") + ")");
+    }
+
+    @Y("continúa con la compra")
+    public void continuaConLaCompra() {
+        resumen = client.seleccionarPlan(cotizacion.getString("cotizacionId"), planId);
+    }
+
+    // ==================== VALIDACIONES (Then) ====================
+
+    @Entonces("se muestra la sección Resumen de tu Compra y se captura la imagen")
+    public void seMuestraLaSeccionResumenDeTuCompraYSeCapturaLaImagen() {
+        assertTrue(resumen.isSuccess(), "No se obtuvo el resumen de compra: " + resumen);
+        Object resumenCompra = resumen.getBody().get("resumenCompra");
+        assertNotNull(resumenCompra, "La respuesta no contiene la sección 'Resumen de compra'");
+        // Sin navegador no hay imagen que capturar: se registra el resumen como evidencia
+        LOG.info("Evidencia: Resumen de Compra (API): " + resumenCompra);
+    }
+
+    @Entonces("se muestra un mensaje de error de placa inválida")
+    public void seMuestraUnMensajeDeErrorDePlacaInvalida() {
+        assertFalse(cotizacion.isSuccess(),
+                "El backend cotizó una placa inválida: " + cotizacion);
+        String error = cotizacion.getString("error");
+        assertNotNull(error, "La respuesta de error no contiene mensaje: " + cotizacion);
+        assertTrue(error.toLowerCase().contains("placa"),
+                "El mensaje de error no hace referencia a la placa: " + error);
+        LOG.info("Validación: Mensaje de error mostrado: " + error);
+    }
+
+    @Entonces("el sistema no permite avanzar y muestra error de validación")
+    public void elSistemaNoPermiteAvanzarYMuestraErrorDeValidacion() {
+        assertFalse(cotizacion.isSuccess(),
+                "El sistema no debería permitir avanzar con datos inválidos o vacíos: " + cotizacion);
+        assertNull(cotizacion.getString("cotizacionId"),
+                "Se generó una cotización a pesar de los datos inválidos");
+        LOG.info("Validación: El sistema bloqueó correctamente el avance con datos inválidos");
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private void assertCotizacionGenerada() {
+        assertTrue(cotizacion != null && cotizacion.isSuccess(),
+                "No se generó la cotización: " + cotizacion);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> getPlanes() {
+        Object planes = cotizacion.getBody().get("planes");
+        return planes == null ? List.of() : (List<Map<String, Object>>) planes;
+    }
+}
@@ -0,0 +1,162 @@
+package com.interseguro.soat.api;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Cliente HTTP del backend de cotización SOAT (o del stub local).
+ * Permite ejecutar las reglas de negocio de los escenarios sin navegador.
+ *
+ * Contrato ASUMIDO: no hay documentación ni especificación publicada del backend real;
+ * las rutas y los cuerpos se infirieron del flujo de la UI y deben confirmarse contra
+ * api.base.url antes de tomar la suite API como señal de calidad.
+ *
+ * Endpoints utilizados (relativos a api.base.url):
+ *   GET  /estado                                 → disponibilidad del servicio
+ *   POST /cotizaciones            {placa}        → cotización con vehículo y planes
+ *   PUT  /cotizaciones/{id}/vehiculo {marca, modelo} → recotiza con el vehículo editado
+ *   POST /cotizaciones/{id}/plan  {planId}       → resumen de compra
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar el cliente HTTP
+ * con java.net.http y el parseo JSON con el módulo JSON de Selenium.
+ */
+public class QuoteApiClient {
+
+    private static final Json JSON = new Json();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    /**
+     * @param baseUrl        URL base del backend (sin barra final)
+     * @param timeoutSeconds Timeout por petición en segundos
+     */
+    public QuoteApiClient(String baseUrl, int timeoutSeconds) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    // ==================== ENDPOINTS ====================
+
+    /** @return Respuesta del endpoint de estado del servicio */
+    public ApiResponse getEstado() {
+        return send("GET", "/estado", null);
+    }
+
+    /**
+     * Solicita una cotización para la placa indicada.
+     *
+     * @param placa Número de placa (puede ser vacío o inválido)
+     * @return Respuesta con la cotización o el error de validación
+     */
+    public ApiResponse cotizar(String placa) {
+        return send("POST", "/cotizaciones", Map.of("placa", placa == null ? "" : placa));
+    }
+
+    /**
+     * Edita el vehículo de una cotización existente.
+     *
+     * @param cotizacionId Identificador de la cotización
+     * @param marca        Marca del vehículo (ej: TOYOTA)
+     * @param modelo       Modelo del vehículo (ej: YARIS)
+     * @return Respuesta con la cotización recalculada
+     */
+    public ApiResponse editarVehiculo(String cotizacionId, String marca, String modelo) {
+        return send("PUT", "/cotizaciones/" + cotizacionId + "/vehiculo",
+                Map.of("marca", marca, "modelo", modelo));
+    }
+
+    /**
+     * Selecciona un plan de la cotización y obtiene el resumen de compra.
+     *
+     * @param cotizacionId Identificador de la cotización
+     * @param planId       Identificador del plan
+     * @return Respuesta con el resumen de compra
+     */
+    public ApiResponse seleccionarPlan(String cotizacionId, String planId) {
+        return send("POST", "/cotizaciones/" + cotizacionId + "/plan", Map.of("planId", planId));
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private ApiResponse send(String method, String path, Map<String, Object> body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                   .method(method, HttpRequest.BodyPublishers.ofString(JSON.toJson(body)));
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new ApiResponse(response.statusCode(), parse(response.body()));
+        } catch (IOException e) {
+            throw new IllegalStateException("[API] Error en " + method + " " + path + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("[API] Petición interrumpida: " + method + " " + path, e);
+        }
+    }
+
+    private static Map<String, Object> parse(String body) {
+        if (body == null || body.isBlank()) {
+            return Collections.emptyMap();
+        }
+        return JSON.toType(body, Json.MAP_TYPE);
+    }
+
+    /**
+     * Respuesta HTTP con el cuerpo JSON ya parseado.
+     */
+    public static class ApiResponse {
+
+        private final int status;
+        private final Map<String, Object> body;
+
+        ApiResponse(int status, Map<String, Object> body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        /** @return Código de estado HTTP */
+        public int getStatus() {
+            return status;
+        }
+
+        /** @return true si el código HTTP es 2xx */
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        /** @return Cuerpo JSON como mapa */
+        public Map<String, Object> getBody() {
+            return body;
+        }
+
+        /**
+         * @param key Clave de primer nivel del JSON
+         * @return Valor como String, o null si no existe
+         */
+        public String getString(String key) {
+            Object value = body.get(key);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        @Override
+        public String toString() {
+            return "HTTP " + status + " " + body;
+        }
+    }
+}
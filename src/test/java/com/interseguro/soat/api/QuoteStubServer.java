@@ -0,0 +1,185 @@
+package com.interseguro.soat.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stub local del backend de cotización SOAT, solo para desarrollo local (api.stub.enabled=true).
+ * Implementa el contrato asumido de {@link QuoteApiClient} y las mismas reglas de negocio que
+ * validan los escenarios (formato de placa, catálogo de marcas/modelos, planes ordenados por
+ * precio), por lo que una ejecución contra el stub solo prueba el glue y el cliente HTTP,
+ * no el backend: las reglas se comparan consigo mismas.
+ *
+ * Usa el HttpServer embebido del JDK, sin dependencias adicionales.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar el stub HTTP
+ * con las reglas de negocio de la cotización.
+ */
+public class QuoteStubServer {
+
+    private static final Json JSON = new Json();
+
+    /** Placa peruana: 3 caracteres alfanuméricos, guion opcional y 3 dígitos */
+    private static final Pattern PLACA_VALIDA = Pattern.compile("^[A-Z0-9]{3}-?[0-9]{3}$");
+    private static final Pattern RUTA_COTIZACION = Pattern.compile("^/cotizaciones/([^/]+)/(vehiculo|plan)$");
+
+    private static final Map<String, List<String>> CATALOGO = Map.of(
+            "TOYOTA", List.of("YARIS", "COROLLA", "HILUX", "RAV4"),
+            "HYUNDAI", List.of("ACCENT", "ELANTRA", "TUCSON"),
+            "KIA", List.of("RIO", "PICANTO", "SPORTAGE"));
+
+    private final Map<String, Map<String, Object>> cotizaciones = new ConcurrentHashMap<>();
+    private final AtomicInteger secuencia = new AtomicInteger();
+    private HttpServer server;
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Inicia el stub en el puerto indicado (0 = puerto libre aleatorio).
+     *
+     * @param port Puerto local
+     * @return URL base del stub
+     */
+    public String start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "quote-stub");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Detiene el stub. */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    // ==================== RUTAS ====================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Matcher matcher = RUTA_COTIZACION.matcher(path);
+
+            if ("GET".equals(method) && "/estado".equals(path)) {
+                respond(exchange, 200, Map.of("estado", "OK"));
+            } else if ("POST".equals(method) && "/cotizaciones".equals(path)) {
+                crearCotizacion(exchange, readBody(exchange));
+            } else if ("PUT".equals(method) && matcher.matches() && "vehiculo".equals(matcher.group(2))) {
+                editarVehiculo(exchange, matcher.group(1), readBody(exchange));
+            } else if ("POST".equals(method) && matcher.matches() && "plan".equals(matcher.group(2))) {
+                seleccionarPlan(exchange, matcher.group(1), readBody(exchange));
+            } else {
+                respond(exchange, 404, Map.of("error", "Ruta no encontrada: " + method + " " + path));
+            }
+        } catch (RuntimeException e) {
+            respond(exchange, 500, Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private void crearCotizacion(HttpExchange exchange, Map<String, Object> body) throws IOException {
+        String placa = String.valueOf(body.getOrDefault("placa", "")).trim().toUpperCase();
+        if (!PLACA_VALIDA.matcher(placa).matches()) {
+            respond(exchange, 422, Map.of("error", "Ingresa una placa válida de 6 dígitos"));
+            return;
+        }
+        Map<String, Object> cotizacion = new LinkedHashMap<>();
+        cotizacion.put("cotizacionId", "COT-" + secuencia.incrementAndGet());
+        cotizacion.put("placa", placa);
+        cotizacion.put("vehiculo", Map.of("marca", "TOYOTA", "modelo", "YARIS"));
+        cotizacion.put("planes", planesPara("TOYOTA"));
+        cotizaciones.put((String) cotizacion.get("cotizacionId"), cotizacion);
+        respond(exchange, 200, cotizacion);
+    }
+
+    private void editarVehiculo(HttpExchange exchange, String id, Map<String, Object> body) throws IOException {
+        Map<String, Object> cotizacion = cotizaciones.get(id);
+        if (cotizacion == null) {
+            respond(exchange, 404, Map.of("error", "Cotización no encontrada: " + id));
+            return;
+        }
+        String marca = String.valueOf(body.get("marca")).toUpperCase();
+        String modelo = String.valueOf(body.get("modelo")).toUpperCase();
+        if (!CATALOGO.getOrDefault(marca, List.of()).contains(modelo)) {
+            respond(exchange, 422, Map.of("error", "Vehículo no disponible: " + marca + " " + modelo));
+            return;
+        }
+        cotizacion.put("vehiculo", Map.of("marca", marca, "modelo", modelo));
+        cotizacion.put("planes", planesPara(marca));
+        respond(exchange, 200, cotizacion);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void seleccionarPlan(HttpExchange exchange, String id, Map<String, Object> body) throws IOException {
+        Map<String, Object> cotizacion = cotizaciones.get(id);
+        if (cotizacion == null) {
+            respond(exchange, 404, Map.of("error", "Cotización no encontrada: " + id));
+            return;
+        }
+        String planId = String.valueOf(body.get("planId"));
+        Map<String, Object> plan = ((List<Map<String, Object>>) cotizacion.get("planes")).stream()
+                .filter(p -> planId.equals(p.get("id")))
+                .findFirst()
+                .orElse(null);
+        if (plan == null) {
+            respond(exchange, 422, Map.of("error", "Plan no disponible: " + planId));
+            return;
+        }
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("placa", cotizacion.get("placa"));
+        resumen.put("vehiculo", cotizacion.get("vehiculo"));
+        resumen.put("plan", plan.get("nombre"));
+        resumen.put("precio", plan.get("precio"));
+        respond(exchange, 200, Map.of("cotizacionId", id, "resumenCompra", resumen));
+    }
+
+    /**
+     * Planes ofrecidos para una marca. El SOAT Básico es siempre el más económico.
+     */
+    private static List<Map<String, Object>> planesPara(String marca) {
+        double recargo = "TOYOTA".equals(marca) ? 0.0 : 5.0;
+        return List.of(
+                Map.of("id", "BASICO", "nombre", "SOAT Básico", "precio", 55.0 + recargo),
+                Map.of("id", "PLUS", "nombre", "SOAT Plus", "precio", 79.0 + recargo),
+                Map.of("id", "PREMIUM", "nombre", "SOAT Premium", "precio", 99.0 + recargo));
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return body.isBlank() ? Map.of() : JSON.toType(body, Json.MAP_TYPE);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = JSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.interseguro.soat.catalog;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.pages.HomePage;
+import com.interseguro.soat.pages.PlanSelectionPage;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Captura en una sola sesión de navegador el catálogo completo #make → #model
+ * de la página de planes y lo guarda como {@link VehicleCatalog}.
+ *
+ * Recorrido: landing → placa (catalog.placa) → Cotizar → planes → Editar, y con el
+ * modal abierto lee todas las marcas y, para cada una, todos sus modelos.
+ * No guarda cambios en el vehículo.
+ *
+ * Uso manual:
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.catalog.CatalogHarvester
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el recorrido de captura del catálogo.
+ */
+public final class CatalogHarvester {
+
+    private static final Log LOG = Log.get("Catalog");
+
+    private CatalogHarvester() {
+        // Constructor privado - clase utilitaria
+    }
+
+    public static void main(String[] args) throws IOException {
+        VehicleCatalog harvested = harvest();
+        String implausible = harvested.implausibleReason(VehicleCatalog.load(),
+                ConfigManager.getInstance().getCatalogMinMakes());
+        if (implausible != null) {
+            Log.flush();
+            throw new IllegalStateException("[Catalog] Captura descartada: " + implausible);
+        }
+        Path file = harvested.save();
+        LOG.info("Catálogo guardado en " + file);
+        Log.flush();
+    }
+
+    /**
+     * Abre un navegador, captura el catálogo y cierra el navegador.
+     *
+     * @return Catálogo capturado (sin guardar)
+     */
+    public static VehicleCatalog harvest() {
+        ConfigManager config = ConfigManager.getInstance();
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = DriverFactory.getDriver();
+            HomePage homePage = new HomePage(driver);
+            homePage.navigateTo();
+            homePage.enterPlaca(config.getCatalogPlaca());
+            homePage.clickCotizarAhora();
+            homePage.waitForCotizacionRedirect();
+
+            PlanSelectionPage planPage = new PlanSelectionPage(driver);
+            planPage.waitForPageLoad();
+            planPage.clickEditar();
+
+            Map<String, List<String>> models = new LinkedHashMap<>();
+            for (String make : planPage.getMarcaOptions()) {
+                models.put(make, planPage.getModeloOptions(make));
+            }
+            LOG.info("Capturadas " + models.size() + " marcas en "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return new VehicleCatalog(config.getBaseUrl(), Instant.now(), models);
+        } finally {
+            DriverFactory.quitDriver();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.interseguro.soat.catalog;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plugin de Cucumber que valida las marcas/modelos de los Examples contra el
+ * {@link VehicleCatalog} antes de abrir ningún navegador.
+ *
+ * - TestRunStarted: carga el catálogo guardado (sin navegador).
+ * - TestCaseStarted: revisa los pasos del escenario. Solo si tiene un paso de
+ *   marca/modelo, el catálogo falta o caducó (otro entorno o más de catalog.refresh.hours)
+ *   y catalog.auto.refresh=true, lo vuelve a capturar una vez para toda la ejecución;
+ *   una captura vacía o parcial se descarta. Si una combinación no existe en un catálogo
+ *   vigente, guarda el motivo por id de escenario y Hooks falla el escenario en su primer
+ *   @Before; con un catálogo desactualizado solo se advierte (el sitio pudo agregar modelos).
+ *
+ * Se registra en el runner: plugin = "com.interseguro.soat.catalog.CatalogValidationPlugin"
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para integrar la validación previa
+ * de datos de prueba con los eventos de Cucumber.
+ */
+public class CatalogValidationPlugin implements ConcurrentEventListener {
+
+    private static final Log LOG = Log.get("Catalog");
+
+    /** Texto del paso "edita los datos del vehículo seleccionando marca {string} y modelo {string}" */
+    private static final Pattern MAKE_MODEL_STEP =
+            Pattern.compile("seleccionando marca \"([^\"]*)\" y modelo \"([^\"]*)\"");
+    private static final Map<String, String> INVALID_SCENARIOS = new ConcurrentHashMap<>();
+
+    private volatile VehicleCatalog catalog;
+    private volatile boolean fresh;
+    private boolean refreshAttempted;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (ConfigManager.getInstance().isCatalogValidationEnabled()) {
+            publisher.registerHandlerFor(TestRunStarted.class, this::onRunStarted);
+            publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        }
+    }
+
+    /**
+     * Devuelve (y olvida) el motivo por el que los datos del escenario son inválidos.
+     *
+     * @param scenarioId Id del escenario (Scenario.getId())
+     * @return Motivo del rechazo, o null si el escenario es válido o no se validó
+     */
+    public static String takeInvalidReason(String scenarioId) {
+        return INVALID_SCENARIOS.remove(scenarioId);
+    }
+
+    // ==================== EVENTOS ====================
+
+    private void onRunStarted(TestRunStarted event) {
+        ConfigManager config = ConfigManager.getInstance();
+        catalog = VehicleCatalog.load();
+        fresh = catalog != null
+                && catalog.isFresh(config.getBaseUrl(), Duration.ofHours(config.getCatalogRefreshHours()));
+        if (catalog == null) {
+            LOG.info("Sin catálogo de vehículos guardado");
+        } else {
+            LOG.info("Catálogo de " + catalog.getMakeCount() + " marcas (" + catalog.getHarvestedAt() + ")"
+                    + (fresh ? "" : " desactualizado: solo se advierte"));
+        }
+    }
+
+    private void onScenarioStarted(TestCaseStarted event) {
+        for (TestStep step : event.getTestCase().getTestSteps()) {
+            if (step instanceof PickleStepTestStep) {
+                Matcher matcher = MAKE_MODEL_STEP.matcher(((PickleStepTestStep) step).getStep().getText());
+                if (matcher.find()) {
+                    validate(event.getTestCase().getId().toString(), matcher.group(1), matcher.group(2));
+                    return;
+                }
+            }
+        }
+    }
+
+    private void validate(String scenarioId, String make, String model) {
+        refreshIfNeeded();
+        VehicleCatalog current = catalog;
+        if (current == null) {
+            return;
+        }
+        String reason = current.validate(make, model);
+        if (reason == null) {
+            return;
+        }
+        if (fresh) {
+            INVALID_SCENARIOS.put(scenarioId, reason);
+        } else {
+            LOG.warn(reason + " (catálogo desactualizado: el escenario se ejecuta igualmente)");
+        }
+    }
+
+    /**
+     * Captura el catálogo una sola vez en la ejecución, solo cuando un escenario lo necesita.
+     */
+    private synchronized void refreshIfNeeded() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (fresh || refreshAttempted || !config.isCatalogAutoRefresh()) {
+            return;
+        }
+        refreshAttempted = true;
+        try {
+            VehicleCatalog harvested = CatalogHarvester.harvest();
+            String implausible = harvested.implausibleReason(catalog, config.getCatalogMinMakes());
+            if (implausible != null) {
+                LOG.warn("Captura del catálogo descartada: " + implausible);
+                return;
+            }
+            harvested.save();
+            catalog = harvested;
+            fresh = true;
+            LOG.info("Catálogo actualizado: " + harvested.getMakeCount() + " marcas");
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("No se pudo actualizar el catálogo: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.interseguro.soat.catalog;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Catálogo de marcas → modelos de los dropdowns #make / #model de la página de planes,
+ * guardado en cache.dir/vehicle-catalog.json con la fecha de captura y el entorno.
+ *
+ * Permite validar los Examples del feature sin abrir el navegador: una marca o
+ * modelo inexistente falla en milisegundos en lugar de tras los reintentos del dropdown.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el modelo del catálogo y su
+ * persistencia en JSON.
+ */
+public final class VehicleCatalog {
+
+    private static final Log LOG = Log.get("Catalog");
+
+    private static final Json JSON = new Json();
+    private static final String FILE_NAME = "vehicle-catalog.json";
+
+    private final String environment;
+    private final Instant harvestedAt;
+    /** marca → modelos, tal como aparecen en los dropdowns */
+    private final Map<String, List<String>> models;
+
+    public VehicleCatalog(String environment, Instant harvestedAt, Map<String, List<String>> models) {
+        this.environment = environment;
+        this.harvestedAt = harvestedAt;
+        this.models = models;
+    }
+
+    // ==================== PERSISTENCIA ====================
+
+    /**
+     * @return Ruta del archivo del catálogo según cache.dir
+     */
+    public static Path file() {
+        return Paths.get(ConfigManager.getInstance().getCacheDir(), FILE_NAME);
+    }
+
+    /**
+     * Carga el catálogo guardado en disco.
+     *
+     * @return Catálogo, o null si no existe o es ilegible
+     */
+    public static VehicleCatalog load() {
+        Path file = file();
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Map<String, Object> stored = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Map<String, List<String>> models = new LinkedHashMap<>();
+            ((Map<?, ?>) stored.get("models")).forEach((make, list) -> {
+                List<String> values = new ArrayList<>();
+                ((List<?>) list).forEach(model -> values.add((String) model));
+                models.put((String) make, values);
+            });
+            return new VehicleCatalog((String) stored.get("environment"),
+                    Instant.parse((String) stored.get("harvestedAt")), models);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Catálogo ilegible en " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Guarda el catálogo en disco.
+     *
+     * @return Ruta del archivo escrito
+     */
+    public Path save() throws IOException {
+        Path file = file();
+        Map<String, Object> stored = new LinkedHashMap<>();
+        stored.put("environment", environment);
+        stored.put("harvestedAt", harvestedAt.toString());
+        stored.put("models", models);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, JSON.toJson(stored), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    // ==================== VALIDACIÓN ====================
+
+    /**
+     * Indica si el catálogo sirve para el entorno actual y no ha caducado.
+     *
+     * @param environment URL base del entorno (app.base.url)
+     * @param maxAge      Antigüedad máxima permitida
+     * @return true si el catálogo es del mismo entorno y más reciente que maxAge
+     */
+    public boolean isFresh(String environment, Duration maxAge) {
+        return this.environment.equals(environment) && harvestedAt.plus(maxAge).isAfter(Instant.now());
+    }
+
+    /**
+     * Revisa que una captura sea completa antes de guardarla: una captura vacía o cortada
+     * a medias no debe convertirse en la referencia de la validación.
+     *
+     * @param previous Catálogo anterior (o null) con el que comparar el número de marcas
+     * @param minMakes Mínimo de marcas aceptable
+     * @return Motivo del rechazo, o null si el catálogo es plausible
+     */
+    public String implausibleReason(VehicleCatalog previous, int minMakes) {
+        if (models.size() < minMakes) {
+            return "solo " + models.size() + " marcas (mínimo " + minMakes + ")";
+        }
+        long withoutModels = models.values().stream().filter(List::isEmpty).count();
+        if (withoutModels > 0) {
+            return withoutModels + " marcas sin modelos";
+        }
+        if (previous != null && models.size() * 2 < previous.getMakeCount()) {
+            return models.size() + " marcas frente a " + previous.getMakeCount() + " del catálogo anterior";
+        }
+        return null;
+    }
+
+    /**
+     * Valida una combinación marca/modelo contra el catálogo (sin distinguir mayúsculas).
+     *
+     * @param make  Marca (ej: TOYOTA)
+     * @param model Modelo (ej: YARIS)
+     * @return Motivo del rechazo, o null si la combinación existe
+     */
+    public String validate(String make, String model) {
+        String wantedMake = normalize(make);
+        for (Map.Entry<String, List<String>> entry : models.entrySet()) {
+            if (normalize(entry.getKey()).equals(wantedMake)) {
+                String wantedModel = normalize(model);
+                for (String candidate : entry.getValue()) {
+                    if (normalize(candidate).equals(wantedModel)) {
+                        return null;
+                    }
+                }
+                return "El modelo '" + model + "' no existe para la marca '" + make + "' (catálogo del "
+                        + harvestedAt + ", " + entry.getValue().size() + " modelos)";
+            }
+        }
+        return "La marca '" + make + "' no existe en el catálogo del " + harvestedAt
+                + " (" + models.size() + " marcas)";
+    }
+
+    /** @return Número de marcas del catálogo */
+    public int getMakeCount() {
+        return models.size();
+    }
+
+    /** @return Fecha de captura del catálogo */
+    public Instant getHarvestedAt() {
+        return harvestedAt;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,181 @@
+package com.interseguro.soat.load;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo de generación de carga: ejecuta N usuarios sintéticos headless
+ * recorriendo el journey de compra con los mismos Page Objects de la suite.
+ *
+ * Fases:
+ *   - Rampa de subida: los usuarios arrancan escalonados durante load.rampup.seconds
+ *   - Estado estable: todos los usuarios activos durante load.steady.seconds
+ *   - Tasa objetivo: load.target.rate.per.minute limita los journeys/minuto globales
+ *
+ * Reporta cada load.report.interval.seconds el throughput, los percentiles de
+ * latencia por paso y la tasa de error, y guarda la serie temporal en CSV.
+ *
+ * Ejecución:
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.load.LoadGenerator
+ *       -Dload.users=10 -Dload.target.rate.per.minute=30 -Dapp.base.url=http://localhost:8080/
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar la planificación de la
+ * rampa de usuarios, el limitador de tasa y el reporte periódico de métricas.
+ */
+public final class LoadGenerator {
+
+    private static final Log LOG = Log.get("Load");
+
+    private static final DateTimeFormatter FORMATTER =
+            DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final ConfigManager config;
+    private final LoadMetrics metrics = new LoadMetrics();
+    private final List<String> timeline = new ArrayList<>();
+    private long startNanos;
+
+    private LoadGenerator(ConfigManager config) {
+        this.config = config;
+    }
+
+    /**
+     * Punto de entrada del modo de carga.
+     *
+     * @param args No utilizados; la configuración se lee de config.properties / -D
+     */
+    public static void main(String[] args) throws Exception {
+        // Los usuarios sintéticos siempre se ejecutan sin interfaz gráfica
+        System.setProperty("browser.headless", "true");
+        System.setProperty("browser.maximize", "false");
+        new LoadGenerator(ConfigManager.getInstance()).run();
+        Log.flush();
+    }
+
+    // ==================== EJECUCIÓN ====================
+
+    private void run() throws InterruptedException, IOException {
+        int users = config.getLoadUsers();
+        long rampUpMillis = config.getLoadRampUpSeconds() * 1000L;
+        long steadyMillis = config.getLoadSteadySeconds() * 1000L;
+        int intervalSeconds = config.getLoadReportIntervalSeconds();
+
+        LOG.info("Usuarios: " + users
+                + " | Rampa: " + config.getLoadRampUpSeconds() + "s"
+                + " | Estable: " + config.getLoadSteadySeconds() + "s"
+                + " | Tasa objetivo: " + describeRate(config.getLoadTargetRatePerMinute()));
+        LOG.info("URL: " + config.getBaseUrl());
+
+        startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(rampUpMillis + steadyMillis);
+        SyntheticUser.RatePacer pacer = new SyntheticUser.RatePacer(config.getLoadTargetRatePerMinute());
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "load-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        reporter.scheduleAtFixedRate(this::reportWindow, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(users,
+                r -> new Thread(r, "synthetic-user-" + threadCount.incrementAndGet()));
+        for (int i = 0; i < users; i++) {
+            long delay = users == 1 ? 0 : rampUpMillis * i / users;
+            pool.submit(new SyntheticUser(i + 1, delay, endNanos, config.getLoadPlaca(), metrics, pacer));
+        }
+        pool.shutdown();
+
+        // Margen para que los journeys en curso terminen tras el final de la prueba
+        long graceMillis = rampUpMillis + steadyMillis + config.getPageLoadTimeout() * 2000L;
+        if (!pool.awaitTermination(graceMillis, TimeUnit.MILLISECONDS)) {
+            LOG.warn("Usuarios sin terminar tras el margen, interrumpiendo...");
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        reporter.shutdownNow();
+        reportWindow();
+
+        printSummary(metrics.getTotal());
+        writeTimeline();
+    }
+
+    // ==================== REPORTES ====================
+
+    /**
+     * Cierra la ventana actual, imprime sus métricas y las agrega a la serie temporal.
+     */
+    private synchronized void reportWindow() {
+        LoadMetrics.Window window = metrics.rollWindow();
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+
+        LOG.info(String.format(Locale.ROOT, "t=%ds | usuarios=%d | ok=%d | fallidos=%d | %.1f journeys/min | error=%.1f%%",
+                elapsed, metrics.getActiveUsers(), window.getJourneysOk(), window.getJourneysFailed(),
+                window.getThroughputPerMinute(), window.getErrorRate()));
+
+        for (Map.Entry<String, long[]> entry : window.getStepPercentiles().entrySet()) {
+            long[] p = entry.getValue();
+            timeline.add(String.format(Locale.ROOT, "%d,%d,%d,%d,%.2f,%.2f,%s,%d,%d,%d,%d,%d,%d",
+                    elapsed, metrics.getActiveUsers(), window.getJourneysOk(), window.getJourneysFailed(),
+                    window.getThroughputPerMinute(), window.getErrorRate(),
+                    entry.getKey(), p[0], p[1], p[2], p[3], p[4], p[5]));
+        }
+        window.getErrors().forEach((key, count) ->
+                LOG.info("  error " + key + ": " + count));
+    }
+
+    /**
+     * Imprime el resumen final de la ejecución.
+     *
+     * @param total Métricas acumuladas de toda la ejecución
+     */
+    private void printSummary(LoadMetrics.Window total) {
+        LOG.info("RESUMEN");
+        LOG.info(String.format(Locale.ROOT, "Journeys ok=%d fallidos=%d | %.1f journeys/min | error=%.1f%%",
+                total.getJourneysOk(), total.getJourneysFailed(),
+                total.getThroughputPerMinute(), total.getErrorRate()));
+        LOG.info(String.format("%-18s %7s %7s %7s %7s %7s %7s",
+                "paso", "n", "p50", "p90", "p95", "p99", "max"));
+        total.getStepPercentiles().forEach((step, p) ->
+                LOG.info(String.format("%-18s %7d %7d %7d %7d %7d %7d",
+                        step, p[0], p[1], p[2], p[3], p[4], p[5])));
+        total.getErrors().forEach((key, count) ->
+                LOG.info("Error " + key + ": " + count));
+    }
+
+    /**
+     * Guarda la serie temporal de métricas en un CSV dentro de load.reports.dir.
+     */
+    private void writeTimeline() throws IOException {
+        Path dir = Paths.get(config.getLoadReportsDir());
+        Files.createDirectories(dir);
+        Path file = dir.resolve("load_timeline_" + LocalDateTime.now().format(FORMATTER) + ".csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("elapsed_s,active_users,journeys_ok,journeys_failed,throughput_per_min,"
+                    + "error_rate_pct,step,count,p50_ms,p90_ms,p95_ms,p99_ms,max_ms");
+            timeline.forEach(out::println);
+        }
+        LOG.info("Serie temporal guardada en: " + file);
+    }
+
+    private static String describeRate(int rate) {
+        return rate <= 0 ? "sin límite" : rate + " journeys/min";
+    }
+}
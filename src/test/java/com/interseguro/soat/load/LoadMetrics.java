@@ -0,0 +1,194 @@
+package com.interseguro.soat.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Acumulador de métricas del modo de carga.
+ * Registra latencias por paso del journey y errores en ventanas de tiempo
+ * (una por intervalo de reporte) y en un acumulado global para el resumen final.
+ *
+ * Las latencias se guardan en milisegundos dentro de arreglos que crecen bajo
+ * demanda; los percentiles se calculan ordenando una copia al cerrar la ventana.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar el registro de latencias
+ * por ventana y el cálculo de percentiles sin dependencias externas.
+ */
+public class LoadMetrics {
+
+    private final AtomicReference<Window> current = new AtomicReference<>(new Window());
+    private final Window total = new Window();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Registra la duración de un paso exitoso del journey.
+     *
+     * @param step     Nombre del paso (ej: cotizar)
+     * @param millis   Duración en milisegundos
+     */
+    public void recordStep(String step, long millis) {
+        current.get().recorder(step).add(millis);
+        total.recorder(step).add(millis);
+    }
+
+    /**
+     * Registra un journey completado (exitoso o fallido).
+     *
+     * @param success true si el journey terminó sin errores
+     */
+    public void recordJourney(boolean success) {
+        Window window = current.get();
+        (success ? window.journeysOk : window.journeysFailed).incrementAndGet();
+        (success ? total.journeysOk : total.journeysFailed).incrementAndGet();
+    }
+
+    /**
+     * Registra un error ocurrido en un paso del journey.
+     *
+     * @param step  Paso en el que ocurrió el error
+     * @param error Excepción capturada
+     */
+    public void recordError(String step, Throwable error) {
+        String key = step + " (" + error.getClass().getSimpleName() + ")";
+        current.get().errors.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        total.errors.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /** Marca un usuario sintético como activo. */
+    public void userStarted() {
+        activeUsers.incrementAndGet();
+    }
+
+    /** Marca un usuario sintético como finalizado. */
+    public void userFinished() {
+        activeUsers.decrementAndGet();
+    }
+
+    /** @return Número de usuarios sintéticos activos */
+    public int getActiveUsers() {
+        return activeUsers.get();
+    }
+
+    // ==================== VENTANAS ====================
+
+    /**
+     * Cierra la ventana actual y abre una nueva.
+     *
+     * @return Ventana cerrada con las métricas del último intervalo
+     */
+    public Window rollWindow() {
+        Window closed = current.getAndSet(new Window());
+        closed.endNanos = System.nanoTime();
+        return closed;
+    }
+
+    /** @return Ventana con el acumulado de toda la ejecución */
+    public Window getTotal() {
+        total.endNanos = System.nanoTime();
+        return total;
+    }
+
+    /**
+     * Métricas de un intervalo de tiempo.
+     */
+    public static class Window {
+
+        private final long startNanos = System.nanoTime();
+        private volatile long endNanos;
+        private final Map<String, LatencyRecorder> steps = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+        private final AtomicLong journeysOk = new AtomicLong();
+        private final AtomicLong journeysFailed = new AtomicLong();
+
+        private LatencyRecorder recorder(String step) {
+            return steps.computeIfAbsent(step, k -> new LatencyRecorder());
+        }
+
+        /** @return Duración de la ventana en segundos */
+        public double getSeconds() {
+            long end = endNanos == 0 ? System.nanoTime() : endNanos;
+            return Math.max(end - startNanos, 1) / 1_000_000_000.0;
+        }
+
+        /** @return Journeys exitosos en la ventana */
+        public long getJourneysOk() {
+            return journeysOk.get();
+        }
+
+        /** @return Journeys fallidos en la ventana */
+        public long getJourneysFailed() {
+            return journeysFailed.get();
+        }
+
+        /** @return Throughput de journeys exitosos por minuto */
+        public double getThroughputPerMinute() {
+            return journeysOk.get() * 60.0 / getSeconds();
+        }
+
+        /** @return Porcentaje de journeys fallidos (0-100) */
+        public double getErrorRate() {
+            long all = journeysOk.get() + journeysFailed.get();
+            return all == 0 ? 0.0 : journeysFailed.get() * 100.0 / all;
+        }
+
+        /** @return Percentiles por paso, ordenados por nombre */
+        public Map<String, long[]> getStepPercentiles() {
+            Map<String, long[]> result = new TreeMap<>();
+            steps.forEach((step, recorder) -> result.put(step, recorder.percentiles()));
+            return result;
+        }
+
+        /** @return Errores agrupados por paso y tipo de excepción */
+        public Map<String, Long> getErrors() {
+            Map<String, Long> result = new TreeMap<>();
+            errors.forEach((key, count) -> result.put(key, count.get()));
+            return result;
+        }
+    }
+
+    /**
+     * Registro de latencias de un paso: arreglo de long que crece bajo demanda.
+     */
+    private static class LatencyRecorder {
+
+        /** Percentiles reportados: p50, p90, p95, p99, máximo */
+        private static final double[] PERCENTILES = {50, 90, 95, 99, 100};
+
+        private long[] values = new long[64];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * @return Arreglo {count, p50, p90, p95, p99, max} en milisegundos
+         */
+        long[] percentiles() {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(values, size);
+            }
+            Arrays.sort(sorted);
+            long[] result = new long[PERCENTILES.length + 1];
+            result[0] = sorted.length;
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                if (sorted.length > 0) {
+                    int index = (int) Math.ceil(PERCENTILES[i] / 100.0 * sorted.length) - 1;
+                    result[i + 1] = sorted[Math.max(index, 0)];
+                }
+            }
+            return result;
+        }
+    }
+}
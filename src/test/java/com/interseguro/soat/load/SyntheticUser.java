@@ -0,0 +1,190 @@
+package com.interseguro.soat.load;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.pages.HomePage;
+import com.interseguro.soat.pages.PaymentPage;
+import com.interseguro.soat.pages.PlanSelectionPage;
+import com.interseguro.soat.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Supplier;
+
+/**
+ * Usuario sintético del modo de carga.
+ * Recorre el journey de compra completo reutilizando los Page Objects
+ * (landing → planes → pago) en bucle hasta que finaliza la prueba.
+ *
+ * Cada usuario se ejecuta en su propio hilo y por lo tanto obtiene su propio
+ * navegador headless a través del ThreadLocal de {@link DriverFactory}.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para reutilizar los Page Objects
+ * como pasos cronometrados del journey de carga.
+ */
+public class SyntheticUser implements Runnable {
+
+    private static final Log LOG = Log.get("Load");
+
+    private final int id;
+    private final long startDelayMillis;
+    private final long endNanos;
+    private final String placa;
+    private final LoadMetrics metrics;
+    private final RatePacer pacer;
+
+    /**
+     * @param id               Identificador del usuario (para logs)
+     * @param startDelayMillis Retardo de inicio (rampa de subida)
+     * @param endNanos         Instante (System.nanoTime) en que termina la prueba
+     * @param placa            Placa a cotizar
+     * @param metrics          Acumulador de métricas compartido
+     * @param pacer            Limitador de tasa compartido
+     */
+    public SyntheticUser(int id, long startDelayMillis, long endNanos, String placa,
+                         LoadMetrics metrics, RatePacer pacer) {
+        this.id = id;
+        this.startDelayMillis = startDelayMillis;
+        this.endNanos = endNanos;
+        this.placa = placa;
+        this.metrics = metrics;
+        this.pacer = pacer;
+    }
+
+    @Override
+    public void run() {
+        if (!sleep(startDelayMillis)) {
+            return;
+        }
+        metrics.userStarted();
+        LOG.info("Usuario " + id + " iniciado");
+        try {
+            while (System.nanoTime() < endNanos && !Thread.currentThread().isInterrupted()) {
+                if (!pacer.acquire(endNanos)) {
+                    break;
+                }
+                runJourney();
+            }
+        } finally {
+            DriverFactory.quitDriver();
+            metrics.userFinished();
+            LOG.info("Usuario " + id + " finalizado");
+        }
+    }
+
+    // ==================== JOURNEY ====================
+
+    /**
+     * Ejecuta un journey completo registrando la latencia de cada paso.
+     * Ante un error se descarta el navegador para que el siguiente journey
+     * empiece con una sesión limpia.
+     */
+    private void runJourney() {
+        String step = "navegador";
+        try {
+            WebDriver driver = timed(step, DriverFactory::getDriver);
+            driver.manage().deleteAllCookies();
+
+            HomePage homePage = new HomePage(driver);
+            step = "landing";
+            timed(step, homePage::navigateTo);
+
+            step = "cotizar";
+            timed(step, () -> {
+                homePage.enterPlaca(placa);
+                homePage.clickCotizarAhora();
+                homePage.waitForCotizacionRedirect();
+            });
+
+            PlanSelectionPage planSelectionPage = new PlanSelectionPage(driver);
+            step = "seleccionar_plan";
+            timed(step, () -> {
+                planSelectionPage.waitForPageLoad();
+                planSelectionPage.selectPlanMasEconomico();
+            });
+
+            step = "continuar";
+            timed(step, () -> {
+                planSelectionPage.handleRenewalPopup();
+                planSelectionPage.clickContinuar();
+            });
+
+            PaymentPage paymentPage = new PaymentPage(driver);
+            step = "resumen_compra";
+            timed(step, paymentPage::waitForPageLoad);
+
+            metrics.recordJourney(true);
+        } catch (Exception e) {
+            metrics.recordError(step, e);
+            metrics.recordJourney(false);
+            LOG.warn("Usuario " + id + " falló en '" + step + "': " + e.getClass().getSimpleName());
+            DriverFactory.quitDriver();
+        }
+    }
+
+    private void timed(String step, Runnable action) {
+        timed(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T timed(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        T result = action.get();
+        metrics.recordStep(step, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ==================== LIMITADOR DE TASA ====================
+
+    /**
+     * Limitador de tasa global compartido por todos los usuarios.
+     * Reparte "turnos" equiespaciados según la tasa objetivo (journeys/minuto);
+     * con tasa 0 no limita y cada usuario encadena journeys (lazo cerrado).
+     */
+    public static class RatePacer {
+
+        private final long intervalNanos;
+        private long nextSlotNanos = System.nanoTime();
+
+        /**
+         * @param journeysPerMinute Tasa objetivo (0 = sin límite)
+         */
+        public RatePacer(int journeysPerMinute) {
+            this.intervalNanos = journeysPerMinute <= 0 ? 0 : 60_000_000_000L / journeysPerMinute;
+        }
+
+        /**
+         * Espera al siguiente turno disponible.
+         *
+         * @param deadlineNanos Instante límite de la prueba
+         * @return false si el turno cae después del final de la prueba
+         */
+        public boolean acquire(long deadlineNanos) {
+            if (intervalNanos == 0) {
+                return true;
+            }
+            long slot;
+            synchronized (this) {
+                slot = Math.max(nextSlotNanos, System.nanoTime());
+                nextSlotNanos = slot + intervalNanos;
+            }
+            if (slot >= deadlineNanos) {
+                return false;
+            }
+            return sleep((slot - System.nanoTime()) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.interseguro.soat.locators;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshots del DOM de cada página durante la ejecución, para analizar los locators
+ * sin navegar el sitio ({@link LocatorCostAnalyzer}).
+ *
+ * Cada estado de página (ej: PlanSelectionPage, PlanSelectionPage-editar) se guarda
+ * una sola vez por ejecución en dom.snapshots.dir/&lt;estado&gt;.html.gz, sin scripts,
+ * iframes ni hojas de estilo externas para que se pueda recargar offline.
+ * El nombre antes del primer "-" es la clase del Page Object al que pertenece.
+ *
+ * Desactivado por defecto (dom.snapshots.enabled=false): serializar el DOM cuesta
+ * unos milisegundos por página.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la serialización del DOM.
+ */
+public final class DomSnapshotStore {
+
+    private static final Log LOG = Log.get("Locators");
+
+    /**
+     * Clona el documento, copia a atributos el valor actual de los campos (no forma parte
+     * del HTML) y quita lo que intentaría ejecutar o descargar algo al recargarlo
+     */
+    private static final String SERIALIZE_JS =
+            "var root = document.documentElement.cloneNode(true);"
+            + "var src = document.querySelectorAll('input, textarea'), dst = root.querySelectorAll('input, textarea');"
+            + "for (var i = 0; i < src.length && i < dst.length; i++) { dst[i].setAttribute('value', src[i].value); }"
+            + "root.querySelectorAll('script, noscript, iframe, link[rel=\"stylesheet\"], link[rel=\"preload\"]')"
+            + "    .forEach(function (el) { el.remove(); });"
+            + "return '<!DOCTYPE html>\\n' + root.outerHTML;";
+
+    private static final String SUFFIX = ".html.gz";
+    private static final Set<String> CAPTURED = ConcurrentHashMap.newKeySet();
+
+    private DomSnapshotStore() {
+        // Constructor privado - clase utilitaria
+    }
+
+    // ==================== CAPTURA ====================
+
+    /**
+     * Guarda el DOM actual como snapshot del estado indicado, si es la primera vez
+     * en la ejecución. Nunca falla el escenario.
+     *
+     * @param driver WebDriver activo
+     * @param state  Estado de página (ej: PlanSelectionPage-editar)
+     */
+    public static void capture(WebDriver driver, String state) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isDomSnapshotsEnabled() || !CAPTURED.add(state)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            String html = serialize(driver);
+            Path file = Paths.get(config.getDomSnapshotsDir()).resolve(state + SUFFIX);
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+                out.write(html.getBytes(StandardCharsets.UTF_8));
+            }
+            LOG.debug("Snapshot " + state + " (" + html.length() / 1024 + " KB) en "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            // Se permite reintentar en otra pasada por este estado
+            CAPTURED.remove(state);
+            LOG.warn("No se pudo guardar el snapshot " + state + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serializa el DOM actual en HTML autocontenido (sin scripts ni recursos externos).
+     *
+     * @param driver WebDriver activo
+     * @return HTML del documento
+     */
+    public static String serialize(WebDriver driver) {
+        return (String) ((JavascriptExecutor) driver).executeScript(SERIALIZE_JS);
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Lee todos los snapshots guardados.
+     *
+     * @return HTML por estado de página, ordenado por nombre
+     */
+    public static Map<String, String> loadAll() throws IOException {
+        Map<String, String> snapshots = new TreeMap<>();
+        Path dir = Paths.get(ConfigManager.getInstance().getDomSnapshotsDir());
+        if (!Files.isDirectory(dir)) {
+            return snapshots;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                    snapshots.put(name.substring(0, name.length() - SUFFIX.length()),
+                            new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * @param state Estado de página (ej: PlanSelectionPage-editar)
+     * @return Clase del Page Object al que pertenece el estado (ej: PlanSelectionPage)
+     */
+    public static String pageOf(String state) {
+        int dash = state.indexOf('-');
+        return dash < 0 ? state : state.substring(0, dash);
+    }
+}
@@ -0,0 +1,402 @@
+package com.interseguro.soat.locators;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.pages.BasePage;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.DriverFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Analizador del costo de los locators de los Page Objects sobre los snapshots del DOM
+ * capturados por {@link DomSnapshotStore} (dom.snapshots.enabled=true en una ejecución previa).
+ *
+ * Locators analizados de cada clase del paquete pages:
+ *   - campos @FindBy / @FindBys / @FindAll (vía PageFactory)
+ *   - constantes estáticas de tipo By
+ *   - plantillas XPath estáticas (*_XPATH con %s), con locators.sample.value como valor
+ * Los locators relativos a otro elemento (./..) no se pueden evaluar sobre el documento y se omiten.
+ *
+ * Cada snapshot se recarga en un Chrome headless y cada locator de su página se evalúa
+ * dentro del navegador locators.iterations veces (document.evaluate / querySelectorAll),
+ * sin el ida y vuelta de WebDriver, para medir solo el costo de la búsqueda.
+ *
+ * Marcas del reporte:
+ *   - AMBIGUO: un locator de un solo elemento coincide con más de un nodo (findElement toma el primero)
+ *   - LENTO: más de locators.slow.threshold.us µs por evaluación en algún estado
+ *   - SIN COINCIDENCIAS: no coincide en ningún snapshot de su página
+ *   - DOCUMENTO COMPLETO: XPath con //* que recorre todos los nodos del documento
+ *   - INVÁLIDO: el navegador rechaza la expresión
+ *
+ * El reporte se ordena por el peor tiempo y se guarda en locators.report.dir
+ * (locator-report.txt y locator-report.json).
+ *
+ * Uso manual:
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.locators.LocatorCostAnalyzer
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la extracción de locators por reflexión
+ * y la medición de su costo dentro del navegador.
+ */
+public final class LocatorCostAnalyzer {
+
+    private static final Log LOG = Log.get("Locators");
+
+    private static final String PAGES_PACKAGE = BasePage.class.getPackageName();
+
+    /** Cuenta coincidencias y mide el tiempo medio de evaluación en el propio navegador */
+    private static final String MEASURE_JS =
+            "var using = arguments[0], value = arguments[1], n = arguments[2];"
+            + "function run() {"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;"
+            + "  }"
+            + "  return document.querySelectorAll(value).length;"
+            + "}"
+            + "try {"
+            + "  var matches = run();"
+            + "  for (var w = 0; w < 3; w++) { run(); }"
+            + "  var start = performance.now();"
+            + "  for (var i = 0; i < n; i++) { run(); }"
+            + "  return [matches, (performance.now() - start) * 1000 / n, document.getElementsByTagName('*').length];"
+            + "} catch (e) {"
+            + "  return String(e.message || e);"
+            + "}";
+
+    private LocatorCostAnalyzer() {
+        // Constructor privado - clase utilitaria
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Recarga offline de archivos locales: navegador local, headless
+        System.setProperty("browser.headless", "true");
+        System.setProperty("execution.mode", "local");
+
+        Map<String, String> snapshots = DomSnapshotStore.loadAll();
+        if (snapshots.isEmpty()) {
+            LOG.warn("No hay snapshots en " + ConfigManager.getInstance().getDomSnapshotsDir()
+                    + ": ejecutar la suite con -Ddom.snapshots.enabled=true");
+            Log.flush();
+            return;
+        }
+        List<Locator> locators = collectLocators();
+        LOG.info(locators.size() + " locators de " + countPages(locators) + " páginas, "
+                + snapshots.size() + " snapshots");
+
+        measure(locators, snapshots);
+        report(locators);
+        Log.flush();
+    }
+
+    // ==================== EXTRACCIÓN DE LOCATORS ====================
+
+    /**
+     * Extrae los locators de todas las clases del paquete pages.
+     *
+     * @return Locators evaluables sobre el documento completo
+     */
+    static List<Locator> collectLocators() throws IOException {
+        String sample = ConfigManager.getInstance().getLocatorsSampleValue();
+        List<Locator> locators = new ArrayList<>();
+        for (Class<?> page : pageClasses()) {
+            for (Field field : page.getDeclaredFields()) {
+                By by = null;
+                String kind = null;
+                boolean single = true;
+                if (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                        || field.isAnnotationPresent(FindAll.class)) {
+                    by = new Annotations(field).buildBy();
+                    kind = "@FindBy";
+                    single = field.getType() == WebElement.class;
+                } else if (Modifier.isStatic(field.getModifiers()) && By.class.isAssignableFrom(field.getType())) {
+                    by = (By) staticValue(field);
+                    kind = "By";
+                } else if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class
+                        && field.getName().endsWith("_XPATH")) {
+                    String template = (String) staticValue(field);
+                    if (template != null && template.contains("%s")) {
+                        by = By.xpath(String.format(template, sample));
+                        kind = "plantilla";
+                        // Las opciones de dropdown se recorren: varias coincidencias son esperables
+                        single = false;
+                    }
+                }
+                if (by == null) {
+                    continue;
+                }
+                if (!(by instanceof By.Remotable)) {
+                    LOG.warn(page.getSimpleName() + "." + field.getName() + ": locator compuesto (" + by + "), se omite");
+                    continue;
+                }
+                By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+                String value = String.valueOf(parameters.value());
+                if ("xpath".equals(parameters.using()) && value.startsWith(".")) {
+                    LOG.debug(page.getSimpleName() + "." + field.getName() + ": relativo (" + value + "), se omite");
+                    continue;
+                }
+                locators.add(new Locator(page.getSimpleName(), field.getName(), kind, single,
+                        parameters.using(), value));
+            }
+        }
+        return locators;
+    }
+
+    /** Clases concretas del paquete pages (en target/test-classes) */
+    private static List<Class<?>> pageClasses() throws IOException {
+        URL url = LocatorCostAnalyzer.class.getClassLoader().getResource(PAGES_PACKAGE.replace('.', '/'));
+        if (url == null || !"file".equals(url.getProtocol())) {
+            throw new IllegalStateException("[Locators] No se encontró el paquete " + PAGES_PACKAGE + " compilado");
+        }
+        List<Class<?>> pages = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(url.toURI()), "*.class")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.contains("$")) {
+                    continue;
+                }
+                Class<?> type = Class.forName(PAGES_PACKAGE + "." + name.substring(0, name.length() - ".class".length()));
+                if (BasePage.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers())) {
+                    pages.add(type);
+                }
+            }
+        } catch (URISyntaxException | ClassNotFoundException e) {
+            throw new IllegalStateException("[Locators] No se pudieron cargar los Page Objects: " + e.getMessage(), e);
+        }
+        pages.sort(Comparator.comparing(Class::getSimpleName));
+        return pages;
+    }
+
+    private static Object staticValue(Field field) {
+        try {
+            field.setAccessible(true);
+            return field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("[Locators] No se pudo leer " + field, e);
+        }
+    }
+
+    // ==================== MEDICIÓN ====================
+
+    /**
+     * Recarga cada snapshot en un navegador headless y mide los locators de su página.
+     */
+    private static void measure(List<Locator> locators, Map<String, String> snapshots) throws IOException {
+        int iterations = Math.max(1, ConfigManager.getInstance().getLocatorsIterations());
+        Path tempDir = Files.createTempDirectory("dom-snapshots");
+        try {
+            DriverFactory.getDriver();
+            WebDriver driver = DriverFactory.getRawDriver();
+            for (Map.Entry<String, String> snapshot : snapshots.entrySet()) {
+                String page = DomSnapshotStore.pageOf(snapshot.getKey());
+                Path file = tempDir.resolve(snapshot.getKey() + ".html");
+                Files.writeString(file, snapshot.getValue(), StandardCharsets.UTF_8);
+                driver.get(file.toUri().toString());
+
+                for (Locator locator : locators) {
+                    if (locator.page.equals(page)) {
+                        Object result = ((JavascriptExecutor) driver).executeScript(MEASURE_JS,
+                                locator.using, locator.value, iterations);
+                        locator.measures.add(Measure.of(snapshot.getKey(), result));
+                    }
+                }
+                LOG.info("Snapshot " + snapshot.getKey() + " evaluado ("
+                        + ((JavascriptExecutor) driver).executeScript("return document.getElementsByTagName('*').length;")
+                        + " nodos)");
+            }
+        } finally {
+            DriverFactory.quitDriver();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(tempDir);
+        }
+    }
+
+    // ==================== REPORTE ====================
+
+    private static void report(List<Locator> locators) throws IOException {
+        double slowMicros = ConfigManager.getInstance().getLocatorsSlowThresholdUs();
+        locators.sort(Comparator.comparingDouble(Locator::worstMicros).reversed());
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-4s %-48s %-9s %9s %7s %-26s %s",
+                "#", "Locator", "Tipo", "µs/eval", "coinc.", "Peor estado", "Marcas"));
+        List<Map<String, Object>> json = new ArrayList<>();
+        int flagged = 0;
+        int rank = 0;
+        for (Locator locator : locators) {
+            List<String> flags = locator.flags(slowMicros);
+            if (!flags.isEmpty()) {
+                flagged++;
+            }
+            Measure worst = locator.worst();
+            lines.add(String.format(Locale.ROOT, "%-4d %-48s %-9s %9.1f %7d %-26s %s",
+                    ++rank, locator.page + "." + locator.field, locator.kind,
+                    locator.worstMicros(), locator.maxMatches(),
+                    worst == null ? "-" : worst.state, String.join(", ", flags)));
+            lines.add("       " + locator.using + ": " + locator.value);
+            json.add(locator.toMap(flags));
+        }
+        lines.add(flagged + " de " + locators.size() + " locators con marcas (umbral lento: "
+                + slowMicros + " µs, " + ConfigManager.getInstance().getLocatorsIterations() + " iteraciones)");
+        lines.forEach(LOG::info);
+
+        Path dir = Paths.get(ConfigManager.getInstance().getLocatorsReportDir());
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("locator-report.txt"), lines, StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("locator-report.json"), new Json().toJson(json), StandardCharsets.UTF_8);
+        LOG.info("Reporte guardado en " + dir.toAbsolutePath());
+    }
+
+    private static int countPages(List<Locator> locators) {
+        TreeSet<String> pages = new TreeSet<>();
+        locators.forEach(locator -> pages.add(locator.page));
+        return pages.size();
+    }
+
+    /**
+     * Locator de un Page Object y sus mediciones en cada snapshot de su página.
+     */
+    static final class Locator {
+
+        final String page;
+        final String field;
+        final String kind;
+        final boolean single;
+        final String using;
+        final String value;
+        final List<Measure> measures = new ArrayList<>();
+
+        Locator(String page, String field, String kind, boolean single, String using, String value) {
+            this.page = page;
+            this.field = field;
+            this.kind = kind;
+            this.single = single;
+            this.using = using;
+            this.value = value;
+        }
+
+        Measure worst() {
+            return measures.stream().filter(m -> m.error == null)
+                    .max(Comparator.comparingDouble(m -> m.micros)).orElse(null);
+        }
+
+        double worstMicros() {
+            Measure worst = worst();
+            return worst == null ? 0 : worst.micros;
+        }
+
+        long maxMatches() {
+            return measures.stream().mapToLong(m -> m.matches).max().orElse(0);
+        }
+
+        List<String> flags(double slowMicros) {
+            List<String> flags = new ArrayList<>();
+            if (measures.stream().anyMatch(m -> m.error != null)) {
+                flags.add("INVÁLIDO");
+            }
+            if (measures.isEmpty()) {
+                flags.add("SIN SNAPSHOT");
+            } else if (maxMatches() == 0) {
+                flags.add("SIN COINCIDENCIAS");
+            }
+            if (single && maxMatches() > 1) {
+                flags.add("AMBIGUO (" + maxMatches() + ")");
+            }
+            if (worstMicros() > slowMicros) {
+                flags.add("LENTO");
+            }
+            if ("xpath".equals(using) && value.contains("//*")) {
+                flags.add("DOCUMENTO COMPLETO");
+            }
+            return flags;
+        }
+
+        Map<String, Object> toMap(List<String> flags) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("page", page);
+            map.put("field", field);
+            map.put("kind", kind);
+            map.put("single", single);
+            map.put("using", using);
+            map.put("value", value);
+            map.put("worstMicros", worstMicros());
+            map.put("maxMatches", maxMatches());
+            map.put("flags", flags);
+            List<Map<String, Object>> states = new ArrayList<>();
+            for (Measure measure : measures) {
+                states.add(measure.toMap());
+            }
+            map.put("states", states);
+            return map;
+        }
+    }
+
+    /**
+     * Resultado de evaluar un locator en un snapshot.
+     */
+    static final class Measure {
+
+        final String state;
+        final long matches;
+        final double micros;
+        final long nodes;
+        final String error;
+
+        private Measure(String state, long matches, double micros, long nodes, String error) {
+            this.state = state;
+            this.matches = matches;
+            this.micros = micros;
+            this.nodes = nodes;
+            this.error = error;
+        }
+
+        /** Convierte el resultado de MEASURE_JS: [coincidencias, µs, nodos] o el mensaje de error */
+        static Measure of(String state, Object result) {
+            if (result instanceof List) {
+                List<?> values = (List<?>) result;
+                return new Measure(state, ((Number) values.get(0)).longValue(),
+                        ((Number) values.get(1)).doubleValue(), ((Number) values.get(2)).longValue(), null);
+            }
+            return new Measure(state, 0, 0, 0, String.valueOf(result));
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("state", state);
+            map.put("matches", matches);
+            map.put("micros", micros);
+            map.put("nodes", nodes);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
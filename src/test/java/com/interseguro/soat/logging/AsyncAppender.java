@@ -0,0 +1,327 @@
+package com.interseguro.soat.logging;
+
+import com.interseguro.soat.utils.ConfigManager;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hilo único que vacía el {@link LogRingBuffer} y escribe cada evento en:
+ *   - consola, en texto con el contexto del escenario
+ *   - log.dir/suite.jsonl, una línea JSON por evento (log.json=true)
+ *   - log.dir/scenarios/&lt;escenario&gt;_L&lt;línea&gt;.log, que al terminar el escenario
+ *     se conserva o se borra según log.scenario.files (failed, all, none)
+ *
+ * Los productores nunca esperan un lock: si el buffer está lleno esperan con
+ * pausas cortas a que el appender libere espacio (no se pierden eventos).
+ * Un shutdown hook vacía el buffer antes de que termine la JVM.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el appender en segundo plano
+ * y el formato de los eventos.
+ */
+final class AsyncAppender {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final PrintStream CONSOLE = System.out;
+    private static final Json JSON = new Json();
+
+    private static AsyncAppender instance;
+
+    private final LogRingBuffer buffer;
+    private final Path logDir;
+    private final boolean jsonEnabled;
+    private final Thread thread;
+    private final Map<String, Writer> scenarioWriters = new HashMap<>();
+    private final AtomicLong producerWaits = new AtomicLong();
+    private Writer jsonWriter;
+    private boolean jsonOpened;
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+    private volatile long written;
+
+    private AsyncAppender() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.buffer = new LogRingBuffer(config.getLogBufferSize());
+        this.logDir = Paths.get(config.getLogDir());
+        this.jsonEnabled = config.isLogJsonEnabled();
+        this.thread = new Thread(this::drainLoop, "soat-log-appender");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "soat-log-shutdown"));
+    }
+
+    static synchronized AsyncAppender getInstance() {
+        if (instance == null) {
+            instance = new AsyncAppender();
+        }
+        return instance;
+    }
+
+    // ==================== PRODUCTORES ====================
+
+    /**
+     * Publica un evento; si el buffer está lleno espera a que el appender libere espacio.
+     */
+    void append(LogEvent event) {
+        while (!stopped) {
+            if (buffer.offer(event)) {
+                return;
+            }
+            producerWaits.incrementAndGet();
+            LockSupport.parkNanos(50_000);
+        }
+        // Eventos emitidos después del shutdown: escritura directa
+        synchronized (this) {
+            write(event);
+            flushWriters();
+        }
+    }
+
+    /**
+     * Espera a que el appender escriba todos los eventos publicados hasta ahora.
+     */
+    void flush() {
+        long target = buffer.claimed();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written < target && !stopped && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(200_000);
+        }
+    }
+
+    /** @return Archivo de log de un escenario */
+    Path scenarioFile(String scenarioName, int line) {
+        return logDir.resolve("scenarios").resolve(scenarioName.replaceAll("[^a-zA-Z0-9]", "_") + "_L" + line + ".log");
+    }
+
+    // ==================== CONSUMIDOR ====================
+
+    private void drainLoop() {
+        long count = 0;
+        while (true) {
+            int batch = 0;
+            LogEvent event;
+            while (batch < BATCH_SIZE && (event = buffer.poll()) != null) {
+                synchronized (this) {
+                    write(event);
+                }
+                batch++;
+            }
+            if (batch > 0) {
+                synchronized (this) {
+                    flushWriters();
+                }
+                count += batch;
+                written = count;
+            } else if (!running) {
+                break;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        synchronized (this) {
+            closeAll();
+        }
+    }
+
+    private void shutdown() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopped = true;
+        if (!thread.isAlive()) {
+            // Eventos publicados entre el último vaciado y "stopped"
+            synchronized (this) {
+                LogEvent event;
+                while ((event = buffer.poll()) != null) {
+                    write(event);
+                }
+                closeAll();
+            }
+        }
+        if (producerWaits.get() > 0) {
+            CONSOLE.println("[Log] Esperas de productores por buffer lleno: " + producerWaits.get()
+                    + " (considerar subir log.buffer.size)");
+        }
+    }
+
+    // ==================== ESCRITURA ====================
+
+    private void write(LogEvent event) {
+        if (event.close) {
+            closeScenario(event);
+            return;
+        }
+        String text = format(event);
+        CONSOLE.println(text);
+        if (event.scenarioId != null) {
+            writeLine(scenarioWriter(event), text);
+        }
+        if (jsonEnabled) {
+            writeLine(jsonWriter(), toJson(event));
+        }
+    }
+
+    private String format(LogEvent event) {
+        StringBuilder sb = new StringBuilder(128)
+                .append(LocalTime.ofInstant(Instant.ofEpochMilli(event.timestamp), ZoneId.systemDefault()).format(TIME))
+                .append(' ').append(String.format("%-5s", event.level))
+                .append(" [").append(event.category).append("] [").append(event.worker);
+        if (event.scenarioId != null) {
+            sb.append(" | ").append(shortId(event.scenarioId)).append(":L").append(event.line);
+            if (event.step != null) {
+                sb.append(" | ").append(event.step);
+            }
+        }
+        sb.append("] ").append(event.message);
+        if (event.error != null) {
+            sb.append(System.lineSeparator()).append(stackTrace(event.error));
+        }
+        return sb.toString();
+    }
+
+    private String toJson(LogEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("ts", Instant.ofEpochMilli(event.timestamp).toString());
+        json.put("level", event.level.name());
+        json.put("category", event.category);
+        json.put("worker", event.worker);
+        json.put("scenarioId", event.scenarioId);
+        json.put("scenario", event.scenarioName);
+        json.put("line", event.line);
+        json.put("step", event.step);
+        json.put("message", event.message);
+        if (event.error != null) {
+            json.put("error", stackTrace(event.error));
+        }
+        return JSON.toJson(json).replace("\n", "").replace("\r", "");
+    }
+
+    private Writer scenarioWriter(LogEvent event) {
+        Writer writer = scenarioWriters.get(event.scenarioId);
+        if (writer == null && !scenarioWriters.containsKey(event.scenarioId)) {
+            writer = open(scenarioFile(event.scenarioName, event.line), false);
+            scenarioWriters.put(event.scenarioId, writer);
+        }
+        return writer;
+    }
+
+    private Writer jsonWriter() {
+        if (jsonWriter == null) {
+            // Se trunca al abrirlo por primera vez en la ejecución; después solo se agrega
+            jsonWriter = open(logDir.resolve("suite.jsonl"), jsonOpened);
+            jsonOpened = true;
+        }
+        return jsonWriter;
+    }
+
+    private void closeScenario(LogEvent event) {
+        Writer writer = scenarioWriters.remove(event.scenarioId);
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+            if (!event.keepScenarioFile) {
+                Files.deleteIfExists(scenarioFile(event.scenarioName, event.line));
+            }
+        } catch (IOException e) {
+            CONSOLE.println("[Log] No se pudo cerrar el log del escenario: " + e.getMessage());
+        }
+    }
+
+    private Writer open(Path file, boolean append) {
+        try {
+            Files.createDirectories(file.getParent());
+            return append
+                    ? Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            CONSOLE.println("[Log] No se pudo abrir " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeLine(Writer writer, String line) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.write(System.lineSeparator());
+        } catch (IOException e) {
+            CONSOLE.println("[Log] Error de escritura: " + e.getMessage());
+        }
+    }
+
+    private void flushWriters() {
+        CONSOLE.flush();
+        Set<Writer> writers = new HashSet<>(scenarioWriters.values());
+        writers.add(jsonWriter);
+        for (Writer writer : writers) {
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    CONSOLE.println("[Log] Error al vaciar el log: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void closeAll() {
+        flushWriters();
+        for (Writer writer : scenarioWriters.values()) {
+            closeQuietly(writer);
+        }
+        scenarioWriters.clear();
+        closeQuietly(jsonWriter);
+        jsonWriter = null;
+    }
+
+    private static void closeQuietly(Writer writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Cierre al terminar la JVM: nada más que hacer
+            }
+        }
+    }
+
+    private static String shortId(String id) {
+        return id.length() > 8 ? id.substring(0, 8) : id;
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter sw = new StringWriter();
+        error.printStackTrace(new PrintWriter(sw));
+        return sw.toString().trim();
+    }
+}
@@ -0,0 +1,184 @@
+package com.interseguro.soat.logging;
+
+import com.interseguro.soat.utils.ConfigManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logging asíncrono y estructurado de la suite.
+ *
+ * Cada clase obtiene un logger por categoría (ej: Log.get("Dropdown")) con su nivel:
+ * log.level.&lt;categoría&gt; o, si no está definido, log.level (DEBUG, INFO, WARN, ERROR, OFF).
+ *
+ * Los hilos de escenario no escriben: publican el evento en un buffer circular sin
+ * locks ({@link LogRingBuffer}) y un único hilo ({@link AsyncAppender}) lo escribe en
+ * consola, en log.dir/suite.jsonl y en el archivo del escenario. Cada evento lleva el
+ * escenario (id, nombre y fila de Examples), el worker y el paso Gherkin en curso, que
+ * {@link com.interseguro.soat.telemetry.StepTimingPlugin} fija en el hilo del escenario.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar el logging asíncrono
+ * con correlación por escenario.
+ */
+public final class Log {
+
+    /** Niveles de log en orden de severidad */
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final Map<String, Log> LOGGERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    private final String category;
+    private final Level level;
+
+    private Log(String category) {
+        this.category = category;
+        this.level = Level.valueOf(ConfigManager.getInstance().getLogLevel(category).trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Obtiene el logger de una categoría.
+     *
+     * @param category Categoría (ej: Dropdown, Retry, Hooks)
+     * @return Logger con el nivel configurado para la categoría
+     */
+    public static Log get(String category) {
+        return LOGGERS.computeIfAbsent(category, Log::new);
+    }
+
+    // ==================== EMISIÓN ====================
+
+    /** @return true si la categoría emite eventos de ese nivel */
+    public boolean isEnabled(Level eventLevel) {
+        return eventLevel != Level.OFF && eventLevel.compareTo(level) >= 0;
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public void warn(String message, Throwable error) {
+        log(Level.WARN, message, error);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    private void log(Level eventLevel, String message, Throwable error) {
+        if (isEnabled(eventLevel)) {
+            AsyncAppender.getInstance().append(new LogEvent(eventLevel, category,
+                    Thread.currentThread().getName(), CONTEXT.get(), message, error));
+        }
+    }
+
+    // ==================== CONTEXTO DEL ESCENARIO ====================
+
+    /**
+     * Asocia los eventos del hilo actual a un escenario.
+     *
+     * @param scenarioId   Id del escenario (TestCase de Cucumber)
+     * @param scenarioName Nombre del escenario
+     * @param line         Línea del escenario (identifica la fila de Examples)
+     */
+    public static void startScenario(String scenarioId, String scenarioName, int line) {
+        CONTEXT.set(new Context(scenarioId, scenarioName, line));
+    }
+
+    /**
+     * Fija el paso Gherkin en curso del hilo actual.
+     *
+     * @param step Texto del paso, o null entre pasos
+     */
+    public static void step(String step) {
+        Context context = CONTEXT.get();
+        if (context != null) {
+            context.step = step;
+        }
+    }
+
+    /**
+     * @return "escenario (Lnn)" del hilo actual, o null si no hay escenario en curso
+     */
+    public static String currentScenario() {
+        Context context = CONTEXT.get();
+        return context == null ? null : context.scenarioName + " (L" + context.line + ")";
+    }
+
+    /**
+     * Cierra el archivo del escenario del hilo actual y olvida su contexto.
+     *
+     * @param failed true si el escenario falló (según log.scenario.files se conserva o se borra)
+     */
+    public static void endScenario(boolean failed) {
+        Context context = CONTEXT.get();
+        CONTEXT.remove();
+        if (context != null) {
+            String policy = ConfigManager.getInstance().getLogScenarioFiles();
+            AsyncAppender.getInstance().append(LogEvent.close(context,
+                    "all".equalsIgnoreCase(policy) || (failed && "failed".equalsIgnoreCase(policy))));
+        }
+    }
+
+    /**
+     * Espera a que se escriban los eventos publicados y devuelve el log del escenario
+     * del hilo actual (para adjuntarlo al reporte).
+     *
+     * @return Contenido del log, o null si no hay escenario o archivo
+     */
+    public static String scenarioLog() {
+        Context context = CONTEXT.get();
+        if (context == null || "none".equalsIgnoreCase(ConfigManager.getInstance().getLogScenarioFiles())) {
+            return null;
+        }
+        flush();
+        Path file = AsyncAppender.getInstance().scenarioFile(context.scenarioName, context.line);
+        try {
+            return Files.exists(file) ? Files.readString(file, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            get("Log").warn("No se pudo leer " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Bloquea hasta que el appender haya escrito todos los eventos publicados hasta ahora.
+     */
+    public static void flush() {
+        AsyncAppender.getInstance().flush();
+    }
+
+    /**
+     * Contexto de correlación del hilo: escenario, fila de Examples y paso en curso.
+     */
+    static final class Context {
+
+        final String scenarioId;
+        final String scenarioName;
+        final int line;
+        volatile String step;
+
+        Context(String scenarioId, String scenarioName, int line) {
+            this.scenarioId = scenarioId;
+            this.scenarioName = scenarioName;
+            this.line = line;
+        }
+    }
+}
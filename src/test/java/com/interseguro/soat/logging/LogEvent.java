@@ -0,0 +1,55 @@
+package com.interseguro.soat.logging;
+
+/**
+ * Evento de log inmutable con el contexto del escenario en el que se emitió.
+ * Un evento de cierre (close = true) indica al appender que el escenario terminó.
+ */
+final class LogEvent {
+
+    final long timestamp;
+    final Log.Level level;
+    final String category;
+    final String worker;
+    final String scenarioId;
+    final String scenarioName;
+    final int line;
+    final String step;
+    final String message;
+    final Throwable error;
+    final boolean close;
+    final boolean keepScenarioFile;
+
+    LogEvent(Log.Level level, String category, String worker, Log.Context context, String message, Throwable error) {
+        this.timestamp = System.currentTimeMillis();
+        this.level = level;
+        this.category = category;
+        this.worker = worker;
+        this.scenarioId = context == null ? null : context.scenarioId;
+        this.scenarioName = context == null ? null : context.scenarioName;
+        this.line = context == null ? 0 : context.line;
+        this.step = context == null ? null : context.step;
+        this.message = message;
+        this.error = error;
+        this.close = false;
+        this.keepScenarioFile = false;
+    }
+
+    private LogEvent(Log.Context context, boolean keepScenarioFile) {
+        this.timestamp = System.currentTimeMillis();
+        this.level = Log.Level.OFF;
+        this.category = null;
+        this.worker = null;
+        this.scenarioId = context.scenarioId;
+        this.scenarioName = context.scenarioName;
+        this.line = context.line;
+        this.step = null;
+        this.message = null;
+        this.error = null;
+        this.close = true;
+        this.keepScenarioFile = keepScenarioFile;
+    }
+
+    static LogEvent close(Log.Context context, boolean keepScenarioFile) {
+        return new LogEvent(context, keepScenarioFile);
+    }
+}
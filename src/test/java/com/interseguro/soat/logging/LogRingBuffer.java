@@ -0,0 +1,82 @@
+package com.interseguro.soat.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular acotado sin locks: varios productores (hilos de escenario) y un
+ * único consumidor (el {@link AsyncAppender}).
+ *
+ * Cada slot lleva un número de secuencia: el productor reclama una posición con CAS
+ * sobre "tail", escribe el evento y publica la secuencia; el consumidor solo lee los
+ * slots ya publicados y los libera para la siguiente vuelta.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar la cola acotada
+ * multi-productor basada en secuencias por slot.
+ */
+final class LogRingBuffer {
+
+    private final int mask;
+    private final LogEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * @param requestedCapacity Capacidad mínima (se redondea a potencia de 2)
+     */
+    LogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new LogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publica un evento (productores).
+     *
+     * @return false si el buffer está lleno
+     */
+    boolean offer(LogEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // Otro productor reclamó la posición: reintentar con el nuevo tail
+        }
+    }
+
+    /**
+     * Toma el siguiente evento publicado (solo el consumidor).
+     *
+     * @return Evento, o null si no hay ninguno publicado
+     */
+    LogEvent poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        LogEvent event = slots[index];
+        slots[index] = null;
+        sequences.set(index, head + slots.length);
+        head++;
+        return event;
+    }
+
+    /** @return Posiciones reclamadas por los productores hasta ahora */
+    long claimed() {
+        return tail.get();
+    }
+}
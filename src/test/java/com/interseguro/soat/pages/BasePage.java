@@ -1,18 +1,25 @@
 package com.interseguro.soat.pages;
 
+import com.interseguro.soat.locators.DomSnapshotStore;
+import com.interseguro.soat.telemetry.PerfHistory;
+import com.interseguro.soat.telemetry.Tracer;
 import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.RetryEngine;
+import com.interseguro.soat.utils.WaitEngine;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 
 import java.time.Duration;
+import java.util.function.Supplier;
 
 /**
  * Clase base abstracta para todos los Page Objects.
- * Centraliza la inicialización del WebDriver, WebDriverWait y
- * métodos utilitarios comunes (scroll, pause, JS executor).
+ * Centraliza la inicialización del WebDriver, las esperas (vía {@link WaitEngine}),
+ * los reintentos (vía {@link RetryEngine}) y métodos utilitarios comunes
+ * (scroll, pause, JS executor).
  *
  * Patrón: Template Method + Page Object Model
  *
@@ -22,23 +29,111 @@ import java.time.Duration;
 public abstract class BasePage {
 
     protected final WebDriver driver;
-    protected final WebDriverWait wait;
     protected final ConfigManager config;
+    private final Duration explicitTimeout;
 
     /**
-     * Constructor base que inicializa el driver, wait y PageFactory.
+     * Constructor base que inicializa el driver, el timeout explícito y PageFactory.
      *
      * @param driver WebDriver activo
      */
     protected BasePage(WebDriver driver) {
         this.driver = driver;
         this.config = ConfigManager.getInstance();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(config.getExplicitTimeout()));
+        this.explicitTimeout = Duration.ofSeconds(config.getExplicitTimeout());
         PageFactory.initElements(driver, this);
     }
 
     // ==================== MÉTODOS UTILITARIOS COMUNES ====================
 
+    /**
+     * Espera una condición con el timeout explícito (timeout.explicit),
+     * recortado al presupuesto restante del paso y del escenario.
+     *
+     * @param condition Condición a esperar
+     * @return Valor devuelto por la condición
+     */
+    protected <T> T waitUntil(ExpectedCondition<T> condition) {
+        return WaitEngine.until(driver, condition, explicitTimeout);
+    }
+
+    /**
+     * Espera una condición con un timeout específico,
+     * recortado al presupuesto restante del paso y del escenario.
+     *
+     * @param condition Condición a esperar
+     * @param timeout   Timeout máximo de esta espera
+     * @return Valor devuelto por la condición
+     */
+    protected <T> T waitUntil(ExpectedCondition<T> condition, Duration timeout) {
+        return WaitEngine.until(driver, condition, timeout);
+    }
+
+    /**
+     * Ejecuta el cuerpo de un método del Page Object dentro de un span de la traza.
+     *
+     * @param name   Nombre del span (ej: "HomePage.navigateTo")
+     * @param action Cuerpo del método
+     */
+    protected void traced(String name, Runnable action) {
+        Tracer.traced(name, action);
+    }
+
+    /**
+     * Ejecuta el cuerpo de un método con valor de retorno dentro de un span de la traza.
+     *
+     * @param name   Nombre del span
+     * @param action Cuerpo del método
+     * @return Valor devuelto por el cuerpo
+     */
+    protected <T> T traced(String name, Supplier<T> action) {
+        return Tracer.traced(name, action);
+    }
+
+    /**
+     * Ejecuta una acción con backoff exponencial, jitter y circuit breaker compartido.
+     * La acción debe poder repetirse desde el principio sin efectos duplicados.
+     *
+     * @param operation Nombre de la operación para logs y métricas
+     * @param action    Acción a ejecutar
+     */
+    protected void withRetry(String operation, Runnable action) {
+        RetryEngine.run(operation, action);
+    }
+
+    /**
+     * Ejecuta una acción con valor de retorno con la política de reintentos.
+     *
+     * @param operation Nombre de la operación para logs y métricas
+     * @param action    Acción a ejecutar
+     * @return Valor devuelto por la acción
+     */
+    protected <T> T withRetry(String operation, Supplier<T> action) {
+        return RetryEngine.call(operation, action);
+    }
+
+    /**
+     * Ejecuta una navegación (driver.get + espera de página lista) con la política de reintentos.
+     * Si la página no queda lista el fallo es de entorno: se reintenta y cuenta para el breaker.
+     *
+     * @param operation Nombre de la operación para logs y métricas
+     * @param action    Navegación a ejecutar
+     */
+    protected void withNavigationRetry(String operation, Runnable action) {
+        RetryEngine.navigate(operation, action);
+    }
+
+    /**
+     * Espera a que la página quede lista tras navegar, con el timeout corto por intento
+     * (retry.page.ready.timeout.seconds) en lugar del explícito.
+     *
+     * @param condition Condición de página lista
+     * @return Valor devuelto por la condición
+     */
+    protected <T> T waitForPageReady(ExpectedCondition<T> condition) {
+        return WaitEngine.until(driver, condition, Duration.ofSeconds(config.getPageReadyTimeout()));
+    }
+
     /**
      * Ejecuta código JavaScript en el contexto del navegador.
      *
@@ -67,11 +162,27 @@ public abstract class BasePage {
      * @param millis Milisegundos a esperar
      */
     protected void pause(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        WaitEngine.pause(millis);
+    }
+
+    /**
+     * Registra las métricas de carga (Navigation Timing) del documento actual
+     * para el historial de rendimiento y guarda el snapshot del DOM de la página.
+     */
+    protected void recordPageLoad() {
+        PerfHistory.capturePageLoad(driver);
+        captureDom(null);
+    }
+
+    /**
+     * Guarda el snapshot del DOM de un estado de la página para el análisis de locators
+     * (solo con dom.snapshots.enabled=true y una vez por ejecución).
+     *
+     * @param state Estado dentro de la página (ej: editar), o null para la página recién cargada
+     */
+    protected void captureDom(String state) {
+        String page = getClass().getSimpleName();
+        DomSnapshotStore.capture(driver, state == null ? page : page + "-" + state);
     }
 
     /**
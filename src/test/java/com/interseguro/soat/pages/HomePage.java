@@ -7,7 +7,6 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
@@ -34,6 +33,25 @@ public class HomePage extends BasePage {
     @FindBy(xpath = "//div[text()='COTIZAR AHORA']")
     private WebElement btnCotizarAhora;
 
+    /** Campo de placa (para esperas y lecturas sin el proxy de PageFactory) */
+    private static final By PLATE_INPUT = By.id("plate");
+
+    /** Mensaje de error de placa (validación de formato) */
+    private static final By ERROR_PLACA_MESSAGE = By.xpath("//*[contains(text(),'placa') and " +
+            "(contains(text(),'válida') or " +
+            "contains(text(),'valida') or " +
+            "contains(text(),'inválida') or " +
+            "contains(text(),'invalida') or " +
+            "contains(text(),'6 d') or " +
+            "contains(text(),'error'))]");
+
+    /** Texto del mensaje de error de placa (para leerlo) */
+    private static final By ERROR_PLACA_TEXT = By.xpath("//*[contains(text(),'placa') and " +
+            "(contains(text(),'válida') or " +
+            "contains(text(),'valida') or " +
+            "contains(text(),'6 d') or " +
+            "contains(text(),'error'))]");
+
     // ==================== CONSTRUCTOR ====================
 
     public HomePage(WebDriver driver) {
@@ -44,23 +62,17 @@ public class HomePage extends BasePage {
 
     /**
      * Navega a la página principal de SOAT Digital.
-     * Reintenta hasta 2 veces si la página no carga correctamente.
+     * Reintenta con backoff exponencial si la página no carga o no muestra el campo de placa
+     * (retry.max.attempts, fallo de entorno); falla de inmediato si el breaker está abierto.
      */
     public void navigateTo() {
-        int maxRetries = config.getMaxRetryAttempts();
-        for (int i = 0; i <= maxRetries; i++) {
-            try {
+        traced("HomePage.navigateTo", () -> {
+            withNavigationRetry("HomePage.navigateTo", () -> {
                 driver.get(URL);
-                wait.until(ExpectedConditions.presenceOfElementLocated(By.id("plate")));
-                return;
-            } catch (Exception e) {
-                if (i == maxRetries) {
-                    throw e;
-                }
-                System.out.println("[Retry] Reintentando carga de página... intento " + (i + 2));
-                pause(config.getRetryDelayMs());
-            }
-        }
+                waitForPageReady(ExpectedConditions.presenceOfElementLocated(PLATE_INPUT));
+                recordPageLoad();
+            });
+        });
     }
 
     /**
@@ -69,20 +81,26 @@ public class HomePage extends BasePage {
      * @param placa Número de placa del vehículo (ej: ABC-123)
      */
     public void enterPlaca(String placa) {
-        wait.until(ExpectedConditions.visibilityOf(inputPlaca));
-        inputPlaca.clear();
-        if (placa != null && !placa.isEmpty()) {
-            inputPlaca.sendKeys(placa);
-        }
-        pause(300);
+        traced("HomePage.enterPlaca", () -> {
+            waitUntil(ExpectedConditions.visibilityOf(inputPlaca));
+            inputPlaca.clear();
+            if (placa != null && !placa.isEmpty()) {
+                inputPlaca.sendKeys(placa);
+            }
+            pause(300);
+        });
     }
 
     /**
      * Hace clic en el botón "COTIZAR AHORA".
      */
     public void clickCotizarAhora() {
-        wait.until(ExpectedConditions.elementToBeClickable(btnCotizarAhora));
-        btnCotizarAhora.click();
+        traced("HomePage.clickCotizarAhora", () -> {
+            withRetry("HomePage.clickCotizarAhora", () -> {
+                waitUntil(ExpectedConditions.elementToBeClickable(btnCotizarAhora));
+                btnCotizarAhora.click();
+            });
+        });
     }
 
     /**
@@ -90,8 +108,10 @@ public class HomePage extends BasePage {
      * El botón muestra "Obteniendo mejores precios" durante la carga.
      */
     public void waitForCotizacionRedirect() {
-        WebDriverWait longWait = new WebDriverWait(driver, Duration.ofSeconds(20));
-        longWait.until(ExpectedConditions.urlContains("cotizacion/planes"));
+        traced("HomePage.waitForCotizacionRedirect", () -> {
+            waitUntil(ExpectedConditions.urlContains("cotizacion/planes"),
+                    Duration.ofSeconds(config.getCotizacionRedirectTimeout()));
+        });
     }
 
     // ==================== VALIDACIONES ====================
@@ -102,30 +122,24 @@ public class HomePage extends BasePage {
      * @return true si el mensaje de error es visible
      */
     public boolean isErrorPlacaDisplayed() {
-        try {
-            // Verificar si el input tiene la clase de error o si hay un mensaje de error visible
-            WebElement plateInput = driver.findElement(By.id("plate"));
-            String inputClass = plateInput.getDomAttribute("class");
-            if (inputClass != null && inputClass.contains("is-input-error")) {
-                return true;
-            }
+        return traced("HomePage.isErrorPlacaDisplayed", () -> {
+            try {
+                // Verificar si el input tiene la clase de error o si hay un mensaje de error visible
+                WebElement plateInput = driver.findElement(PLATE_INPUT);
+                String inputClass = plateInput.getDomAttribute("class");
+                if (inputClass != null && inputClass.contains("is-input-error")) {
+                    return true;
+                }
 
-            // Buscar mensajes de error por texto
-            WebElement errorMsg = new WebDriverWait(driver, Duration.ofSeconds(3))
-                    .until(ExpectedConditions.visibilityOfElementLocated(
-                            By.xpath("//*[contains(text(),'placa') and " +
-                                     "(contains(text(),'válida') or " +
-                                     "contains(text(),'valida') or " +
-                                     "contains(text(),'inválida') or " +
-                                     "contains(text(),'invalida') or " +
-                                     "contains(text(),'6 d') or " +
-                                     "contains(text(),'error'))]")
-                    ));
-            return errorMsg.isDisplayed();
-        } catch (TimeoutException e) {
-            // Último recurso: verificar que no redirigió (es decir, hubo error)
-            return isStillOnHomePage();
-        }
+                // Buscar mensajes de error por texto
+                WebElement errorMsg = waitUntil(ExpectedConditions.visibilityOfElementLocated(ERROR_PLACA_MESSAGE),
+                        Duration.ofSeconds(config.getErrorProbeTimeout()));
+                return errorMsg.isDisplayed();
+            } catch (TimeoutException e) {
+                // Último recurso: verificar que no redirigió (es decir, hubo error)
+                return isStillOnHomePage();
+            }
+        });
     }
 
     /**
@@ -134,30 +148,26 @@ public class HomePage extends BasePage {
      * @return Texto del mensaje de error, o vacío si no hay error
      */
     public String getErrorMessage() {
-        try {
-            // Intentar obtener mensaje de error visible
-            WebElement errorMsg = new WebDriverWait(driver, Duration.ofSeconds(3))
-                    .until(ExpectedConditions.visibilityOfElementLocated(
-                            By.xpath("//*[contains(text(),'placa') and " +
-                                     "(contains(text(),'válida') or " +
-                                     "contains(text(),'valida') or " +
-                                     "contains(text(),'6 d') or " +
-                                     "contains(text(),'error'))]")
-                    ));
-            return errorMsg.getText();
-        } catch (TimeoutException e) {
-            // Verificar si el input tiene clase de error
+        return traced("HomePage.getErrorMessage", () -> {
             try {
-                WebElement plateInput = driver.findElement(By.id("plate"));
-                String inputClass = plateInput.getDomAttribute("class");
-                if (inputClass != null && inputClass.contains("is-input-error")) {
-                    return "Placa con formato inválido (input en estado de error)";
+                // Intentar obtener mensaje de error visible
+                WebElement errorMsg = waitUntil(ExpectedConditions.visibilityOfElementLocated(ERROR_PLACA_TEXT),
+                        Duration.ofSeconds(config.getErrorProbeTimeout()));
+                return errorMsg.getText();
+            } catch (TimeoutException e) {
+                // Verificar si el input tiene clase de error
+                try {
+                    WebElement plateInput = driver.findElement(PLATE_INPUT);
+                    String inputClass = plateInput.getDomAttribute("class");
+                    if (inputClass != null && inputClass.contains("is-input-error")) {
+                        return "Placa con formato inválido (input en estado de error)";
+                    }
+                } catch (Exception ex) {
+                    // Ignorar
                 }
-            } catch (Exception ex) {
-                // Ignorar
+                return "";
             }
-            return "";
-        }
+        });
     }
 
     /**
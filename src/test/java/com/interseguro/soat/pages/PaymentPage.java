@@ -1,5 +1,6 @@
 package com.interseguro.soat.pages;
 
+import com.interseguro.soat.logging.Log;
 import com.interseguro.soat.utils.ScreenshotHelper;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -19,12 +20,21 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
  */
 public class PaymentPage extends BasePage {
 
+    private static final Log LOG = Log.get("Page");
+
     // ==================== LOCATORS ====================
 
     /** Etiqueta "Resumen de compra:" en el panel lateral derecho */
     @FindBy(xpath = "//p[contains(text(),'Resumen de compra')]")
     private WebElement lblResumenCompra;
 
+    /** Contenedor (tarjeta) de la sección "Resumen de compra" */
+    private static final By RESUMEN_COMPRA_SECTION = By.xpath("//p[contains(text(),'Resumen de compra')]" +
+            "/ancestor::div[contains(@class,'rounded') or " +
+            "contains(@class,'shadow') or " +
+            "contains(@class,'border') or " +
+            "contains(@class,'bg-white')][1]");
+
     // ==================== CONSTRUCTOR ====================
 
     public PaymentPage(WebDriver driver) {
@@ -37,7 +47,10 @@ public class PaymentPage extends BasePage {
      * Espera a que la página de pago (Paso 2/2) cargue completamente.
      */
     public void waitForPageLoad() {
-        wait.until(ExpectedConditions.visibilityOf(lblResumenCompra));
+        traced("PaymentPage.waitForPageLoad", () -> {
+            waitUntil(ExpectedConditions.visibilityOf(lblResumenCompra));
+            recordPageLoad();
+        });
     }
 
     /**
@@ -46,11 +59,13 @@ public class PaymentPage extends BasePage {
      * @return true si la sección es visible
      */
     public boolean isResumenCompraVisible() {
-        try {
-            return lblResumenCompra.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return traced("PaymentPage.isResumenCompraVisible", () -> {
+            try {
+                return lblResumenCompra.isDisplayed();
+            } catch (Exception e) {
+                return false;
+            }
+        });
     }
 
     /**
@@ -60,13 +75,7 @@ public class PaymentPage extends BasePage {
      * @return WebElement del contenedor del resumen
      */
     public WebElement getResumenCompraSection() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(
-                By.xpath("//p[contains(text(),'Resumen de compra')]" +
-                         "/ancestor::div[contains(@class,'rounded') or " +
-                         "contains(@class,'shadow') or " +
-                         "contains(@class,'border') or " +
-                         "contains(@class,'bg-white')][1]")
-        ));
+        return waitUntil(ExpectedConditions.visibilityOfElementLocated(RESUMEN_COMPRA_SECTION));
     }
 
     /**
@@ -76,15 +85,17 @@ public class PaymentPage extends BasePage {
      * @return La ruta del archivo de imagen generado
      */
     public String captureResumenCompra() {
-        waitForPageLoad();
-        try {
-            // Intentar capturar el contenedor completo del resumen
-            WebElement resumenSection = getResumenCompraSection();
-            return ScreenshotHelper.captureElement(resumenSection, "resumen_de_compra");
-        } catch (Exception e) {
-            System.out.println("[Info] No se pudo capturar el elemento específico, " +
-                             "capturando página completa como respaldo...");
-            return ScreenshotHelper.captureFullPage(driver, "resumen_de_compra_fullpage");
-        }
+        return traced("PaymentPage.captureResumenCompra", () -> {
+            waitForPageLoad();
+            try {
+                // Intentar capturar el contenedor completo del resumen
+                WebElement resumenSection = getResumenCompraSection();
+                return ScreenshotHelper.captureElement(resumenSection, "resumen_de_compra");
+            } catch (Exception e) {
+                LOG.info("No se pudo capturar el elemento específico, " +
+                                 "capturando página completa como respaldo...");
+                return ScreenshotHelper.captureFullPage(driver, "resumen_de_compra_fullpage");
+            }
+        });
     }
 }
@@ -1,9 +1,10 @@
 package com.interseguro.soat.pages;
 
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.DropdownStrategyStore;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
@@ -22,6 +23,9 @@ import java.util.List;
  */
 public class PlanSelectionPage extends BasePage {
 
+    private static final Log LOG = Log.get("Page");
+    private static final Log DROPDOWN_LOG = Log.get("Dropdown");
+
     // ==================== LOCATORS - Edición de Vehículo ====================
 
     /** Botón "Editar" para abrir modal de datos del vehículo */
@@ -62,6 +66,46 @@ public class PlanSelectionPage extends BasePage {
     @FindBy(xpath = "//button[contains(text(),'CONTINUAR CON')]")
     private WebElement btnContinuar;
 
+    /** Textos "Seleccionar plan" de las tarjetas de planes */
+    private static final By SELECCIONAR_PLAN_LABEL = By.xpath("//span[contains(text(),'Seleccionar plan')]");
+
+    /** Campo de marca (para esperar apertura/cierre del modal sin el proxy de PageFactory) */
+    private static final By MAKE_INPUT = By.id("make");
+
+    /** Elemento padre del disparador del dropdown (relativo) */
+    private static final By PARENT_ELEMENT = By.xpath("./..");
+
+    /** Opción del dropdown por texto exacto (%s = valor) */
+    private static final String OPTION_EXACT_TEXT_XPATH = "//*[normalize-space(text())='%s']";
+
+    /** Opción del dropdown que contiene el texto (%s = valor) */
+    private static final String OPTION_CONTAINS_TEXT_XPATH = "//*[contains(normalize-space(text()),'%s')]";
+
+    /** Campo de búsqueda del dropdown abierto */
+    private static final By SEARCH_INPUT = By.xpath(
+            "//input[(@placeholder='buscar' or @placeholder='Buscar' or @type='search') and not(@readonly)]");
+
+    /** Campo de búsqueda alternativo (input de texto editable que no es placa/marca/modelo) */
+    private static final By SEARCH_INPUT_FALLBACK = By.xpath(
+            "//input[@type='text' and not(@readonly) and not(@id='make') and not(@id='model') and not(@id='plate')]");
+
+    /**
+     * Textos de las opciones del dropdown abierto: sube desde el campo de búsqueda hasta el
+     * primer contenedor con al menos dos hojas de texto visibles y devuelve esas hojas sin repetir.
+     */
+    private static final String DROPDOWN_OPTIONS_JS =
+            "function leaves(root){var out=[];var all=root.querySelectorAll('*');"
+            + "for(var i=0;i<all.length;i++){var e=all[i];"
+            + "if(e.children.length===0&&e.tagName!=='INPUT'&&e.offsetParent!==null){"
+            + "var t=(e.textContent||'').trim();if(t&&out.indexOf(t)<0){out.push(t);}}}return out;}"
+            + "var node=arguments[0].parentElement;"
+            + "while(node&&node!==document.body&&leaves(node).length<2){node=node.parentElement;}"
+            + "return node?leaves(node):[];";
+
+    /** Intentos máximos de apertura del dropdown y pausa tras cada uno */
+    private static final int MAX_OPEN_ATTEMPTS = 8;
+    private static final long OPEN_PAUSE_MS = 800;
+
     // ==================== CONSTRUCTOR ====================
 
     public PlanSelectionPage(WebDriver driver) {
@@ -74,13 +118,37 @@ public class PlanSelectionPage extends BasePage {
      * Espera a que la página de planes cargue completamente (Paso 1/2).
      */
     public void waitForPageLoad() {
-        wait.until(ExpectedConditions.urlContains("cotizacion/planes"));
-        // Esperar a que al menos el botón Editar o los planes sean visibles
-        wait.until(ExpectedConditions.or(
-                ExpectedConditions.visibilityOf(btnEditar),
-                ExpectedConditions.visibilityOfElementLocated(
-                        By.xpath("//span[contains(text(),'Seleccionar plan')]"))
-        ));
+        traced("PlanSelectionPage.waitForPageLoad", () -> {
+            waitUntil(ExpectedConditions.urlContains("cotizacion/planes"));
+            // Esperar a que al menos el botón Editar o los planes sean visibles
+            waitUntil(ExpectedConditions.or(
+                    ExpectedConditions.visibilityOf(btnEditar),
+                    ExpectedConditions.visibilityOfElementLocated(SELECCIONAR_PLAN_LABEL)
+            ));
+            recordPageLoad();
+        });
+    }
+
+    /**
+     * Indica si la página de planes está cargada, esperando como máximo el timeout indicado.
+     *
+     * @param timeout Espera máxima
+     * @return true si la URL es la de planes y el botón Editar o los planes son visibles
+     */
+    public boolean isLoaded(Duration timeout) {
+        return traced("PlanSelectionPage.isLoaded", () -> {
+            try {
+                waitUntil(ExpectedConditions.and(
+                        ExpectedConditions.urlContains("cotizacion/planes"),
+                        ExpectedConditions.or(
+                                ExpectedConditions.visibilityOf(btnEditar),
+                                ExpectedConditions.visibilityOfElementLocated(SELECCIONAR_PLAN_LABEL))
+                ), timeout);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            }
+        });
     }
 
     // ==================== ACCIONES - Edición de Vehículo (Pantalla 1) ====================
@@ -89,11 +157,16 @@ public class PlanSelectionPage extends BasePage {
      * Hace clic en "Editar" para abrir el modal de edición del vehículo.
      */
     public void clickEditar() {
-        wait.until(ExpectedConditions.elementToBeClickable(btnEditar));
-        btnEditar.click();
-        // Esperar a que el modal se abra (verificar que el input de marca sea visible)
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("make")));
-        pause(500);
+        traced("PlanSelectionPage.clickEditar", () -> {
+            withRetry("PlanSelectionPage.clickEditar", () -> {
+                waitUntil(ExpectedConditions.elementToBeClickable(btnEditar));
+                btnEditar.click();
+            });
+            // Esperar a que el modal se abra (verificar que el input de marca sea visible)
+            waitUntil(ExpectedConditions.visibilityOfElementLocated(MAKE_INPUT));
+            pause(500);
+            captureDom("editar");
+        });
     }
 
     /**
@@ -103,7 +176,9 @@ public class PlanSelectionPage extends BasePage {
      * @param marca Nombre de la marca a seleccionar (ej: TOYOTA)
      */
     public void selectMarca(String marca) {
-        selectFromDropdown(inputMarca, marca);
+        traced("PlanSelectionPage.selectMarca", () -> {
+            selectFromDropdown(inputMarca, "make", marca);
+        });
     }
 
     /**
@@ -113,20 +188,69 @@ public class PlanSelectionPage extends BasePage {
      * @param modelo Nombre del modelo a seleccionar (ej: YARIS)
      */
     public void selectModelo(String modelo) {
-        // Esperar a que el dropdown de modelo se actualice tras seleccionar la marca
-        pause(1200);
-        selectFromDropdown(inputModelo, modelo);
+        traced("PlanSelectionPage.selectModelo", () -> {
+            // Esperar a que el dropdown de modelo se actualice tras seleccionar la marca
+            pause(1200);
+            selectFromDropdown(inputModelo, "model", modelo);
+        });
     }
 
     /**
      * Hace clic en "Guardar cambios" y espera a que el modal de edición se cierre.
      */
     public void clickGuardarCambios() {
-        wait.until(ExpectedConditions.elementToBeClickable(btnGuardarCambios));
-        btnGuardarCambios.click();
-        // Esperar a que el modal se cierre (el input make ya no sea visible)
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(By.id("make")));
-        pause(800);
+        traced("PlanSelectionPage.clickGuardarCambios", () -> {
+            waitUntil(ExpectedConditions.elementToBeClickable(btnGuardarCambios));
+            btnGuardarCambios.click();
+            // Esperar a que el modal se cierre (el input make ya no sea visible)
+            waitUntil(ExpectedConditions.invisibilityOfElementLocated(MAKE_INPUT));
+            pause(800);
+        });
+    }
+
+    /**
+     * Lee la marca y el modelo de la cotización abriendo el modal de edición y
+     * cerrándolo con "Cancelar" (sin modificar la cotización).
+     *
+     * @return Vehículo de la cotización (ej: "TOYOTA / YARIS")
+     */
+    public String getVehicleData() {
+        return traced("PlanSelectionPage.getVehicleData", () -> {
+            clickEditar();
+            String vehicle = inputMarca.getDomProperty("value") + " / " + inputModelo.getDomProperty("value");
+            waitUntil(ExpectedConditions.elementToBeClickable(btnCancelar));
+            btnCancelar.click();
+            waitUntil(ExpectedConditions.invisibilityOfElementLocated(MAKE_INPUT));
+            return vehicle;
+        });
+    }
+
+    // ==================== ACCIONES - Catálogo de Vehículos ====================
+
+    /**
+     * Lee todas las marcas del dropdown #make (con el modal de edición abierto).
+     *
+     * @return Marcas en el orden en que aparecen
+     */
+    public List<String> getMarcaOptions() {
+        return traced("PlanSelectionPage.getMarcaOptions", () -> {
+            return readDropdownOptions(inputMarca, "make");
+        });
+    }
+
+    /**
+     * Selecciona una marca y lee todos los modelos del dropdown #model.
+     *
+     * @param marca Marca cuyos modelos se quieren leer
+     * @return Modelos en el orden en que aparecen
+     */
+    public List<String> getModeloOptions(String marca) {
+        return traced("PlanSelectionPage.getModeloOptions", () -> {
+            selectMarca(marca);
+            // Esperar a que el dropdown de modelo se actualice tras seleccionar la marca
+            pause(1200);
+            return readDropdownOptions(inputModelo, "model");
+        });
     }
 
     // ==================== ACCIONES - Selección de Plan (Pantalla 2) ====================
@@ -136,11 +260,15 @@ public class PlanSelectionPage extends BasePage {
      * El SOAT Básico es siempre el primer plan y el más económico.
      */
     public void selectPlanMasEconomico() {
-        // Scroll hasta la sección de planes
-        scrollToElement(btnSeleccionarPlanBasico);
-        wait.until(ExpectedConditions.elementToBeClickable(btnSeleccionarPlanBasico));
-        btnSeleccionarPlanBasico.click();
-        pause(500);
+        traced("PlanSelectionPage.selectPlanMasEconomico", () -> {
+            // Scroll hasta la sección de planes
+            withRetry("PlanSelectionPage.selectPlanMasEconomico", () -> {
+                scrollToElement(btnSeleccionarPlanBasico);
+                waitUntil(ExpectedConditions.elementToBeClickable(btnSeleccionarPlanBasico));
+                btnSeleccionarPlanBasico.click();
+            });
+            pause(500);
+        });
     }
 
     // ==================== ACCIONES - Renovación y Continuar ====================
@@ -150,25 +278,30 @@ public class PlanSelectionPage extends BasePage {
      * Si la sección no aparece, continúa sin error.
      */
     public void handleRenewalPopup() {
-        try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            WebElement noActivarBtn = shortWait.until(
-                    ExpectedConditions.elementToBeClickable(btnNoActivar));
-            scrollToElement(noActivarBtn);
-            noActivarBtn.click();
-            pause(300);
-        } catch (TimeoutException | NoSuchElementException e) {
-            System.out.println("[Info] Sección de renovación no encontrada, continuando...");
-        }
+        traced("PlanSelectionPage.handleRenewalPopup", () -> {
+            try {
+                WebElement noActivarBtn = waitUntil(ExpectedConditions.elementToBeClickable(btnNoActivar),
+                        Duration.ofSeconds(config.getRenewalPopupTimeout()));
+                scrollToElement(noActivarBtn);
+                noActivarBtn.click();
+                pause(300);
+            } catch (TimeoutException | NoSuchElementException e) {
+                LOG.info("Sección de renovación no encontrada, continuando...");
+            }
+        });
     }
 
     /**
      * Hace clic en el botón "CONTINUAR CON S/XX" para avanzar al paso de pago.
      */
     public void clickContinuar() {
-        scrollToElement(btnContinuar);
-        wait.until(ExpectedConditions.elementToBeClickable(btnContinuar));
-        btnContinuar.click();
+        traced("PlanSelectionPage.clickContinuar", () -> {
+            withRetry("PlanSelectionPage.clickContinuar", () -> {
+                scrollToElement(btnContinuar);
+                waitUntil(ExpectedConditions.elementToBeClickable(btnContinuar));
+                btnContinuar.click();
+            });
+        });
     }
 
     // ==================== UTILIDADES PRIVADAS ====================
@@ -176,120 +309,185 @@ public class PlanSelectionPage extends BasePage {
     /**
      * Selecciona una opción de un dropdown custom Vue.js.
      * Estrategia multi-fallback:
-     *   A) Busca elemento con texto directo exacto (text())
-     *   B) Busca elemento que contiene el texto (contains)
-     *   C) Presiona Enter en el campo de búsqueda como último recurso
+     *   1) Abre el dropdown alternando métodos de clic (nativo, JS, padre, Actions)
+     *   2) Selecciona la opción filtrada:
+     *      A) Busca elemento con texto directo exacto (text())
+     *      B) Busca elemento que contiene el texto (contains)
+     *      C) Presiona Enter en el campo de búsqueda como último recurso
+     * Los métodos de apertura se prueban en el orden aprendido por {@link DropdownStrategyStore}
+     * para cada dropdown y entorno (cada apertura fallida cuesta una pausa). Las estrategias de
+     * selección mantienen siempre el orden A → B → C: B antes que A podría elegir "YARIS CROSS"
+     * al buscar "YARIS", y C no permite verificar que la opción se seleccionó.
      *
      * [IA - GitHub Copilot]: Lógica de selección generada con IA para manejar
      * dropdowns custom de Vue.js con campo de búsqueda y opciones dinámicas.
      *
      * @param triggerInput El campo input readonly que abre el dropdown
+     * @param dropdownId   Identificador del dropdown para el historial (make, model)
      * @param value        El valor a seleccionar (ej: TOYOTA)
      */
-    private void selectFromDropdown(WebElement triggerInput, String value) {
-        // 1. Abrir el dropdown con reintentos (necesario cuando el componente Vue recarga modelos)
-        wait.until(ExpectedConditions.elementToBeClickable(triggerInput));
-
-        By searchSelector = By.xpath(
-                "//input[(@placeholder='buscar' or @placeholder='Buscar' or @type='search') " +
-                "and not(@readonly)]"
-        );
-        By fallbackSelector = By.xpath(
-                "//input[@type='text' and not(@readonly) and not(@id='make') " +
-                "and not(@id='model') and not(@id='plate')]"
-        );
+    private void selectFromDropdown(WebElement triggerInput, String dropdownId, String value) {
+        traced("PlanSelectionPage.selectFromDropdown", () -> {
+            // 1. Abrir el dropdown con reintentos (necesario cuando el componente Vue recarga modelos)
+            WebElement searchInput = openDropdown(triggerInput, dropdownId, value);
+
+            // 2. Escribir el valor en el campo de búsqueda
+            searchInput.click();
+            searchInput.sendKeys(Keys.CONTROL, "a");
+            searchInput.sendKeys(Keys.DELETE);
+            searchInput.sendKeys(value);
+            pause(800);
 
+            // 3. Intentar encontrar y hacer clic en la opción filtrada (A exacto antes que B contains)
+            OptionStrategy selectedWith = null;
+            for (OptionStrategy strategy : OptionStrategy.values()) {
+                if (clickVisibleOption(By.xpath(String.format(strategy.xpath, value)))) {
+                    selectedWith = strategy;
+                    DROPDOWN_LOG.debug("Seleccionado '" + value + "' con estrategia " + strategy.label);
+                    break;
+                }
+            }
+
+            // Estrategia C: Presionar Enter en el campo de búsqueda
+            if (selectedWith == null) {
+                DROPDOWN_LOG.debug("Estrategias A y B fallaron para '" + value + "', intentando Enter");
+                searchInput.sendKeys(Keys.ENTER);
+            }
+
+            pause(500);
+        });
+    }
+
+    /**
+     * Abre el dropdown probando los métodos de clic en el orden aprendido.
+     *
+     * @param triggerInput El campo input readonly que abre el dropdown
+     * @param dropdownId   Identificador del dropdown para el historial (make, model)
+     * @param value        Valor que se busca (solo para los logs)
+     * @return Campo de búsqueda visible del dropdown abierto
+     */
+    private WebElement openDropdown(WebElement triggerInput, String dropdownId, String value) {
+        DropdownStrategyStore store = DropdownStrategyStore.getInstance();
+        waitUntil(ExpectedConditions.elementToBeClickable(triggerInput));
+
+        List<OpenMethod> openOrder = store.order(dropdownId, "open", OpenMethod.values());
+        List<OpenMethod> fixedOrder = List.of(OpenMethod.values());
+        // El orden fijo no se ejecuta: su costo se estima con el historial previo a este intento
+        double baselineOpenAttempts = store.expectedAttempts(dropdownId, "open", fixedOrder, MAX_OPEN_ATTEMPTS);
         WebElement searchInput = null;
-        // Polling: intentar abrir el dropdown hasta 8 veces con diferentes métodos de clic
-        for (int attempt = 0; attempt < 8 && searchInput == null; attempt++) {
+        OpenMethod openedWith = null;
+        int openAttempts = 0;
+        // Polling: intentar abrir el dropdown hasta 8 veces alternando métodos de clic
+        for (int attempt = 0; attempt < MAX_OPEN_ATTEMPTS && searchInput == null; attempt++) {
+            OpenMethod method = openOrder.get(attempt % openOrder.size());
+            long start = System.nanoTime();
             try {
-                // Alternar entre métodos de clic
-                switch (attempt % 4) {
-                    case 0: triggerInput.click(); break;
-                    case 1: executeJs("arguments[0].click()", triggerInput); break;
-                    case 2: triggerInput.findElement(By.xpath("./..")).click(); break;
-                    case 3: new org.openqa.selenium.interactions.Actions(driver)
-                                .moveToElement(triggerInput).click().perform(); break;
-                }
+                clickTrigger(method, triggerInput);
             } catch (Exception clickErr) {
-                System.out.println("[Dropdown] Error en clic intento " + (attempt + 1) + ": " + clickErr.getMessage());
+                DROPDOWN_LOG.debug("Error en clic " + method + " intento " + (attempt + 1) + ": " + clickErr.getMessage());
             }
 
-            pause(800);
+            pause(OPEN_PAUSE_MS);
 
             // Verificar si el search input apareció
-            List<WebElement> candidates = driver.findElements(searchSelector);
-            if (candidates.isEmpty()) {
-                candidates = driver.findElements(fallbackSelector);
-            }
-            for (WebElement c : candidates) {
-                try {
-                    if (c.isDisplayed()) {
-                        searchInput = c;
-                        break;
-                    }
-                } catch (StaleElementReferenceException ignored) {}
-            }
+            searchInput = findVisibleSearchInput();
+            openAttempts++;
+            store.record(dropdownId, "open", method, searchInput != null, (System.nanoTime() - start) / 1_000_000);
 
             if (searchInput == null) {
-                System.out.println("[Dropdown] Intento " + (attempt + 1) + "/8: dropdown no se abrió para '" + value + "'");
+                DROPDOWN_LOG.debug("Intento " + (attempt + 1) + "/" + MAX_OPEN_ATTEMPTS
+                        + " (" + method + "): dropdown no se abrió para '" + value + "'");
+            } else {
+                openedWith = method;
             }
         }
 
         if (searchInput == null) {
-            throw new RuntimeException("[Dropdown] No se pudo abrir el dropdown después de 8 intentos para: " + value);
+            throw new RuntimeException("[Dropdown] No se pudo abrir el dropdown después de "
+                    + MAX_OPEN_ATTEMPTS + " intentos para: " + value);
         }
+        // Si el orden usado es el fijo, la referencia es lo medido y no una estimación
+        DropdownStrategyStore.recordAttempts(openAttempts,
+                openOrder.equals(fixedOrder) ? openAttempts : baselineOpenAttempts, OPEN_PAUSE_MS);
 
-        System.out.println("[Dropdown] Dropdown abierto correctamente para '" + value + "'");
-
-        // 2. Escribir el valor en el campo de búsqueda
-        searchInput.click();
-        searchInput.sendKeys(Keys.CONTROL, "a");
-        searchInput.sendKeys(Keys.DELETE);
-        searchInput.sendKeys(value);
-        pause(800);
-
-        // 3. Intentar encontrar y hacer clic en la opción filtrada
-        boolean selected = false;
-
-        // Estrategia A: Texto directo exacto - normalize-space(text())='VALOR'
-        if (!selected) {
-            List<WebElement> candidates = driver.findElements(
-                    By.xpath("//*[normalize-space(text())='" + value + "']")
-            );
-            for (WebElement el : candidates) {
-                String tag = el.getTagName().toLowerCase();
-                if (!tag.equals("input") && !tag.equals("label") && el.isDisplayed()) {
-                    executeJs("arguments[0].click()", el);
-                    selected = true;
-                    System.out.println("[Dropdown] Seleccionado '" + value + "' con estrategia A (texto exacto)");
-                    break;
-                }
-            }
+        DROPDOWN_LOG.debug("Dropdown abierto correctamente para '" + value + "' con " + openedWith);
+        captureDom("dropdown-" + dropdownId);
+        return searchInput;
+    }
+
+    /**
+     * Abre el dropdown con el método de clic indicado.
+     */
+    private void clickTrigger(OpenMethod method, WebElement triggerInput) {
+        switch (method) {
+            case NATIVE: triggerInput.click(); break;
+            case JS: executeJs("arguments[0].click()", triggerInput); break;
+            case PARENT: triggerInput.findElement(PARENT_ELEMENT).click(); break;
+            case ACTIONS: new org.openqa.selenium.interactions.Actions(driver)
+                        .moveToElement(triggerInput).click().perform(); break;
         }
+    }
 
-        // Estrategia B: Texto que contiene el valor - contains(text(), 'VALOR')
-        if (!selected) {
-            List<WebElement> candidates = driver.findElements(
-                    By.xpath("//*[contains(normalize-space(text()),'" + value + "')]")
-            );
-            for (WebElement el : candidates) {
-                String tag = el.getTagName().toLowerCase();
-                if (!tag.equals("input") && !tag.equals("label") && el.isDisplayed()) {
-                    executeJs("arguments[0].click()", el);
-                    selected = true;
-                    System.out.println("[Dropdown] Seleccionado '" + value + "' con estrategia B (contains)");
-                    break;
+    /**
+     * @return Campo de búsqueda visible del dropdown abierto, o null si no apareció
+     */
+    private WebElement findVisibleSearchInput() {
+        List<WebElement> candidates = driver.findElements(SEARCH_INPUT);
+        if (candidates.isEmpty()) {
+            candidates = driver.findElements(SEARCH_INPUT_FALLBACK);
+        }
+        for (WebElement c : candidates) {
+            try {
+                if (c.isDisplayed()) {
+                    return c;
                 }
-            }
+            } catch (StaleElementReferenceException ignored) {}
         }
+        return null;
+    }
+
+    /**
+     * Abre el dropdown, lee sus opciones visibles y lo cierra con Escape.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> readDropdownOptions(WebElement triggerInput, String dropdownId) {
+        WebElement searchInput = openDropdown(triggerInput, dropdownId, "(catálogo)");
+        List<String> options = (List<String>) executeJs(DROPDOWN_OPTIONS_JS, searchInput);
+        searchInput.sendKeys(Keys.ESCAPE);
+        pause(300);
+        return options;
+    }
 
-        // Estrategia C: Presionar Enter en el campo de búsqueda
-        if (!selected) {
-            System.out.println("[Dropdown] Estrategias A y B fallaron para '" + value + "', intentando Enter");
-            searchInput.sendKeys(Keys.ENTER);
+    /**
+     * Hace clic (JS) en la primera opción visible que no sea input ni label.
+     *
+     * @return true si se hizo clic en alguna opción
+     */
+    private boolean clickVisibleOption(By locator) {
+        for (WebElement el : driver.findElements(locator)) {
+            String tag = el.getTagName().toLowerCase();
+            if (!tag.equals("input") && !tag.equals("label") && el.isDisplayed()) {
+                executeJs("arguments[0].click()", el);
+                return true;
+            }
         }
+        return false;
+    }
+
+    /** Métodos de clic para abrir el dropdown, en su orden original */
+    private enum OpenMethod { NATIVE, JS, PARENT, ACTIONS }
+
+    /** Estrategias verificables de selección de opción, en el orden en que se prueban siempre */
+    private enum OptionStrategy {
+        EXACT_TEXT("A (texto exacto)", OPTION_EXACT_TEXT_XPATH),
+        CONTAINS_TEXT("B (contains)", OPTION_CONTAINS_TEXT_XPATH);
 
-        pause(500);
+        private final String label;
+        private final String xpath;
+
+        OptionStrategy(String label, String xpath) {
+            this.label = label;
+            this.xpath = xpath;
+        }
     }
 }
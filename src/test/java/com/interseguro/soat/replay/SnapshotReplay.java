@@ -0,0 +1,170 @@
+package com.interseguro.soat.replay;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.pages.HomePage;
+import com.interseguro.soat.pages.PaymentPage;
+import com.interseguro.soat.pages.PlanSelectionPage;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Harness de replay: carga en un Chrome headless un snapshot guardado por
+ * {@link StepSnapshotRecorder} y vuelve a ejecutar las validaciones de los Page Objects
+ * sobre él, sin el sitio real, para iterar sobre locators y validaciones en milisegundos.
+ *
+ * Formato (replay.format):
+ *   - mhtml: página completa con estilos (isDisplayed fiel); requiere captura MHTML
+ *   - dom:   HTML sin scripts ni estilos externos (siempre disponible)
+ *
+ * Durante el replay:
+ *   - las esperas (timeout.explicit, timeout.error.probe) son 0: el snapshot no cambia,
+ *     cada condición se evalúa una sola vez
+ *   - driver.getCurrentUrl() devuelve la URL original del paso, no la del archivo local,
+ *     para que las validaciones por URL (ej: isStillOnHomePage) den el mismo resultado
+ *
+ * Uso manual (paso por defecto: el último guardado, normalmente el que falló;
+ * validación por defecto: todas, o las que empiezan con el filtro indicado):
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.replay.SnapshotReplay
+ *       -Dexec.args="target/failure-snapshots/&lt;escenario&gt;_L&lt;línea&gt; [paso] [HomePage.isErrorPlacaDisplayed]"
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el harness de replay sobre snapshots.
+ */
+public final class SnapshotReplay {
+
+    private static final Log LOG = Log.get("Replay");
+
+    /** Validaciones de los Page Objects que se pueden repetir sobre un snapshot */
+    private static final Map<String, Function<WebDriver, Object>> VALIDATIONS = new LinkedHashMap<>();
+
+    static {
+        VALIDATIONS.put("HomePage.isErrorPlacaDisplayed", driver -> new HomePage(driver).isErrorPlacaDisplayed());
+        VALIDATIONS.put("HomePage.getErrorMessage", driver -> new HomePage(driver).getErrorMessage());
+        VALIDATIONS.put("PlanSelectionPage.isLoaded", driver -> new PlanSelectionPage(driver).isLoaded(Duration.ZERO));
+        VALIDATIONS.put("PaymentPage.isResumenCompraVisible", driver -> new PaymentPage(driver).isResumenCompraVisible());
+    }
+
+    private SnapshotReplay() {
+        // Constructor privado - clase utilitaria
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Uso: SnapshotReplay <carpeta de snapshots> [paso] [validación]");
+        }
+        // Navegador local headless y sin esperas: el snapshot es estático
+        System.setProperty("browser.headless", "true");
+        System.setProperty("execution.mode", "local");
+        System.setProperty("timeout.explicit", "0");
+        System.setProperty("timeout.error.probe", "0");
+
+        Path dir = Paths.get(args[0]);
+        List<Map<String, Object>> index = new Json().toType(
+                Files.readString(dir.resolve("index.json"), StandardCharsets.UTF_8), Json.LIST_OF_MAPS_TYPE);
+        if (index.isEmpty()) {
+            throw new IllegalArgumentException("[Replay] " + dir + " no tiene snapshots");
+        }
+        Map<String, Object> snapshot = args.length > 1 ? findStep(index, Integer.parseInt(args[1])) : index.get(index.size() - 1);
+        String filter = args.length > 2 ? args[2] : "";
+
+        try {
+            replay(dir, snapshot, filter);
+        } finally {
+            DriverFactory.quitDriver();
+            Log.flush();
+        }
+    }
+
+    /**
+     * Carga el snapshot de un paso y ejecuta las validaciones que coinciden con el filtro.
+     *
+     * @param dir      Carpeta de snapshots del escenario
+     * @param snapshot Entrada de index.json del paso
+     * @param filter   Prefijo de las validaciones a ejecutar ("" = todas)
+     * @return Resultado de cada validación (o la excepción que lanzó)
+     */
+    public static Map<String, Object> replay(Path dir, Map<String, Object> snapshot, String filter) throws IOException {
+        String format = ConfigManager.getInstance().getReplayFormat();
+        String file = (String) snapshot.get("mhtml".equalsIgnoreCase(format) && snapshot.get("mhtml") != null ? "mhtml" : "dom");
+        String url = (String) snapshot.get("url");
+        LOG.info("Paso " + snapshot.get("step") + " [" + snapshot.get("status") + "] " + snapshot.get("text"));
+        LOG.info("URL original: " + url + " | snapshot: " + file);
+
+        // Chrome solo abre MHTML con la extensión .mhtml
+        String name = file.substring(0, file.length() - ".gz".length());
+        Path local = Files.createTempFile("replay-", "-" + name);
+        try {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(dir.resolve(file)))) {
+                Files.write(local, in.readAllBytes());
+            }
+            DriverFactory.getDriver();
+            WebDriver raw = DriverFactory.getRawDriver();
+            long loadStart = System.nanoTime();
+            raw.get(local.toUri().toString());
+            LOG.info("Snapshot cargado en " + (System.nanoTime() - loadStart) / 1_000_000 + " ms");
+
+            WebDriver driver = new WebDriverDecorator<WebDriver>() {
+                @Override
+                public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+                    if (target.getOriginal() instanceof WebDriver && "getCurrentUrl".equals(method.getName())) {
+                        return url;
+                    }
+                    return super.call(target, method, args);
+                }
+            }.decorate(raw);
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            VALIDATIONS.forEach((validation, check) -> {
+                if (!validation.startsWith(filter)) {
+                    return;
+                }
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = check.apply(driver);
+                } catch (RuntimeException e) {
+                    result = e;
+                }
+                long micros = (System.nanoTime() - start) / 1_000;
+                results.put(validation, result);
+                LOG.info(String.format(Locale.ROOT, "%-40s → %s (%.1f ms)", validation,
+                        result instanceof RuntimeException ? "ERROR " + firstLine((RuntimeException) result) : "'" + result + "'",
+                        micros / 1000.0));
+            });
+            return results;
+        } finally {
+            Files.deleteIfExists(local);
+        }
+    }
+
+    private static Map<String, Object> findStep(List<Map<String, Object>> index, int step) {
+        return index.stream()
+                .filter(entry -> ((Number) entry.get("step")).intValue() == step)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("[Replay] No hay snapshot del paso " + step));
+    }
+
+    private static String firstLine(Throwable e) {
+        String message = String.valueOf(e.getMessage());
+        int newline = message.indexOf('\n');
+        return e.getClass().getSimpleName() + ": " + (newline < 0 ? message : message.substring(0, newline));
+    }
+}
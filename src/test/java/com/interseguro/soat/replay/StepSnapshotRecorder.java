@@ -0,0 +1,196 @@
+package com.interseguro.soat.replay;
+
+import com.interseguro.soat.locators.DomSnapshotStore;
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshots de la página al terminar cada paso Gherkin, para depurar un fallo
+ * sin volver a recorrer el sitio ({@link SnapshotReplay}).
+ *
+ * Por cada paso se guarda en memoria, comprimido con gzip:
+ *   - el DOM serializado (HTML autocontenido, con el valor actual de los campos)
+ *   - el MHTML de la página (Page.captureSnapshot de DevTools, con estilos e imágenes)
+ *     si failure.snapshots.mhtml=true y el driver tiene CDP
+ * Solo se conservan los últimos failure.snapshots.max.steps pasos y solo se escriben
+ * a disco si el escenario falla, en failure.snapshots.dir/&lt;escenario&gt;_L&lt;línea&gt;/
+ * junto con index.json (paso, estado, URL y título de cada snapshot).
+ *
+ * Los pasos los delimita {@link com.interseguro.soat.telemetry.StepTimingPlugin};
+ * el ciclo de vida del escenario, {@link com.interseguro.soat.steps.Hooks}.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la captura MHTML vía DevTools
+ * y el buffer de snapshots por escenario.
+ */
+public final class StepSnapshotRecorder {
+
+    private static final Log LOG = Log.get("Replay");
+
+    private static final ThreadLocal<StepSnapshotRecorder> CURRENT = new ThreadLocal<>();
+
+    private final ArrayDeque<Snapshot> snapshots = new ArrayDeque<>();
+    private final int maxSteps;
+    private final boolean mhtml;
+    private int stepNumber;
+    private long captureNanos;
+
+    private StepSnapshotRecorder(ConfigManager config) {
+        this.maxSteps = Math.max(1, config.getFailureSnapshotsMaxSteps());
+        this.mhtml = config.isFailureSnapshotsMhtmlEnabled();
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Empieza a registrar los pasos del escenario del hilo actual (si failure.snapshots.enabled=true).
+     */
+    public static void start() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (config.isFailureSnapshotsEnabled()) {
+            CURRENT.set(new StepSnapshotRecorder(config));
+        }
+    }
+
+    /**
+     * Guarda el estado de la página al terminar un paso. Nunca falla el escenario.
+     *
+     * @param step   Texto del paso (keyword + texto)
+     * @param status Estado del paso (PASSED, FAILED, ...)
+     */
+    public static void captureStep(String step, String status) {
+        StepSnapshotRecorder recorder = CURRENT.get();
+        WebDriver driver = DriverFactory.getRawDriver();
+        if (recorder == null || driver == null) {
+            return;
+        }
+        recorder.capture(driver, step, status);
+    }
+
+    /**
+     * Deja de registrar y, si el escenario falló, escribe los snapshots a disco.
+     *
+     * @param failed       true si el escenario falló
+     * @param scenarioName Nombre del escenario
+     * @param line         Línea del escenario (identifica la fila de Examples)
+     * @return Carpeta con los snapshots, o null si no se escribió nada
+     */
+    public static Path stop(boolean failed, String scenarioName, int line) {
+        StepSnapshotRecorder recorder = CURRENT.get();
+        CURRENT.remove();
+        if (recorder == null || !failed || recorder.snapshots.isEmpty()) {
+            return null;
+        }
+        Path dir = Paths.get(ConfigManager.getInstance().getFailureSnapshotsDir(),
+                scenarioName.replaceAll("[^a-zA-Z0-9]", "_") + "_L" + line);
+        return recorder.flush(dir);
+    }
+
+    // ==================== CAPTURA ====================
+
+    private void capture(WebDriver driver, String step, String status) {
+        long start = System.nanoTime();
+        stepNumber++;
+        try {
+            Snapshot snapshot = new Snapshot(stepNumber, step, status, driver.getCurrentUrl(), driver.getTitle());
+            snapshot.dom = gzip(DomSnapshotStore.serialize(driver));
+            if (mhtml && driver instanceof HasCdp) {
+                Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Page.captureSnapshot",
+                        Map.of("format", "mhtml"));
+                snapshot.mhtml = gzip(String.valueOf(result.get("data")));
+            }
+            snapshots.addLast(snapshot);
+            while (snapshots.size() > maxSteps) {
+                snapshots.removeFirst();
+            }
+        } catch (Exception e) {
+            LOG.warn("No se pudo capturar el paso " + stepNumber + ": " + e.getMessage());
+        } finally {
+            captureNanos += System.nanoTime() - start;
+        }
+    }
+
+    private Path flush(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            List<Map<String, Object>> index = new ArrayList<>();
+            for (Snapshot snapshot : snapshots) {
+                String base = String.format("step_%02d", snapshot.number);
+                Files.write(dir.resolve(base + ".html.gz"), snapshot.dom);
+                if (snapshot.mhtml != null) {
+                    Files.write(dir.resolve(base + ".mhtml.gz"), snapshot.mhtml);
+                }
+                index.add(snapshot.toMap(base));
+            }
+            Files.writeString(dir.resolve("index.json"), new Json().toJson(index), StandardCharsets.UTF_8);
+            LOG.info(snapshots.size() + " snapshots guardados en " + dir + " (captura: "
+                    + captureNanos / 1_000_000 + " ms en " + stepNumber + " pasos)");
+            return dir;
+        } catch (IOException e) {
+            LOG.warn("Error al guardar snapshots: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length() / 4);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Estado de la página al terminar un paso, comprimido.
+     */
+    private static final class Snapshot {
+
+        private final int number;
+        private final String step;
+        private final String status;
+        private final String url;
+        private final String title;
+        private final long capturedAt = System.currentTimeMillis();
+        private byte[] dom;
+        private byte[] mhtml;
+
+        Snapshot(int number, String step, String status, String url, String title) {
+            this.number = number;
+            this.step = step;
+            this.status = status;
+            this.url = url;
+            this.title = title;
+        }
+
+        Map<String, Object> toMap(String base) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("step", number);
+            map.put("text", step);
+            map.put("status", status);
+            map.put("url", url);
+            map.put("title", title);
+            map.put("capturedAt", Instant.ofEpochMilli(capturedAt).toString());
+            map.put("dom", base + ".html.gz");
+            map.put("mhtml", mhtml == null ? null : base + ".mhtml.gz");
+            return map;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.interseguro.soat.runners;
+
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+import static io.cucumber.junit.platform.engine.Constants.*;
+
+/**
+ * Runner de la suite API: ejecuta el mismo feature file sin navegador,
+ * usando el glue HTTP de com.interseguro.soat.api contra el backend o el stub local.
+ *
+ * Ejecución:
+ *   mvn test -Papi                         → Suite API contra api.base.url
+ *   mvn test -Papi -Dapi.stub.enabled=true → Contra el stub local (solo desarrollo local)
+ *
+ * El nombre no sigue el patrón *Test de Surefire, por lo que no se ejecuta
+ * junto a la suite de UI en un "mvn test" normal.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la configuración del runner
+ * alternativo con glue independiente y reportes propios.
+ */
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
+@ConfigurationParameter(
+        key = PLUGIN_PROPERTY_NAME,
+        value = "pretty, html:target/cucumber-reports/api-report.html, json:target/cucumber-reports/api-report.json"
+)
+@ConfigurationParameter(
+        key = GLUE_PROPERTY_NAME,
+        value = "com.interseguro.soat.api"
+)
+@ConfigurationParameter(
+        key = FILTER_TAGS_PROPERTY_NAME,
+        value = "not @ignore and not @ui-only"
+)
+public class ApiTestRunner {
+    // Clase vacía - la configuración se realiza mediante anotaciones
+}
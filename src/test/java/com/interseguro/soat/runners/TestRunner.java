@@ -24,7 +24,10 @@ import static io.cucumber.junit.platform.engine.Constants.*;
 @SelectClasspathResource("features")
 @ConfigurationParameter(
         key = PLUGIN_PROPERTY_NAME,
-        value = "pretty, html:target/cucumber-reports/report.html, json:target/cucumber-reports/report.json"
+        value = "pretty, html:target/cucumber-reports/report.html, json:target/cucumber-reports/report.json, "
+                + "com.interseguro.soat.telemetry.StepTimingPlugin, "
+                + "com.interseguro.soat.telemetry.LiveDashboard, "
+                + "com.interseguro.soat.catalog.CatalogValidationPlugin"
 )
 @ConfigurationParameter(
         key = GLUE_PROPERTY_NAME,
@@ -1,39 +1,111 @@
 package com.interseguro.soat.steps;
 
+import com.interseguro.soat.catalog.CatalogValidationPlugin;
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.replay.StepSnapshotRecorder;
+import com.interseguro.soat.telemetry.LiveDashboard;
+import com.interseguro.soat.telemetry.ParallelismController;
+import com.interseguro.soat.telemetry.ResourceSampler;
+import com.interseguro.soat.utils.BrowserCheckpoint;
+import com.interseguro.soat.utils.BrowserContextPool;
+import com.interseguro.soat.utils.ConfigManager;
 import com.interseguro.soat.utils.DriverFactory;
+import com.interseguro.soat.utils.DropdownStrategyStore;
+import com.interseguro.soat.utils.GridScheduler;
+import com.interseguro.soat.utils.RetryEngine;
+import com.interseguro.soat.utils.ScreencastRecorder;
 import com.interseguro.soat.utils.ScreenshotHelper;
+import com.interseguro.soat.utils.SessionWatchdog;
+import com.interseguro.soat.utils.ThrottlingProfile;
+import com.interseguro.soat.utils.WaitEngine;
+import com.interseguro.soat.visual.VisualRegression;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Hooks de Cucumber para configuración y limpieza de cada escenario.
  * Se ejecutan automáticamente antes y después de cada escenario.
  *
  * Funcionalidades:
- * - Inicialización del WebDriver antes de cada escenario
+ * - Apertura del {@link ScenarioContainer} del escenario e inicialización del WebDriver
  * - Captura de screenshot embebido en el reporte Cucumber (pass y fail)
- * - Cierre del navegador después de cada escenario
+ * - Liberación del contenedor (y cierre del navegador) después de cada escenario
+ * - Muestreo de recursos por escenario y control adaptativo de paralelismo
+ * - Screencast de los últimos segundos del escenario (guardado solo si falla)
+ * - Snapshots DOM/MHTML por paso para el replay del fallo (guardados solo si falla)
+ * - Verificación de la regresión visual del Resumen de compra
  *
  * [IA - GitHub Copilot]: Se utilizó IA para implementar los hooks
  * de setup/teardown y la captura automática de screenshots en caso de fallo.
  */
 public class Hooks {
 
+    private static final Log LOG = Log.get("Hooks");
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private boolean slotReserved;
+
+    /**
+     * Se ejecuta ANTES que cualquier otro hook del escenario.
+     * Falla de inmediato si la marca/modelo de los Examples no existe en el catálogo
+     * o si su tag @profile- no es un perfil de throttling, sin reservar recursos ni
+     * abrir el navegador.
+     *
+     * @param scenario Información del escenario a ejecutar
+     */
+    @Before(order = 0)
+    public void validateExamples(Scenario scenario) {
+        String invalidReason = CatalogValidationPlugin.takeInvalidReason(scenario.getId());
+        if (invalidReason != null) {
+            throw new IllegalArgumentException("[Catalog] Datos de prueba inválidos: " + invalidReason);
+        }
+        String invalidProfile = ThrottlingProfile.takeInvalidReason(scenario.getId());
+        if (invalidProfile != null) {
+            throw new IllegalArgumentException("[Throttling] Escenario inválido: " + invalidProfile);
+        }
+    }
+
+    /**
+     * Se ejecuta antes de abrir el navegador.
+     * Reserva un slot de ejecución (paralelismo adaptativo) y abre la ventana
+     * de muestreo de recursos del escenario.
+     *
+     * @param scenario Información del escenario a ejecutar
+     */
+    @Before(order = 1)
+    public void reserveResources(Scenario scenario) throws InterruptedException {
+        if (config.isAdaptiveParallelismEnabled()) {
+            ParallelismController.getInstance().acquire();
+            slotReserved = true;
+        }
+        if (config.isSamplerEnabled()) {
+            ResourceSampler.getInstance().startWindow(scenario.getId());
+        }
+    }
+
     /**
      * Se ejecuta ANTES de cada escenario.
-     * Inicializa el WebDriver.
+     * Abre el contenedor del escenario e inicializa el WebDriver a través de él.
      */
     @Before
     public void setUp(Scenario scenario) {
-        System.out.println("========================================");
-        System.out.println("[Setup] Escenario: " + scenario.getName());
-        System.out.println("[Setup] Inicializando navegador Chrome...");
-        System.out.println("========================================");
-        DriverFactory.getDriver();
+        LOG.info("==================== Escenario: " + scenario.getName() + " ====================");
+        LOG.info("Inicializando navegador Chrome...");
+        WaitEngine.startScenario();
+        ScenarioContainer.start(scenario.getName()).driver();
+        ScreencastRecorder.start(DriverFactory.getRawDriver());
+        StepSnapshotRecorder.start();
     }
 
     /**
@@ -45,29 +117,168 @@ public class Hooks {
     @After
     public void tearDown(Scenario scenario) {
         try {
-            WebDriver driver = DriverFactory.getDriver();
+            // Escenarios que fallaron antes de abrir el navegador (ej: Examples inválidos)
+            if (!DriverFactory.hasDriver()) {
+                StepSnapshotRecorder.stop(false, scenario.getName(), scenario.getLine());
+                LOG.info("Resultado: " + scenario.getName() + " → " + scenario.getStatus() + " (sin navegador)");
+                return;
+            }
+            WebDriver driver = ScenarioContainer.current().driver();
+
+            // Últimos segundos del screencast (solo se escriben a disco si falló)
+            Path screencast = ScreencastRecorder.stop(scenario.isFailed(), scenario.getName());
+            if (screencast != null) {
+                scenario.attach(screencast.toAbsolutePath().toString(), "text/plain", "Screencast del fallo");
+            }
+
+            // Snapshots por paso para repetir las validaciones sin el sitio (solo si falló)
+            Path snapshots = StepSnapshotRecorder.stop(scenario.isFailed(), scenario.getName(), scenario.getLine());
+            if (snapshots != null) {
+                scenario.attach(snapshots.toAbsolutePath().toString(), "text/plain", "Snapshots para replay");
+            }
 
             // Embeber screenshot en el reporte Cucumber HTML (visible en report.html)
             byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
             scenario.attach(screenshot, "image/png",
                     scenario.isFailed() ? "FALLO - " + scenario.getName() : "EVIDENCIA - " + scenario.getName());
 
-            // Si falló, guardar también en disco
+            // Si falló, guardar también en disco y mostrarlo en el dashboard en vivo
             if (scenario.isFailed()) {
+                LiveDashboard.publishScreenshot(scenario.getName(), screenshot);
                 String scenarioName = scenario.getName().replaceAll("[^a-zA-Z0-9]", "_");
                 String screenshotPath = ScreenshotHelper.captureFullPage(driver, "FALLO_" + scenarioName);
-                System.out.println("[FALLO] Screenshot guardado en: " + screenshotPath);
+                LOG.error("Screenshot del fallo guardado en: " + screenshotPath);
+            }
+
+            // Tiempos del Selenium Grid: en cola vs. en ejecución
+            GridScheduler.GridSession gridSession = DriverFactory.getGridSession();
+            if (gridSession != null) {
+                String gridTimes = "Grid - en cola: " + gridSession.getQueuedMillis() + " ms"
+                        + " | en ejecución: " + gridSession.getExecutionMillis() + " ms";
+                scenario.attach(gridTimes, "text/plain", "Tiempos Selenium Grid");
+                LOG.info("Grid: " + scenario.getName() + " → " + gridTimes);
+            }
+
+            // Perfil de red/CPU con el que corrió el escenario
+            ThrottlingProfile profile = ThrottlingProfile.current();
+            if (profile != ThrottlingProfile.NONE) {
+                scenario.attach(profile.toString(), "text/plain", "Perfil de throttling");
             }
 
             // Log del resultado
-            System.out.println("========================================");
-            System.out.println("[Resultado] " + scenario.getName() + " → " + scenario.getStatus());
-            System.out.println("========================================");
+            LOG.info("==================== Resultado: " + scenario.getName() + " [" + profile.getLabel() + "] → "
+                    + scenario.getStatus() + " ====================");
         } catch (Exception e) {
-            System.err.println("[Error] No se pudo capturar screenshot: " + e.getMessage());
+            LOG.warn("No se pudo capturar screenshot: " + e.getMessage());
         } finally {
-            System.out.println("[Teardown] Cerrando navegador...");
-            DriverFactory.quitDriver();
+            // Estado por hilo del escenario: se limpia siempre, aunque la captura haya fallado
+            // o no haya navegador, para que no pase al siguiente escenario del worker
+
+            // Telemetría de esperas: tiempo esperando vs. actuando por paso
+            attachIfPresent(scenario, WaitEngine.endScenario(), "Esperas vs. acciones");
+            // Tiempo de prefijo omitido gracias a un checkpoint del navegador
+            attachIfPresent(scenario, BrowserCheckpoint.endScenario(), "Checkpoint del prefijo");
+            // Intentos en dropdowns con el orden aprendido vs. el orden fijo
+            attachIfPresent(scenario, DropdownStrategyStore.endScenario(), "Estrategias de dropdown");
+            // Reintentos del escenario y estado del breaker compartido
+            attachIfPresent(scenario, RetryEngine.endScenario(), "Reintentos");
+
+            LOG.info("Cerrando navegador...");
+            // Libera pages y driver en orden inverso de creación
+            attachIfPresent(scenario, ScenarioContainer.end(), "Contenedor del escenario");
+        }
+    }
+
+    /**
+     * Adjunta un texto al reporte del escenario si no es null.
+     *
+     * @param scenario Escenario actual
+     * @param text     Texto a adjuntar (null = nada que adjuntar)
+     * @param title    Título del adjunto
+     */
+    private static void attachIfPresent(Scenario scenario, String text, String title) {
+        if (text != null) {
+            scenario.attach(text, "text/plain", title);
+        }
+    }
+
+    /**
+     * Se ejecuta DESPUÉS de cerrar el navegador.
+     * Recoge las comparaciones visuales del escenario (hechas en segundo plano), adjunta
+     * el resultado y la imagen de diff, y falla el escenario si la captura no coincide
+     * con el baseline o no se pudo comparar (visual.fail.on.mismatch).
+     *
+     * @param scenario Información del escenario ejecutado
+     */
+    @After(order = 1)
+    public void verifyVisual(Scenario scenario) throws IOException {
+        List<String> mismatches = new ArrayList<>();
+        for (VisualRegression.Result result : VisualRegression.endScenario()) {
+            scenario.attach(result.toString(), "text/plain", "Regresión visual");
+            if (result.getDiff() != null) {
+                scenario.attach(Files.readAllBytes(result.getDiff()), "image/png", "Diff visual");
+            }
+            if (result.isFailure()) {
+                mismatches.add(result.toString());
+            }
+        }
+        if (!mismatches.isEmpty() && config.isVisualFailOnMismatch()) {
+            throw new AssertionError("[Visual] El Resumen de compra no coincide con el baseline o no se pudo comparar: "
+                    + String.join("; ", mismatches));
+        }
+    }
+
+    /**
+     * Se ejecuta DESPUÉS de cerrar el navegador (último hook del escenario).
+     * Adjunta el log (si falló) y el consumo de recursos del escenario, y libera su
+     * slot de ejecución.
+     *
+     * @param scenario Información del escenario ejecutado
+     */
+    @After(order = 0)
+    public void releaseResources(Scenario scenario) {
+        // Log correlacionado del escenario (solo si falló)
+        if (scenario.isFailed()) {
+            String scenarioLog = Log.scenarioLog();
+            if (scenarioLog != null) {
+                scenario.attach(scenarioLog, "text/plain", "Log del escenario");
+            }
+        }
+        if (config.isSamplerEnabled()) {
+            String resources = ResourceSampler.getInstance().stopWindow(scenario.getId());
+            if (resources != null) {
+                scenario.attach(resources, "text/plain", "Recursos (JVM, chromedriver, Chrome)");
+            }
+        }
+        if (slotReserved) {
+            ParallelismController.getInstance().release();
+            slotReserved = false;
+        }
+    }
+
+    /**
+     * Se ejecuta UNA VEZ al finalizar todos los escenarios.
+     * Exporta las métricas de reintentos y del breaker y el reporte visual, e imprime
+     * las construcciones del contenedor, las sesiones de navegador filtradas (cerrando
+     * las que sigan abiertas) y el resumen de uso del Selenium Grid o del Chrome
+     * compartido (si aplica).
+     */
+    @AfterAll
+    public static void afterAll() {
+        RetryEngine.exportMetrics();
+        VisualRegression.exportReport();
+        ScenarioContainer.printSummary();
+        SessionWatchdog.getInstance().reapAll("seguía abierta al terminar la suite");
+        SessionWatchdog.getInstance().printSummary();
+        if (DriverFactory.isGridMode()) {
+            GridScheduler.getInstance().printSummary();
+        }
+        if (ConfigManager.getInstance().isAdaptiveParallelismEnabled()) {
+            Log.get("Parallelism").info(ParallelismController.getInstance().summary());
+        }
+        if (DriverFactory.isContextsMode()) {
+            BrowserContextPool.getInstance().printSummary();
+            BrowserContextPool.getInstance().shutdown();
         }
     }
 }
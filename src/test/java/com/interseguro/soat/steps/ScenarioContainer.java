@@ -0,0 +1,272 @@
+package com.interseguro.soat.steps;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.pages.HomePage;
+import com.interseguro.soat.pages.PaymentPage;
+import com.interseguro.soat.pages.PlanSelectionPage;
+import com.interseguro.soat.telemetry.Tracer;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.DriverFactory;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Contenedor de objetos con alcance de escenario para el glue de Cucumber.
+ *
+ * Config, driver y Page Objects se crean de forma perezosa la primera vez que un paso
+ * o hook los pide, una sola vez por escenario (un PageFactory.initElements por página
+ * en lugar de uno por paso), y se comparten entre todas las clases de pasos del hilo.
+ * Al terminar el escenario se liberan en orden inverso de creación (el driver, creado
+ * primero, se cierra al final).
+ *
+ * Instrumentación: cada construcción es un span "ScenarioContainer.create &lt;tipo&gt;" de
+ * {@link Tracer}; cada escenario adjunta sus construcciones y tiempos, y al final de la
+ * suite se imprimen los totales por tipo.
+ *
+ * Uso: ScenarioContainer.current().planSelectionPage()
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el contenedor perezoso por escenario.
+ */
+public final class ScenarioContainer {
+
+    private static final Log LOG = Log.get("Container");
+
+    private static final Map<Class<?>, Provider<?>> PROVIDERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Stats> SUITE_STATS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ScenarioContainer> CURRENT = new ThreadLocal<>();
+
+    static {
+        register(ConfigManager.class, container -> ConfigManager.getInstance(), null);
+        register(WebDriver.class, container -> DriverFactory.getDriver(), driver -> DriverFactory.quitDriver());
+        register(HomePage.class, container -> new HomePage(container.driver()), null);
+        register(PlanSelectionPage.class, container -> new PlanSelectionPage(container.driver()), null);
+        register(PaymentPage.class, container -> new PaymentPage(container.driver()), null);
+    }
+
+    private final String scenarioName;
+    /** Instancias en orden de creación */
+    private final Map<Class<?>, Object> instances = new LinkedHashMap<>();
+    private final Map<Class<?>, Long> constructionNanos = new LinkedHashMap<>();
+    private final Set<Class<?>> creating = new HashSet<>();
+    private boolean disposed;
+
+    private ScenarioContainer(String scenarioName) {
+        this.scenarioName = scenarioName;
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Registra (o reemplaza) cómo se crea y libera un tipo.
+     *
+     * @param type     Tipo que se pide al contenedor
+     * @param factory  Crea la instancia; puede pedir otras dependencias al contenedor
+     * @param disposer Libera la instancia al terminar el escenario, o null si no hace falta
+     */
+    public static <T> void register(Class<T> type, Function<ScenarioContainer, T> factory, Consumer<? super T> disposer) {
+        PROVIDERS.put(type, new Provider<>(factory, disposer));
+    }
+
+    // ==================== CICLO DEL ESCENARIO ====================
+
+    /**
+     * Abre el contenedor del escenario del hilo actual.
+     *
+     * @param scenarioName Nombre del escenario (para los logs)
+     * @return Contenedor vacío
+     */
+    public static ScenarioContainer start(String scenarioName) {
+        ScenarioContainer previous = CURRENT.get();
+        if (previous != null && !previous.disposed) {
+            LOG.warn("El escenario '" + previous.scenarioName + "' no liberó su contenedor; se libera ahora");
+            previous.dispose();
+        }
+        ScenarioContainer container = new ScenarioContainer(scenarioName);
+        CURRENT.set(container);
+        return container;
+    }
+
+    /**
+     * @return Contenedor del escenario del hilo actual
+     * @throws IllegalStateException si no hay escenario en curso
+     */
+    public static ScenarioContainer current() {
+        ScenarioContainer container = CURRENT.get();
+        if (container == null || container.disposed) {
+            throw new IllegalStateException("[Container] No hay un escenario en curso en " + Thread.currentThread().getName());
+        }
+        return container;
+    }
+
+    /**
+     * Libera el contenedor del hilo actual, si lo hay.
+     *
+     * @return Construcciones y tiempos del escenario, o null si no había contenedor o no creó nada
+     */
+    public static String end() {
+        ScenarioContainer container = CURRENT.get();
+        CURRENT.remove();
+        return container == null || container.disposed ? null : container.dispose();
+    }
+
+    // ==================== RESOLUCIÓN ====================
+
+    /**
+     * Devuelve la instancia del escenario, creándola la primera vez.
+     *
+     * @param type Tipo registrado
+     * @return Instancia única del escenario
+     */
+    public <T> T get(Class<T> type) {
+        Object instance = instances.get(type);
+        if (instance != null) {
+            return type.cast(instance);
+        }
+        @SuppressWarnings("unchecked")
+        Provider<T> provider = (Provider<T>) PROVIDERS.get(type);
+        if (provider == null) {
+            throw new IllegalArgumentException("[Container] Tipo no registrado: " + type.getName());
+        }
+        if (!creating.add(type)) {
+            throw new IllegalStateException("[Container] Dependencia circular al crear " + type.getSimpleName());
+        }
+        long start = System.nanoTime();
+        Tracer.begin("ScenarioContainer.create " + type.getSimpleName());
+        try {
+            T created = provider.factory.apply(this);
+            long nanos = System.nanoTime() - start;
+            instances.put(type, created);
+            constructionNanos.put(type, nanos);
+            SUITE_STATS.computeIfAbsent(type, k -> new Stats()).record(nanos);
+            LOG.debug(type.getSimpleName() + " creado en " + formatMillis(nanos));
+            return created;
+        } finally {
+            Tracer.end();
+            creating.remove(type);
+        }
+    }
+
+    public ConfigManager config() {
+        return get(ConfigManager.class);
+    }
+
+    public WebDriver driver() {
+        return get(WebDriver.class);
+    }
+
+    public HomePage homePage() {
+        return get(HomePage.class);
+    }
+
+    public PlanSelectionPage planSelectionPage() {
+        return get(PlanSelectionPage.class);
+    }
+
+    public PaymentPage paymentPage() {
+        return get(PaymentPage.class);
+    }
+
+    // ==================== LIBERACIÓN ====================
+
+    /**
+     * Libera las instancias en orden inverso de creación. Un error al liberar una
+     * instancia no impide liberar las demás.
+     *
+     * @return Construcciones y tiempos del escenario, o null si no creó nada
+     */
+    private String dispose() {
+        disposed = true;
+        if (instances.isEmpty()) {
+            return null;
+        }
+        List<Class<?>> order = new ArrayList<>(instances.keySet());
+        Collections.reverse(order);
+        for (Class<?> type : order) {
+            disposeInstance(type, PROVIDERS.get(type), instances.get(type));
+        }
+        StringBuilder summary = new StringBuilder();
+        constructionNanos.forEach((type, nanos) ->
+                summary.append(type.getSimpleName()).append(": creado en ").append(formatMillis(nanos)).append('\n'));
+        summary.append("Liberados: ").append(order.stream().map(Class::getSimpleName).collect(Collectors.joining(" → ")));
+        instances.clear();
+        return summary.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void disposeInstance(Class<?> type, Provider<T> provider, Object instance) {
+        if (provider == null || provider.disposer == null) {
+            return;
+        }
+        try {
+            provider.disposer.accept((T) instance);
+        } catch (RuntimeException e) {
+            LOG.warn("Error al liberar " + type.getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    /**
+     * Imprime las construcciones y el tiempo total por tipo en toda la suite.
+     */
+    public static void printSummary() {
+        if (SUITE_STATS.isEmpty()) {
+            return;
+        }
+        Map<String, Stats> sorted = new TreeMap<>();
+        SUITE_STATS.forEach((type, stats) -> sorted.put(type.getSimpleName(), stats));
+        LOG.info("Tipo                 construcciones   total ms   media ms");
+        sorted.forEach((name, stats) -> {
+            long count = stats.count.sum();
+            double totalMillis = stats.nanos.sum() / 1_000_000.0;
+            LOG.info(String.format(Locale.ROOT, "%-20s %14d %10.1f %10.1f", name, count, totalMillis,
+                    count == 0 ? 0 : totalMillis / count));
+        });
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Fábrica y liberador de un tipo.
+     */
+    private static final class Provider<T> {
+
+        private final Function<ScenarioContainer, T> factory;
+        private final Consumer<? super T> disposer;
+
+        Provider(Function<ScenarioContainer, T> factory, Consumer<? super T> disposer) {
+            this.factory = factory;
+            this.disposer = disposer;
+        }
+    }
+
+    /**
+     * Construcciones de un tipo en la suite.
+     */
+    private static final class Stats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(long elapsedNanos) {
+            count.increment();
+            nanos.add(elapsedNanos);
+        }
+    }
+}
@@ -1,44 +1,59 @@
 package com.interseguro.soat.steps;
 
+import com.interseguro.soat.logging.Log;
 import com.interseguro.soat.pages.HomePage;
 import com.interseguro.soat.pages.PaymentPage;
 import com.interseguro.soat.pages.PlanSelectionPage;
-import com.interseguro.soat.utils.DriverFactory;
+import com.interseguro.soat.utils.BrowserCheckpoint;
+import com.interseguro.soat.visual.VisualRegression;
 import io.cucumber.java.es.Cuando;
 import io.cucumber.java.es.Dado;
 import io.cucumber.java.es.Entonces;
 import io.cucumber.java.es.Y;
-import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Step Definitions para los escenarios de cotización SOAT Digital.
  * Implementa los pasos definidos en el feature file soat_cotizacion.feature.
+ * Driver y Page Objects se obtienen del {@link ScenarioContainer} del escenario
+ * (creados una sola vez y compartidos con los hooks).
  *
  * [IA - GitHub Copilot]: Se utilizó IA para la generación de step definitions,
  * la parametrización con Cucumber Expressions y las validaciones con JUnit 5 Assertions.
  */
 public class SoatSteps {
 
-    private WebDriver driver;
-    private HomePage homePage;
-    private PlanSelectionPage planSelectionPage;
-    private PaymentPage paymentPage;
+    private static final Log LOG = Log.get("Steps");
+
+    private String placa;
+    private long prefixStart;
+    private boolean planesLoaded;
 
     // ==================== ANTECEDENTES (Background) ====================
 
     @Dado("que el usuario ingresa a la página de SOAT Digital")
     public void elUsuarioIngresaALaPaginaDeSOATDigital() {
-        driver = DriverFactory.getDriver();
-        homePage = new HomePage(driver);
-        homePage.navigateTo();
+        container().homePage().navigateTo();
     }
 
     // ==================== ACCIONES (When/And) ====================
 
     @Cuando("ingresa la placa {string} y hace clic en Cotizar Ahora")
     public void ingresaLaPlacaYHaceClicEnCotizarAhora(String placa) {
+        this.placa = placa;
+        // Con un checkpoint del prefijo para esta placa se salta la cotización por UI
+        Duration validationTimeout = Duration.ofSeconds(container().config().getCheckpointValidationTimeout());
+        if (BrowserCheckpoint.restore(container().driver(), placa,
+                () -> container().planSelectionPage().isLoaded(validationTimeout),
+                () -> container().planSelectionPage().getVehicleData())) {
+            planesLoaded = true;
+            return;
+        }
+        prefixStart = System.nanoTime();
+        HomePage homePage = container().homePage();
         homePage.enterPlaca(placa);
         homePage.clickCotizarAhora();
     }
@@ -46,8 +61,7 @@ public class SoatSteps {
     @Y("edita los datos del vehículo seleccionando marca {string} y modelo {string}")
     public void editaLosDatosDelVehiculoSeleccionandoMarcaYModelo(String marca, String modelo) {
         // Esperar a que la página de planes cargue tras la cotización
-        planSelectionPage = new PlanSelectionPage(driver);
-        planSelectionPage.waitForPageLoad();
+        PlanSelectionPage planSelectionPage = planSelectionPage();
 
         // Abrir modal de edición y alternar marca/modelo (Pantalla 1)
         planSelectionPage.clickEditar();
@@ -57,23 +71,20 @@ public class SoatSteps {
 
     @Y("guarda los cambios del vehículo")
     public void guardaLosCambiosDelVehiculo() {
-        planSelectionPage.clickGuardarCambios();
+        container().planSelectionPage().clickGuardarCambios();
     }
 
     @Y("selecciona el plan de seguro más económico")
     public void seleccionaElPlanDeSeguroMasEconomico() {
-        // Si venimos del escenario sin editar, crear la page y esperar carga
-        if (planSelectionPage == null) {
-            planSelectionPage = new PlanSelectionPage(driver);
-            planSelectionPage.waitForPageLoad();
-        }
+        // Si venimos del escenario sin editar, esperar la carga de la página de planes
         // Seleccionar SOAT Básico (Pantalla 2: el más económico)
-        planSelectionPage.selectPlanMasEconomico();
+        planSelectionPage().selectPlanMasEconomico();
     }
 
     @Y("continúa con la compra")
     public void continuaConLaCompra() {
         // Gestionar la sección de renovación automática
+        PlanSelectionPage planSelectionPage = container().planSelectionPage();
         planSelectionPage.handleRenewalPopup();
         // Clic en "CONTINUAR CON S/XX"
         planSelectionPage.clickContinuar();
@@ -84,7 +95,7 @@ public class SoatSteps {
     @Entonces("se muestra la sección Resumen de tu Compra y se captura la imagen")
     public void seMuestraLaSeccionResumenDeTuCompraYSeCapturaLaImagen() {
         // Esperar a que la página de pago cargue (Paso 2/2)
-        paymentPage = new PaymentPage(driver);
+        PaymentPage paymentPage = container().paymentPage();
         paymentPage.waitForPageLoad();
 
         // Verificar que el resumen de compra es visible (Pantalla 3)
@@ -96,15 +107,17 @@ public class SoatSteps {
         assertNotNull(screenshotPath,
                 "No se pudo capturar el screenshot del resumen de compra");
 
-        System.out.println("================================================");
-        System.out.println("[EVIDENCIA] Screenshot del Resumen de Compra:");
-        System.out.println("  Ruta: " + screenshotPath);
-        System.out.println("================================================");
+        LOG.info("Evidencia: Screenshot del Resumen de Compra:");
+        LOG.info("  Ruta: " + screenshotPath);
+
+        // Comparación con el baseline de la fila en segundo plano (se verifica al cerrar el escenario)
+        VisualRegression.submit(screenshotPath);
     }
 
     @Entonces("se muestra un mensaje de error de placa inválida")
     public void seMuestraUnMensajeDeErrorDePlacaInvalida() {
         // Verificar que aparece el mensaje de error de placa inválida
+        HomePage homePage = container().homePage();
         assertTrue(homePage.isErrorPlacaDisplayed(),
                 "No se mostró el mensaje de error de placa inválida");
 
@@ -113,15 +126,38 @@ public class SoatSteps {
                 "El sistema redirigió a otra página a pesar de la placa inválida");
 
         String errorMsg = homePage.getErrorMessage();
-        System.out.println("[Validación] Mensaje de error mostrado: " + errorMsg);
+        LOG.info("Validación: Mensaje de error mostrado: " + errorMsg);
     }
 
     @Entonces("el sistema no permite avanzar y muestra error de validación")
     public void elSistemaNoPermiteAvanzarYMuestraErrorDeValidacion() {
         // Verificar que permanecemos en la página de inicio
-        assertTrue(homePage.isStillOnHomePage(),
+        assertTrue(container().homePage().isStillOnHomePage(),
                 "El sistema no debería permitir avanzar con datos inválidos o vacíos");
 
-        System.out.println("[Validación] El sistema bloqueó correctamente el avance con datos inválidos");
+        LOG.info("Validación: El sistema bloqueó correctamente el avance con datos inválidos");
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private ScenarioContainer container() {
+        return ScenarioContainer.current();
+    }
+
+    /**
+     * Devuelve la página de planes, esperando su carga la primera vez. Si se llegó por UI,
+     * guarda el estado del navegador como checkpoint del prefijo de la placa.
+     */
+    private PlanSelectionPage planSelectionPage() {
+        PlanSelectionPage planSelectionPage = container().planSelectionPage();
+        if (!planesLoaded) {
+            planSelectionPage.waitForPageLoad();
+            planesLoaded = true;
+            if (prefixStart > 0) {
+                BrowserCheckpoint.capture(container().driver(), placa, (System.nanoTime() - prefixStart) / 1_000_000,
+                        planSelectionPage::getVehicleData);
+            }
+        }
+        return planSelectionPage;
     }
 }
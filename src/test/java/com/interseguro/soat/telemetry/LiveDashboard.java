@@ -0,0 +1,391 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard en vivo de la ejecución servido desde la JVM de pruebas (Server-Sent Events).
+ *
+ * Publica inicio/fin de escenarios, duración de cada paso, utilización de los workers
+ * (escenario y paso actual, tiempo en el paso) y screenshots de fallos mientras la
+ * suite corre, para detectar un worker colgado o una racha de fallos sin esperar al reporte.
+ *
+ * Diseño para no frenar los hilos de escenario y acotar la memoria:
+ *   - los hilos de escenario solo hacen offer() a una cola acotada; si está llena el
+ *     evento se descarta y se cuenta (nunca bloquean)
+ *   - un único hilo despachador serializa a JSON, guarda los últimos eventos para los
+ *     clientes que se conectan tarde y reparte a la cola acotada de cada cliente
+ *   - los screenshots se sirven por URL (/screenshots/{id}) y solo se guardan los últimos
+ *   - número máximo de clientes conectados
+ *
+ * Se registra en el runner: plugin = "com.interseguro.soat.telemetry.LiveDashboard"
+ * y se activa con dashboard.enabled=true (URL en dashboard.port).
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el servidor SSE con colas acotadas
+ * y la página del dashboard.
+ */
+public class LiveDashboard implements ConcurrentEventListener {
+
+    private static final Log LOG = Log.get("Dashboard");
+
+    private static final Json JSON = new Json();
+    private static final int EVENT_QUEUE_CAPACITY = 4096;
+    private static final int HISTORY_SIZE = 500;
+    private static final int CLIENT_QUEUE_CAPACITY = 1000;
+    private static final int MAX_CLIENTS = 16;
+    private static final int MAX_SCREENSHOTS = 10;
+    private static final long WORKERS_INTERVAL_MS = 1000;
+    private static final long KEEPALIVE_SECONDS = 15;
+
+    private static volatile LiveDashboard active;
+
+    private final BlockingQueue<Map<String, Object>> events = new ArrayBlockingQueue<>(EVENT_QUEUE_CAPACITY);
+    private final Deque<String> history = new ArrayDeque<>();
+    private final List<BlockingQueue<String>> clients = new CopyOnWriteArrayList<>();
+    private final Map<String, Worker> workers = new ConcurrentHashMap<>();
+    private final Map<Integer, byte[]> screenshots = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+            return size() > MAX_SCREENSHOTS;
+        }
+    });
+    private final AtomicInteger screenshotIds = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger passed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile String lastWorkers;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!ConfigManager.getInstance().isDashboardEnabled()) {
+            return;
+        }
+        try {
+            ConfigManager config = ConfigManager.getInstance();
+            start(config.getDashboardBindAddress(), config.getDashboardPort());
+        } catch (IOException e) {
+            LOG.warn("No se pudo iniciar el servidor: " + e.getMessage());
+            return;
+        }
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, e -> publish(event("runFinished")));
+    }
+
+    /**
+     * Publica el screenshot de un escenario fallido (no-op si el dashboard está inactivo).
+     *
+     * @param scenarioName Nombre del escenario
+     * @param png          Imagen PNG
+     */
+    public static void publishScreenshot(String scenarioName, byte[] png) {
+        LiveDashboard dashboard = active;
+        if (dashboard != null) {
+            int id = dashboard.screenshotIds.incrementAndGet();
+            dashboard.screenshots.put(id, png);
+            Map<String, Object> event = dashboard.event("screenshot");
+            event.put("scenario", scenarioName);
+            event.put("url", "/screenshots/" + id);
+            dashboard.publish(event);
+        }
+    }
+
+    // ==================== EVENTOS (hilos de escenario) ====================
+
+    private void onScenarioStarted(TestCaseStarted e) {
+        Worker worker = worker();
+        worker.scenario = e.getTestCase().getName();
+        worker.scenarioStart = System.nanoTime();
+        Map<String, Object> event = event("scenarioStarted");
+        event.put("scenario", worker.scenario);
+        publish(event);
+    }
+
+    private void onStepStarted(TestStepStarted e) {
+        if (e.getTestStep() instanceof PickleStepTestStep) {
+            Worker worker = worker();
+            worker.step = ((PickleStepTestStep) e.getTestStep()).getStep().getText();
+            worker.stepStart = System.nanoTime();
+        }
+    }
+
+    private void onStepFinished(TestStepFinished e) {
+        if (e.getTestStep() instanceof PickleStepTestStep) {
+            Map<String, Object> event = event("stepFinished");
+            event.put("step", ((PickleStepTestStep) e.getTestStep()).getStep().getText());
+            event.put("status", e.getResult().getStatus().name());
+            event.put("ms", e.getResult().getDuration().toMillis());
+            worker().step = null;
+            publish(event);
+        }
+    }
+
+    private void onScenarioFinished(TestCaseFinished e) {
+        Worker worker = worker();
+        worker.busyNanos += System.nanoTime() - worker.scenarioStart;
+        worker.scenario = null;
+        worker.step = null;
+        worker.completed++;
+        boolean ok = e.getResult().getStatus().isOk();
+        (ok ? passed : failed).incrementAndGet();
+        Map<String, Object> event = event("scenarioFinished");
+        event.put("scenario", e.getTestCase().getName());
+        event.put("status", e.getResult().getStatus().name());
+        event.put("ms", e.getResult().getDuration().toMillis());
+        publish(event);
+    }
+
+    private Worker worker() {
+        return workers.computeIfAbsent(Thread.currentThread().getName(), name -> new Worker());
+    }
+
+    private Map<String, Object> event(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("worker", Thread.currentThread().getName());
+        event.put("time", System.currentTimeMillis());
+        return event;
+    }
+
+    /** Nunca bloquea: si la cola está llena el evento se descarta */
+    private void publish(Map<String, Object> event) {
+        if (!events.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // ==================== DESPACHADOR ====================
+
+    private void start(String bindAddress, int port) throws IOException {
+        // Por defecto solo loopback: los screenshots de fallos no deben quedar visibles en la red
+        InetAddress address = bindAddress.isEmpty()
+                ? InetAddress.getLoopbackAddress()
+                : InetAddress.getByName(bindAddress);
+        HttpServer server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "dashboard-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/events", this::handleEvents);
+        server.createContext("/screenshots/", this::handleScreenshot);
+        server.createContext("/", this::handlePage);
+        server.start();
+
+        Thread dispatcher = new Thread(this::dispatchLoop, "dashboard-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        active = this;
+        if (address.isLoopbackAddress()) {
+            LOG.info("Ejecución en vivo: http://localhost:" + server.getAddress().getPort() + "/");
+        } else {
+            LOG.warn("Ejecución en vivo expuesta en " + address.getHostAddress() + ":"
+                    + server.getAddress().getPort() + " (dashboard.bind.address)");
+        }
+    }
+
+    private void dispatchLoop() {
+        long lastWorkersNanos = 0;
+        while (true) {
+            try {
+                Map<String, Object> event = events.poll(WORKERS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    broadcast(String.valueOf(event.get("type")), event, true);
+                }
+                long now = System.nanoTime();
+                if (now - lastWorkersNanos >= WORKERS_INTERVAL_MS * 1_000_000L) {
+                    lastWorkersNanos = now;
+                    broadcast("workers", workersSnapshot(now), false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warn("Error al despachar evento: " + e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Object> workersSnapshot(long now) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        workers.forEach((name, worker) -> {
+            String scenario = worker.scenario;
+            String step = worker.step;
+            long busy = worker.busyNanos + (scenario != null ? now - worker.scenarioStart : 0);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("worker", name);
+            row.put("scenario", scenario);
+            row.put("step", step);
+            row.put("stepMs", step != null ? (now - worker.stepStart) / 1_000_000 : 0);
+            row.put("completed", worker.completed);
+            row.put("utilisationPct", Math.round(100.0 * busy / Math.max(1, now - worker.firstSeen)));
+            rows.add(row);
+        });
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("type", "workers");
+        snapshot.put("workers", rows);
+        snapshot.put("passed", passed.get());
+        snapshot.put("failed", failed.get());
+        snapshot.put("dropped", dropped.get());
+        return snapshot;
+    }
+
+    private void broadcast(String type, Map<String, Object> event, boolean keepInHistory) {
+        String message = "event: " + type + "\ndata: " + JSON.toJson(event).replace("\n", "").replace("\r", "") + "\n\n";
+        synchronized (history) {
+            if (keepInHistory) {
+                history.addLast(message);
+                if (history.size() > HISTORY_SIZE) {
+                    history.removeFirst();
+                }
+            } else {
+                lastWorkers = message;
+            }
+            for (BlockingQueue<String> client : clients) {
+                // Un cliente lento pierde mensajes en lugar de frenar a los demás
+                client.offer(message);
+            }
+        }
+    }
+
+    // ==================== HTTP ====================
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        if (clients.size() >= MAX_CLIENTS) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        BlockingQueue<String> queue = new ArrayBlockingQueue<>(CLIENT_QUEUE_CAPACITY);
+        synchronized (history) {
+            history.forEach(queue::offer);
+            if (lastWorkers != null) {
+                queue.offer(lastWorkers);
+            }
+            clients.add(queue);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            while (true) {
+                String message = queue.poll(KEEPALIVE_SECONDS, TimeUnit.SECONDS);
+                out.write((message != null ? message : ": keepalive\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // El navegador cerró la conexión
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.remove(queue);
+        }
+    }
+
+    private void handleScreenshot(HttpExchange exchange) throws IOException {
+        byte[] png = null;
+        try {
+            png = screenshots.get(Integer.parseInt(exchange.getRequestURI().getPath().replace("/screenshots/", "")));
+        } catch (NumberFormatException ignored) {
+            // id inválido → 404
+        }
+        if (png == null) {
+            exchange.sendResponseHeaders(404, -1);
+        } else {
+            exchange.getResponseHeaders().add("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, png.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(png);
+            }
+        }
+        exchange.close();
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        byte[] page = PAGE.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, page.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(page);
+        }
+    }
+
+    /**
+     * Estado de un worker; lo escribe solo su hilo de escenario y lo lee el despachador.
+     */
+    private static final class Worker {
+        private final long firstSeen = System.nanoTime();
+        private volatile String scenario;
+        private volatile String step;
+        private volatile long scenarioStart;
+        private volatile long stepStart;
+        private volatile long busyNanos;
+        private volatile int completed;
+    }
+
+    private static final String PAGE = "<!DOCTYPE html><html lang='es'><head><meta charset='utf-8'>"
+            + "<title>SOAT Digital - Ejecución en vivo</title><style>"
+            + "body{font-family:sans-serif;margin:1.5em}table{border-collapse:collapse;width:100%}"
+            + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:left}.FAILED{color:#c00}.PASSED{color:#080}"
+            + ".slow{background:#fee}#log{height:320px;overflow:auto;font-family:monospace;font-size:12px}"
+            + "img{max-width:320px;margin:4px;border:1px solid #c00}</style></head><body>"
+            + "<h2>SOAT Digital - Ejecución en vivo</h2>"
+            + "<p>Pasados: <b id='passed'>0</b> | Fallidos: <b id='failed'>0</b> | Eventos descartados: <span id='dropped'>0</span></p>"
+            + "<table><thead><tr><th>Worker</th><th>Escenario</th><th>Paso actual</th><th>En el paso</th>"
+            + "<th>Completados</th><th>Utilización</th></tr></thead><tbody id='workers'></tbody></table>"
+            + "<h3>Fallos</h3><div id='shots'></div><h3>Eventos</h3><div id='log'></div><script>"
+            + "var es=new EventSource('/events');function esc(s){return s==null?'':String(s).replace(/[&<>]/g,"
+            + "function(c){return{'&':'&amp;','<':'&lt;','>':'&gt;'}[c];});}"
+            + "function log(d,t){var l=document.getElementById('log');var r=document.createElement('div');"
+            + "r.className=d.status||'';r.textContent=new Date(d.time).toLocaleTimeString()+' ['+d.worker+'] '+t;"
+            + "l.prepend(r);while(l.childNodes.length>500){l.removeChild(l.lastChild);}}"
+            + "es.addEventListener('scenarioStarted',function(e){var d=JSON.parse(e.data);log(d,'▶ '+d.scenario);});"
+            + "es.addEventListener('stepFinished',function(e){var d=JSON.parse(e.data);log(d,'  '+d.status+' '+d.ms+' ms '+d.step);});"
+            + "es.addEventListener('scenarioFinished',function(e){var d=JSON.parse(e.data);log(d,'■ '+d.status+' '+d.ms+' ms '+d.scenario);});"
+            + "es.addEventListener('runFinished',function(e){log(JSON.parse(e.data),'Ejecución terminada');});"
+            + "es.addEventListener('screenshot',function(e){var d=JSON.parse(e.data);var i=document.createElement('img');"
+            + "i.src=d.url;i.title=d.scenario;document.getElementById('shots').prepend(i);});"
+            + "es.addEventListener('workers',function(e){var d=JSON.parse(e.data);"
+            + "['passed','failed','dropped'].forEach(function(k){document.getElementById(k).textContent=d[k];});"
+            + "document.getElementById('workers').innerHTML=d.workers.map(function(w){"
+            + "return '<tr class=\"'+(w.stepMs>60000?'slow':'')+'\"><td>'+esc(w.worker)+'</td><td>'+esc(w.scenario)"
+            + "+'</td><td>'+esc(w.step)+'</td><td>'+(w.step?Math.round(w.stepMs/1000)+' s':'')+'</td><td>'"
+            + "+w.completed+'</td><td>'+w.utilisationPct+'%</td></tr>';}).join('');});"
+            + "</script></body></html>";
+}
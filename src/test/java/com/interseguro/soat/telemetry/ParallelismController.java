@@ -0,0 +1,151 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+
+import java.util.Locale;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controlador adaptativo del número de escenarios concurrentes.
+ * Funciona como un semáforo con límite ajustable: cada escenario reserva un
+ * slot antes de abrir el navegador y lo libera al cerrarlo. Con cada muestra
+ * del {@link ResourceSampler} el límite:
+ *   - baja en 1 si la CPU o la memoria del sistema superan su techo configurado
+ *   - sube en 1 si ambas están holgadas (&lt; 75% del techo) y hay escenarios esperando
+ * respetando parallelism.min / parallelism.max y un intervalo mínimo entre ajustes.
+ *
+ * Cucumber debe ejecutarse con parallelism.max hilos; el controlador decide
+ * cuántos de ellos abren navegador a la vez.
+ *
+ * Patrón: Singleton
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar el lazo de control
+ * con histéresis sobre los techos de CPU y memoria.
+ */
+public final class ParallelismController {
+
+    private static final Log LOG = Log.get("Parallelism");
+
+    private static final double RAISE_THRESHOLD = 0.75;
+    private static ParallelismController instance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final int min;
+    private final int max;
+    private final double cpuCeiling;
+    private final double memoryCeiling;
+    private final long adjustIntervalNanos;
+
+    private int limit;
+    private int active;
+    private int waiting;
+    private int peakActive;
+    private long lastAdjustNanos = System.nanoTime();
+
+    private ParallelismController(ConfigManager config) {
+        this.min = Math.max(1, config.getParallelismMin());
+        this.max = Math.max(min, config.getParallelismMax());
+        this.limit = Math.min(max, Math.max(min, config.getParallelismInitial()));
+        this.cpuCeiling = config.getParallelismCpuCeilingPct();
+        this.memoryCeiling = config.getParallelismMemoryCeilingPct();
+        this.adjustIntervalNanos = config.getParallelismAdjustIntervalMs() * 1_000_000L;
+    }
+
+    /**
+     * Obtiene la instancia única del controlador y lo suscribe al sampler.
+     *
+     * @return Instancia del ParallelismController
+     */
+    public static synchronized ParallelismController getInstance() {
+        if (instance == null) {
+            instance = new ParallelismController(ConfigManager.getInstance());
+            ResourceSampler.getInstance().addListener(instance::onSample);
+            LOG.info("Control adaptativo activo: límite inicial " + instance.limit
+                    + " (min " + instance.min + ", max " + instance.max + ")");
+        }
+        return instance;
+    }
+
+    // ==================== SLOTS ====================
+
+    /**
+     * Reserva un slot de ejecución, bloqueando mientras se alcance el límite actual.
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (active >= limit) {
+                    slotFreed.await();
+                }
+            } finally {
+                waiting--;
+            }
+            active++;
+            peakActive = Math.max(peakActive, active);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera un slot de ejecución.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            active = Math.max(0, active - 1);
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== LAZO DE CONTROL ====================
+
+    private void onSample(ResourceSampler.Sample sample) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - lastAdjustNanos < adjustIntervalNanos) {
+                return;
+            }
+            double cpu = sample.getSystemCpuPct();
+            double memory = sample.getSystemMemoryPct();
+            int previous = limit;
+
+            if ((cpu > cpuCeiling || memory > memoryCeiling) && limit > min) {
+                limit--;
+            } else if (cpu < cpuCeiling * RAISE_THRESHOLD && memory < memoryCeiling * RAISE_THRESHOLD
+                    && waiting > 0 && limit < max) {
+                limit++;
+                slotFreed.signalAll();
+            }
+
+            if (limit != previous) {
+                lastAdjustNanos = now;
+                LOG.info(String.format(Locale.ROOT,
+                        "Límite %d → %d (CPU %.0f%%, memoria %.0f%%, activos %d, en espera %d)",
+                        previous, limit, cpu, memory, active, waiting));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Resumen del controlador: límite final y pico de escenarios concurrentes
+     */
+    public String summary() {
+        lock.lock();
+        try {
+            return "Límite final: " + limit + " | Pico de escenarios concurrentes: " + peakActive;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
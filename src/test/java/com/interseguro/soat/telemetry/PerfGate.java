@@ -0,0 +1,307 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.utils.ConfigManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CLI sobre el historial de {@link PerfHistory}: tendencias y gate de regresión.
+ *
+ * Modos (primer argumento):
+ *   - trend: mediana y p90 por ejecución de cada métrica de perf.gate.metrics
+ *   - metrics: lista los nombres de métricas disponibles en el historial
+ *   - profiles: compara, dentro de la última ejecución, cada métrica entre los perfiles
+ *     de throttling usados ({@link com.interseguro.soat.utils.ThrottlingProfile})
+ *   - gate (por defecto): compara la última ejecución contra las perf.baseline.runs
+ *     ejecuciones anteriores del mismo entorno con la prueba U de Mann-Whitney
+ *     (unilateral, aproximación normal con corrección por empates). Falla si una
+ *     métrica empeora más de perf.gate.threshold.pct en la mediana con p &lt; perf.gate.alpha.
+ *     Cada perfil de throttling se compara solo contra su propia línea base. Solo cuentan
+ *     los escenarios PASSED: los fallidos (breaker abierto, timeouts, reintentos) medirían
+ *     el fallo y no el rendimiento.
+ *
+ * Una métrica es un nombre de span (ej: PlanSelectionPage.selectFromDropdown) o
+ * "scenario" para la duración total; cada escenario aporta una muestra con la
+ * duración media por llamada.
+ *
+ * Uso:
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.telemetry.PerfGate -Dexec.args=gate
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.telemetry.PerfGate -Dexec.args=trend
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.telemetry.PerfGate -Dexec.args=profiles
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar la prueba de
+ * Mann-Whitney y la línea base móvil.
+ */
+public final class PerfGate {
+
+    private static final String SCENARIO_METRIC = "scenario";
+    private static final String DEFAULT_PROFILE = "none";
+
+    private PerfGate() {
+        // Constructor privado - clase utilitaria
+    }
+
+    public static void main(String[] args) throws IOException {
+        ConfigManager config = ConfigManager.getInstance();
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (Map<String, Object> record : PerfHistory.readAll()) {
+            if (config.getBaseUrl().equals(record.get("env"))) {
+                records.add(record);
+            }
+        }
+        if (records.isEmpty()) {
+            System.out.println("[Perf] Sin historial para " + config.getBaseUrl() + " en " + PerfHistory.file());
+            return;
+        }
+        List<String> metrics = Arrays.asList(config.getPerfGateMetrics().split("\\s*,\\s*"));
+        if (args.length > 0 && "trend".equalsIgnoreCase(args[0])) {
+            printTrend(records, metrics);
+        } else if (args.length > 0 && "metrics".equalsIgnoreCase(args[0])) {
+            metricNames(records).forEach(name -> System.out.println("  " + name));
+        } else if (args.length > 0 && "profiles".equalsIgnoreCase(args[0])) {
+            printProfiles(records, metrics);
+        } else {
+            gate(records, metrics, config);
+        }
+    }
+
+    // ==================== TENDENCIAS ====================
+
+    private static void printTrend(List<Map<String, Object>> records, List<String> metrics) {
+        groupByProfile(records).forEach((profile, profileRecords) -> {
+            System.out.println("[Perf] Perfil de throttling: " + profile);
+            printTrend(groupByRun(profileRecords), metrics);
+        });
+    }
+
+    private static void printTrend(Map<String, List<Map<String, Object>>> byRun, List<String> metrics) {
+        for (String metric : metrics) {
+            System.out.println("[Perf] Tendencia de " + metric);
+            System.out.println(String.format(Locale.ROOT, "  %-38s %-10s %5s %10s %10s", "Ejecución", "Commit", "n", "p50 ms", "p90 ms"));
+            byRun.forEach((run, runRecords) -> {
+                double[] samples = samples(runRecords, metric);
+                if (samples.length > 0) {
+                    System.out.println(String.format(Locale.ROOT, "  %-38s %-10s %5d %10.0f %10.0f",
+                            run, shortCommit(runRecords.get(0)), samples.length,
+                            percentile(samples, 50), percentile(samples, 90)));
+                }
+            });
+        }
+    }
+
+    // ==================== COMPARACIÓN ENTRE PERFILES ====================
+
+    private static void printProfiles(List<Map<String, Object>> records, List<String> metrics) {
+        Map<String, List<Map<String, Object>>> byRun = groupByRun(records);
+        String currentRun = new ArrayList<>(byRun.keySet()).get(byRun.size() - 1);
+        Map<String, List<Map<String, Object>>> byProfile = groupByProfile(byRun.get(currentRun));
+        System.out.println("[Perf] Latencia por perfil en la ejecución " + currentRun);
+        for (String metric : metrics) {
+            double[] reference = byProfile.containsKey(DEFAULT_PROFILE) ? samples(byProfile.get(DEFAULT_PROFILE), metric) : new double[0];
+            double referenceMedian = reference.length > 0 ? percentile(reference, 50) : 0;
+            System.out.println("[Perf] " + metric);
+            System.out.println(String.format(Locale.ROOT, "  %-10s %5s %10s %10s %10s", "Perfil", "n", "p50 ms", "p90 ms", "vs none"));
+            byProfile.forEach((profile, profileRecords) -> {
+                double[] samples = samples(profileRecords, metric);
+                if (samples.length > 0) {
+                    double median = percentile(samples, 50);
+                    System.out.println(String.format(Locale.ROOT, "  %-10s %5d %10.0f %10.0f %10s",
+                            profile, samples.length, median, percentile(samples, 90),
+                            referenceMedian > 0 ? String.format(Locale.ROOT, "x%.2f", median / referenceMedian) : "-"));
+                }
+            });
+        }
+    }
+
+    // ==================== GATE ====================
+
+    private static void gate(List<Map<String, Object>> records, List<String> metrics, ConfigManager config) {
+        List<String> runs = new ArrayList<>(groupByRun(records).keySet());
+        String currentRun = runs.get(runs.size() - 1);
+        List<Map<String, Object>> passed = new ArrayList<>();
+        for (Map<String, Object> record : records) {
+            if ("PASSED".equals(record.get("status"))) {
+                passed.add(record);
+            }
+        }
+        if (passed.size() < records.size()) {
+            System.out.println("[Perf] Se excluyen " + (records.size() - passed.size()) + " escenarios no PASSED del gate");
+        }
+        List<String> regressions = new ArrayList<>();
+        groupByProfile(passed).forEach((profile, profileRecords) -> {
+            Map<String, List<Map<String, Object>>> byRun = groupByRun(profileRecords);
+            if (byRun.containsKey(currentRun)) {
+                gate(profile, currentRun, byRun, metrics, config, regressions);
+            }
+        });
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("[Perf] Regresión de rendimiento en: " + String.join(", ", regressions));
+        }
+    }
+
+    /**
+     * Gate de un perfil de throttling: la ejecución actual contra las anteriores del mismo perfil.
+     */
+    private static void gate(String profile, String currentRun, Map<String, List<Map<String, Object>>> byRun,
+                             List<String> metrics, ConfigManager config, List<String> regressions) {
+        List<String> runs = new ArrayList<>(byRun.keySet());
+        runs.remove(currentRun);
+        List<String> baselineRuns = runs.subList(Math.max(0, runs.size() - config.getPerfBaselineRuns()), runs.size());
+        List<Map<String, Object>> baseline = new ArrayList<>();
+        baselineRuns.forEach(run -> baseline.addAll(byRun.get(run)));
+
+        double threshold = config.getPerfGateThresholdPct();
+        double alpha = config.getPerfGateAlpha();
+        int minSamples = config.getPerfGateMinSamples();
+        System.out.println("[Perf] Gate de la ejecución " + currentRun + " (" + shortCommit(byRun.get(currentRun).get(0))
+                + ", perfil " + profile + ") contra " + baselineRuns.size() + " ejecuciones anteriores");
+
+        for (String metric : metrics) {
+            double[] current = samples(byRun.get(currentRun), metric);
+            double[] reference = samples(baseline, metric);
+            if (current.length < minSamples || reference.length < minSamples) {
+                System.out.println(String.format(Locale.ROOT, "  %-45s datos insuficientes (actual %d, base %d)",
+                        metric, current.length, reference.length));
+                continue;
+            }
+            double currentMedian = percentile(current, 50);
+            double baselineMedian = percentile(reference, 50);
+            double changePct = baselineMedian == 0 ? 0 : 100.0 * (currentMedian - baselineMedian) / baselineMedian;
+            double p = mannWhitneyGreaterP(current, reference);
+            boolean regressed = changePct > threshold && p < alpha;
+            System.out.println(String.format(Locale.ROOT, "  %-45s base %8.0f ms | actual %8.0f ms | %+6.1f%% | p=%.4f %s",
+                    metric, baselineMedian, currentMedian, changePct, p, regressed ? "REGRESIÓN" : "ok"));
+            if (regressed) {
+                regressions.add(metric + " [" + profile + "]");
+            }
+        }
+    }
+
+    // ==================== ESTADÍSTICA ====================
+
+    /**
+     * Prueba U de Mann-Whitney unilateral (H1: "current" tiende a ser mayor que "reference").
+     *
+     * @return p-valor (aproximación normal con corrección por empates y por continuidad)
+     */
+    private static double mannWhitneyGreaterP(double[] current, double[] reference) {
+        int n1 = current.length;
+        int n2 = reference.length;
+        int n = n1 + n2;
+        double[][] all = new double[n][2];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new double[]{current[i], 1};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new double[]{reference[i], 0};
+        }
+        Arrays.sort(all, (a, b) -> Double.compare(a[0], b[0]));
+
+        // Rangos promedio en empates
+        double rankSumCurrent = 0;
+        double tieCorrection = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all[j + 1][0] == all[i][0]) {
+                j++;
+            }
+            double rank = (i + j) / 2.0 + 1;
+            int ties = j - i + 1;
+            tieCorrection += (double) ties * ties * ties - ties;
+            for (int k = i; k <= j; k++) {
+                if (all[k][1] == 1) {
+                    rankSumCurrent += rank;
+                }
+            }
+            i = j + 1;
+        }
+
+        double u = rankSumCurrent - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    /** CDF normal estándar (Abramowitz-Stegun 7.1.26, error &lt; 1.5e-7) */
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+
+    private static double percentile(double[] values, double pct) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(pct / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private static Map<String, List<Map<String, Object>>> groupByRun(List<Map<String, Object>> records) {
+        Map<String, List<Map<String, Object>>> byRun = new LinkedHashMap<>();
+        records.forEach(r -> byRun.computeIfAbsent(String.valueOf(r.get("run")), k -> new ArrayList<>()).add(r));
+        return byRun;
+    }
+
+    /** Registros por perfil de throttling; los anteriores al campo "profile" cuentan como "none" */
+    private static Map<String, List<Map<String, Object>>> groupByProfile(List<Map<String, Object>> records) {
+        Map<String, List<Map<String, Object>>> byProfile = new LinkedHashMap<>();
+        records.forEach(r -> byProfile.computeIfAbsent(String.valueOf(r.getOrDefault("profile", DEFAULT_PROFILE)),
+                k -> new ArrayList<>()).add(r));
+        return byProfile;
+    }
+
+    /**
+     * Una muestra por escenario: duración media por llamada del span, o duración del escenario.
+     */
+    private static double[] samples(List<Map<String, Object>> records, String metric) {
+        List<Double> values = new ArrayList<>();
+        for (Map<String, Object> record : records) {
+            if (SCENARIO_METRIC.equals(metric)) {
+                values.add(((Number) record.get("durationMs")).doubleValue());
+                continue;
+            }
+            Object spans = record.get("spans");
+            if (spans instanceof Map && ((Map<?, ?>) spans).get(metric) instanceof List) {
+                List<?> totals = (List<?>) ((Map<?, ?>) spans).get(metric);
+                double count = ((Number) totals.get(0)).doubleValue();
+                if (count > 0) {
+                    values.add(((Number) totals.get(1)).doubleValue() / count);
+                }
+            }
+        }
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static String shortCommit(Map<String, Object> record) {
+        String commit = String.valueOf(record.get("commit"));
+        return commit.length() > 10 ? commit.substring(0, 10) : commit;
+    }
+
+    /** Nombres de todas las métricas presentes en el historial (útil para configurar perf.gate.metrics) */
+    private static Set<String> metricNames(List<Map<String, Object>> records) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(SCENARIO_METRIC);
+        records.forEach(r -> {
+            if (r.get("spans") instanceof Map) {
+                ((Map<?, ?>) r.get("spans")).keySet().forEach(k -> names.add(String.valueOf(k)));
+            }
+        });
+        return names;
+    }
+}
@@ -0,0 +1,189 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.ThrottlingProfile;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Historial de rendimiento append-only que sobrevive a "mvn clean".
+ *
+ * Cada escenario terminado agrega una línea JSON a perf.history.dir/history.jsonl con:
+ *   - ejecución (run), commit de git, entorno (app.base.url) y perfil de throttling
+ *   - estado y duración del escenario
+ *   - duración total y ocurrencias de cada span del {@link Tracer}: pasos, métodos
+ *     de Page Objects, esperas y comandos WebDriver
+ *   - número de comandos WebDriver y métricas de carga (Navigation Timing) por página
+ *
+ * {@link PerfGate} consulta este archivo para tendencias y para el gate de regresión.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para definir el formato del historial
+ * y la captura de Navigation Timing.
+ */
+public final class PerfHistory {
+
+    private static final Log LOG = Log.get("Perf");
+
+    private static final Json JSON = new Json();
+    private static final String FILE_NAME = "history.jsonl";
+    private static final String RUN_ID = Instant.now().toString() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private static final ThreadLocal<Map<String, Object>> PAGE_LOADS = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    /** Tiempos de Navigation Timing del documento actual, relativos al inicio de la navegación */
+    private static final String NAVIGATION_TIMING_JS =
+            "var n=performance.getEntriesByType('navigation')[0];if(!n){return null;}"
+            + "return [new URL(n.name).pathname, Math.round(n.responseStart - n.requestStart),"
+            + " Math.round(n.domContentLoadedEventEnd), Math.round(n.loadEventEnd)];";
+
+    private static String commit;
+
+    private PerfHistory() {
+        // Constructor privado - clase utilitaria
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Guarda las métricas de carga del documento actual (una entrada por ruta).
+     *
+     * @param driver WebDriver activo
+     */
+    public static void capturePageLoad(WebDriver driver) {
+        if (!ConfigManager.getInstance().isPerfHistoryEnabled()) {
+            return;
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(NAVIGATION_TIMING_JS);
+            if (result instanceof List && ((List<?>) result).size() == 4) {
+                List<?> timing = (List<?>) result;
+                Map<String, Object> metrics = new LinkedHashMap<>();
+                metrics.put("ttfbMs", timing.get(1));
+                metrics.put("domContentLoadedMs", timing.get(2));
+                metrics.put("loadMs", timing.get(3));
+                PAGE_LOADS.get().put(String.valueOf(timing.get(0)), metrics);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudo leer Navigation Timing: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Agrega al historial el escenario terminado en el hilo actual.
+     *
+     * @param scenario   Nombre del escenario
+     * @param line       Línea del escenario (distingue filas de Examples)
+     * @param status     Estado final (PASSED, FAILED...)
+     * @param durationMs Duración total del escenario
+     * @param spans      Spans agregados del escenario ({@link Tracer#aggregateCurrentScenario()})
+     */
+    public static void recordScenario(String scenario, int line, String status, long durationMs,
+                                      Map<String, long[]> spans) {
+        Map<String, Object> pageLoads = new LinkedHashMap<>(PAGE_LOADS.get());
+        PAGE_LOADS.remove();
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isPerfHistoryEnabled()) {
+            return;
+        }
+
+        Map<String, Object> spanTotals = new LinkedHashMap<>();
+        spans.forEach((name, totals) -> spanTotals.put(name, List.of(totals[0], totals[1])));
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("run", RUN_ID);
+        record.put("commit", commit());
+        record.put("env", config.getBaseUrl());
+        record.put("profile", ThrottlingProfile.current().getLabel());
+        record.put("timestamp", Instant.now().toString());
+        record.put("scenario", scenario);
+        record.put("line", line);
+        record.put("status", status);
+        record.put("durationMs", durationMs);
+        record.put("webdriverCommands", WebDriverTraceListener.takeCommandCount());
+        record.put("pageLoads", pageLoads);
+        record.put("spans", spanTotals);
+        append(JSON.toJson(record).replace("\n", "").replace("\r", ""));
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Lee todo el historial.
+     *
+     * @return Registros en orden de escritura (vacío si no existe)
+     */
+    public static List<Map<String, Object>> readAll() throws IOException {
+        Path file = file();
+        List<Map<String, Object>> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                records.add(JSON.toType(line, Json.MAP_TYPE));
+            }
+        }
+        return records;
+    }
+
+    /** @return Ruta del archivo del historial según perf.history.dir */
+    public static Path file() {
+        return Paths.get(ConfigManager.getInstance().getPerfHistoryDir(), FILE_NAME);
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private static synchronized void append(String line) {
+        Path file = file();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOG.warn("No se pudo escribir el historial: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Commit actual: perf.commit si está definido, si no "git rev-parse HEAD", o "unknown".
+     */
+    private static synchronized String commit() {
+        if (commit == null) {
+            commit = ConfigManager.getInstance().getPerfCommit();
+            if (commit.isBlank()) {
+                commit = "unknown";
+                try {
+                    Process process = new ProcessBuilder("git", "rev-parse", "HEAD").redirectErrorStream(true).start();
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                        String head = reader.readLine();
+                        if (process.waitFor() == 0 && head != null) {
+                            commit = head.trim();
+                        }
+                    }
+                } catch (IOException e) {
+                    LOG.warn("No se pudo obtener el commit de git: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        return commit;
+    }
+}
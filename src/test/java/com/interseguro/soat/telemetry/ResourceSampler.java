@@ -0,0 +1,237 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import com.interseguro.soat.utils.ProcessTree;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Muestreador de recursos de los procesos de la ejecución leyendo /proc.
+ * Cada sampler.interval.ms mide CPU, RSS y descriptores de archivo de tres grupos:
+ *   - jvm:          el proceso de la JVM de pruebas
+ *   - chromedriver: todos los chromedriver descendientes de la JVM
+ *   - chrome:       todos los procesos Chrome (browser, renderers, GPU...)
+ * además de la CPU y memoria global del sistema.
+ *
+ * Los escenarios abren una ventana de observación y al cerrarla obtienen los
+ * picos y promedios de las muestras tomadas mientras estaban en ejecución.
+ *
+ * Patrón: Singleton + Observer (listeners de muestras)
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para calcular el uso de CPU a partir
+ * de los ticks de /proc/[pid]/stat y agregar las muestras por escenario.
+ */
+public final class ResourceSampler {
+
+    private static final Log LOG = Log.get("Sampler");
+
+    /** Ticks por segundo de /proc (USER_HZ); 100 en prácticamente todos los kernels Linux */
+    private static final double TICKS_PER_SECOND = 100.0;
+    private static final String[] GROUPS = {"jvm", "chromedriver", "chrome"};
+    private static ResourceSampler instance;
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final List<Consumer<Sample>> listeners = new CopyOnWriteArrayList<>();
+
+    private Map<Long, Long> previousTicks = new HashMap<>();
+    private long previousNanos = System.nanoTime();
+    private long[] previousSystemTicks = ProcessTree.systemCpuTicks();
+
+    private ResourceSampler(long intervalMillis) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "resource-sampler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::sampleSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtiene la instancia única del sampler, iniciándolo si es necesario.
+     *
+     * @return Instancia del ResourceSampler
+     */
+    public static synchronized ResourceSampler getInstance() {
+        if (instance == null) {
+            instance = new ResourceSampler(ConfigManager.getInstance().getSamplerIntervalMs());
+        }
+        return instance;
+    }
+
+    /**
+     * Registra un observador que recibe cada muestra (ej: el controlador de paralelismo).
+     *
+     * @param listener Observador de muestras
+     */
+    public void addListener(Consumer<Sample> listener) {
+        listeners.add(listener);
+    }
+
+    // ==================== VENTANAS POR ESCENARIO ====================
+
+    /**
+     * Abre una ventana de observación para un escenario.
+     *
+     * @param scenarioId Identificador del escenario
+     */
+    public void startWindow(String scenarioId) {
+        windows.put(scenarioId, new Window());
+    }
+
+    /**
+     * Cierra la ventana de un escenario.
+     *
+     * @param scenarioId Identificador del escenario
+     * @return Resumen legible de recursos, o null si no había ventana
+     */
+    public String stopWindow(String scenarioId) {
+        Window window = windows.remove(scenarioId);
+        return window == null ? null : window.summary();
+    }
+
+    // ==================== MUESTREO ====================
+
+    private void sampleSafely() {
+        try {
+            Sample sample = sample();
+            windows.values().forEach(w -> w.add(sample));
+            listeners.forEach(l -> l.accept(sample));
+        } catch (RuntimeException e) {
+            LOG.warn("Error al muestrear recursos: " + e.getMessage());
+        }
+    }
+
+    private Sample sample() {
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(now - previousNanos, 1) / 1_000_000_000.0;
+        Map<Long, Long> ticks = new HashMap<>();
+        Sample sample = new Sample();
+
+        measure(sample, "jvm", ProcessHandle.current().pid(), ticks, elapsedSeconds);
+        ProcessHandle.current().descendants().forEach(p -> {
+            String command = ProcessTree.command(p.pid());
+            if (command.contains("chromedriver")) {
+                measure(sample, "chromedriver", p.pid(), ticks, elapsedSeconds);
+            } else if (command.contains("chrome")) {
+                measure(sample, "chrome", p.pid(), ticks, elapsedSeconds);
+            }
+        });
+
+        long[] systemTicks = ProcessTree.systemCpuTicks();
+        long totalDelta = systemTicks[1] - previousSystemTicks[1];
+        sample.systemCpuPct = totalDelta <= 0 ? 0 : 100.0 * (systemTicks[0] - previousSystemTicks[0]) / totalDelta;
+        sample.systemMemoryPct = ProcessTree.systemMemoryUsedPct();
+
+        previousTicks = ticks;
+        previousNanos = now;
+        previousSystemTicks = systemTicks;
+        return sample;
+    }
+
+    private void measure(Sample sample, String group, long pid, Map<Long, Long> ticks, double elapsedSeconds) {
+        long cpu = ProcessTree.cpuTicks(pid);
+        ticks.put(pid, cpu);
+        Long previous = previousTicks.get(pid);
+        double cpuPct = previous == null ? 0 : 100.0 * (cpu - previous) / TICKS_PER_SECOND / elapsedSeconds;
+        sample.add(group, cpuPct, ProcessTree.rssKb(pid), ProcessTree.fdCount(pid));
+    }
+
+    // ==================== MODELO ====================
+
+    /**
+     * Muestra puntual de recursos por grupo de procesos.
+     * Índices de los arreglos: 0=jvm, 1=chromedriver, 2=chrome.
+     */
+    public static class Sample {
+
+        private final double[] cpuPct = new double[GROUPS.length];
+        private final long[] rssKb = new long[GROUPS.length];
+        private final int[] fds = new int[GROUPS.length];
+        private final int[] processes = new int[GROUPS.length];
+        private double systemCpuPct;
+        private double systemMemoryPct;
+
+        private void add(String group, double cpu, long rss, int fdCount) {
+            int i = indexOf(group);
+            cpuPct[i] += cpu;
+            rssKb[i] += rss;
+            fds[i] += fdCount;
+            processes[i]++;
+        }
+
+        /** @return CPU global del sistema en porcentaje (0-100, todos los núcleos) */
+        public double getSystemCpuPct() {
+            return systemCpuPct;
+        }
+
+        /** @return Memoria global del sistema en uso en porcentaje (0-100) */
+        public double getSystemMemoryPct() {
+            return systemMemoryPct;
+        }
+
+        /** @return Procesos Chrome vivos en la muestra */
+        public int getChromeProcesses() {
+            return processes[indexOf("chrome")];
+        }
+
+        private static int indexOf(String group) {
+            for (int i = 0; i < GROUPS.length; i++) {
+                if (GROUPS[i].equals(group)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException(group);
+        }
+    }
+
+    /**
+     * Agregado (picos y promedios) de las muestras tomadas durante un escenario.
+     */
+    private static class Window {
+
+        private final double[] peakCpu = new double[GROUPS.length];
+        private final double[] sumCpu = new double[GROUPS.length];
+        private final long[] peakRss = new long[GROUPS.length];
+        private final int[] peakFds = new int[GROUPS.length];
+        private double peakSystemCpu;
+        private double peakSystemMemory;
+        private int samples;
+
+        synchronized void add(Sample sample) {
+            samples++;
+            for (int i = 0; i < GROUPS.length; i++) {
+                peakCpu[i] = Math.max(peakCpu[i], sample.cpuPct[i]);
+                sumCpu[i] += sample.cpuPct[i];
+                peakRss[i] = Math.max(peakRss[i], sample.rssKb[i]);
+                peakFds[i] = Math.max(peakFds[i], sample.fds[i]);
+            }
+            peakSystemCpu = Math.max(peakSystemCpu, sample.systemCpuPct);
+            peakSystemMemory = Math.max(peakSystemMemory, sample.systemMemoryPct);
+        }
+
+        synchronized String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "Muestras: %d | Sistema pico: CPU %.0f%%, memoria %.0f%%%n",
+                    samples, peakSystemCpu, peakSystemMemory));
+            sb.append(String.format(Locale.ROOT, "%-13s %10s %10s %12s %8s%n",
+                    "proceso", "CPU prom", "CPU pico", "RSS pico MB", "FDs"));
+            for (int i = 0; i < GROUPS.length; i++) {
+                sb.append(String.format(Locale.ROOT, "%-13s %9.1f%% %9.1f%% %12d %8d%n",
+                        GROUPS[i], samples == 0 ? 0 : sumCpu[i] / samples, peakCpu[i],
+                        peakRss[i] / 1024, peakFds[i]));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.replay.StepSnapshotRecorder;
+import com.interseguro.soat.utils.SessionWatchdog;
+import com.interseguro.soat.utils.ThrottlingProfile;
+import com.interseguro.soat.utils.WaitEngine;
+import com.interseguro.soat.visual.VisualRegression;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plugin de Cucumber que delimita cada paso Gherkin para la telemetría.
+ * Los eventos se publican en el mismo hilo que ejecuta el escenario, justo
+ * antes y después de cada paso, por lo que el estado ThreadLocal de
+ * {@link WaitEngine} y de {@link Tracer} queda asociado al paso correcto también en paralelo.
+ *
+ * También fija el contexto de logging del hilo (escenario, fila de Examples y paso)
+ * para correlacionar los eventos de {@link Log}.
+ *
+ * Al terminar cada paso (con el navegador aún en ese estado) guarda su snapshot
+ * para el replay de fallos ({@link StepSnapshotRecorder}).
+ *
+ * Al terminar el escenario (después de todos sus hooks) avisa a {@link SessionWatchdog}
+ * para que mate el navegador si quedó abierto.
+ *
+ * Al empezar el escenario fija la clave visual de la fila de Examples a partir de los
+ * argumentos de sus pasos ({@link VisualRegression}).
+ *
+ * Además elige el perfil de throttling del escenario ({@link ThrottlingProfile}),
+ * abre/cierra su traza, lo agrega al historial de rendimiento ({@link PerfHistory})
+ * y, al final de la ejecución, escribe la traza combinada de la suite y la
+ * duración por perfil.
+ *
+ * Se registra en el runner: plugin = "com.interseguro.soat.telemetry.StepTimingPlugin"
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para integrar los eventos de
+ * Cucumber con el presupuesto de esperas por paso y el tracer.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    private static final Log LOG = Log.get("Trace");
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // Un throttling.profile inválido aborta aquí, antes de empezar la ejecución
+        ThrottlingProfile.configured();
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onScenarioStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        Log.startScenario(testCase.getId().toString(), testCase.getName(), testCase.getLocation().getLine());
+        ThrottlingProfile.select(testCase.getId().toString(), testCase.getTags());
+        Tracer.startScenario(testCase.getName());
+        VisualRegression.startScenario(testCase.getName(), exampleValues(testCase));
+    }
+
+    /** @return Argumentos de los pasos del escenario, en orden y sin comillas (valores de su fila de Examples) */
+    private static List<String> exampleValues(TestCase testCase) {
+        List<String> values = new ArrayList<>();
+        for (TestStep step : testCase.getTestSteps()) {
+            if (step instanceof PickleStepTestStep) {
+                ((PickleStepTestStep) step).getDefinitionArgument()
+                        .forEach(argument -> values.add(argument.getValue() == null
+                                ? "" : argument.getValue().replaceAll("^[\"']|[\"']$", "")));
+            }
+        }
+        return values;
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            String stepName = step.getStep().getKeyword() + step.getStep().getText();
+            Log.step(stepName);
+            WaitEngine.startStep(stepName);
+            Tracer.begin(stepName);
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            HookTestStep hook = (HookTestStep) event.getTestStep();
+            Log.step("Hook " + hook.getHookType());
+            Tracer.begin("Hook " + hook.getHookType() + " " + hook.getCodeLocation());
+        }
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        Log.step(null);
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            Tracer.end();
+            WaitEngine.endStep();
+            Status status = event.getResult().getStatus();
+            if (status == Status.PASSED || status == Status.FAILED) {
+                PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+                StepSnapshotRecorder.captureStep(step.getStep().getKeyword() + step.getStep().getText(), status.name());
+            }
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            Tracer.end();
+        }
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        String fileName = testCase.getName().replaceAll("[^a-zA-Z0-9]", "_") + "_L" + testCase.getLocation().getLine();
+        Path trace = Tracer.endScenario(fileName);
+        if (trace != null) {
+            LOG.info("Traza del escenario: " + trace);
+        }
+        PerfHistory.recordScenario(testCase.getName(), testCase.getLocation().getLine(),
+                event.getResult().getStatus().name(), event.getResult().getDuration().toMillis(),
+                Tracer.aggregateCurrentScenario());
+        ThrottlingProfile.recordScenario(event.getResult().getDuration().toMillis());
+        SessionWatchdog.getInstance().scenarioFinished();
+        Log.endScenario(event.getResult().getStatus() == Status.FAILED);
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        Path trace = Tracer.writeSuiteTrace();
+        if (trace != null) {
+            LOG.info("Traza combinada de la suite: " + trace);
+        }
+        String profiles = ThrottlingProfile.summary();
+        if (profiles != null) {
+            Log.get("Throttling").info(profiles);
+        }
+    }
+}
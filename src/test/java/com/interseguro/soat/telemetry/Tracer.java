@@ -0,0 +1,337 @@
+package com.interseguro.soat.telemetry;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tracer de spans anidados por escenario en formato Chrome trace-event
+ * (abrible en chrome://tracing o https://ui.perfetto.dev).
+ *
+ * Registra spans de pasos Cucumber, métodos de Page Objects, comandos WebDriver,
+ * esperas y pausas. Diseñado para quedarse activo en CI:
+ *   - cada hilo escribe en sus propios arreglos primitivos (sin locks ni objetos por evento)
+ *   - los nombres se internan una sola vez en una tabla global de ids
+ *   - {@link #begin(String)} / {@link #end()} no asignan memoria; {@link #traced(String, Runnable)}
+ *     solo agrega la lambda del cuerpo
+ *
+ * Al terminar cada escenario se escribe su traza en trace.dir; con trace.merged=true
+ * se genera además una traza de toda la suite con un track por worker.
+ *
+ * Uso:
+ *   Tracer.traced("HomePage.navigateTo", () -> { ... });
+ *   (o Tracer.begin / Tracer.end en un try/finally)
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar los buffers por hilo
+ * sin asignaciones y la serialización al formato trace-event.
+ */
+public final class Tracer {
+
+    private static final Log LOG = Log.get("Trace");
+
+    private static final boolean ENABLED = ConfigManager.getInstance().isTraceEnabled();
+    private static final long EPOCH_NANOS = System.nanoTime();
+    private static final byte BEGIN = 'B';
+    private static final byte END = 'E';
+
+    private static final Map<String, Integer> NAME_IDS = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    private static final ConcurrentLinkedQueue<ThreadBuffer> SUITE_TRACES = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<ThreadBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> new ThreadBuffer(THREAD_IDS.incrementAndGet(), Thread.currentThread().getName()));
+
+    private Tracer() {
+        // Constructor privado - clase utilitaria
+    }
+
+    // ==================== SPANS ====================
+
+    /**
+     * Ejecuta una acción dentro de un span.
+     *
+     * @param name   Nombre del span (preferiblemente un literal, ej: "PaymentPage.waitForPageLoad")
+     * @param action Acción a ejecutar
+     */
+    public static void traced(String name, Runnable action) {
+        begin(name);
+        try {
+            action.run();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Ejecuta una acción con valor de retorno dentro de un span.
+     *
+     * @param name   Nombre del span
+     * @param action Acción a ejecutar
+     * @return Valor devuelto por la acción
+     */
+    public static <T> T traced(String name, Supplier<T> action) {
+        begin(name);
+        try {
+            return action.get();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Registra el inicio de un span en el hilo actual.
+     *
+     * @param name Nombre del span
+     */
+    public static void begin(String name) {
+        if (ENABLED) {
+            ThreadBuffer buffer = BUFFER.get();
+            if (buffer.recording) {
+                buffer.add(BEGIN, intern(name));
+            }
+        }
+    }
+
+    /**
+     * Registra el fin del span abierto más reciente del hilo actual.
+     */
+    public static void end() {
+        if (ENABLED) {
+            ThreadBuffer buffer = BUFFER.get();
+            if (buffer.recording) {
+                buffer.add(END, 0);
+            }
+        }
+    }
+
+    // ==================== ESCENARIOS ====================
+
+    /**
+     * Empieza a grabar el escenario del hilo actual.
+     *
+     * @param scenarioName Nombre del escenario (span raíz de la traza)
+     */
+    public static void startScenario(String scenarioName) {
+        if (!ENABLED) {
+            return;
+        }
+        ThreadBuffer buffer = BUFFER.get();
+        buffer.reset();
+        buffer.recording = true;
+        buffer.add(BEGIN, intern(scenarioName));
+    }
+
+    /**
+     * Termina la grabación del escenario del hilo actual y escribe su traza.
+     *
+     * @param fileName Nombre base del archivo de traza
+     * @return Ruta del archivo generado, o null si el tracer está deshabilitado
+     */
+    public static Path endScenario(String fileName) {
+        if (!ENABLED) {
+            return null;
+        }
+        ThreadBuffer buffer = BUFFER.get();
+        if (!buffer.recording) {
+            return null;
+        }
+        buffer.closeOpenSpans();
+        buffer.recording = false;
+        ConfigManager config = ConfigManager.getInstance();
+        if (config.isTraceMerged()) {
+            SUITE_TRACES.add(buffer.snapshot());
+        }
+        Path file = Paths.get(config.getTraceDir(), fileName + ".json");
+        write(file, List.of(buffer));
+        return file;
+    }
+
+    /**
+     * Escribe la traza combinada de la suite (un track por worker).
+     *
+     * @return Ruta del archivo generado, o null si no hay trazas o está deshabilitado
+     */
+    public static Path writeSuiteTrace() {
+        if (!ENABLED || SUITE_TRACES.isEmpty()) {
+            return null;
+        }
+        Path file = Paths.get(ConfigManager.getInstance().getTraceDir(), "suite-trace.json");
+        write(file, new ArrayList<>(SUITE_TRACES));
+        return file;
+    }
+
+    /**
+     * Acumula la duración de cada span del escenario actual por nombre.
+     *
+     * @return Mapa nombre → {ocurrencias, duración total en ms}, vacío si el tracer está deshabilitado
+     */
+    public static Map<String, long[]> aggregateCurrentScenario() {
+        Map<String, long[]> result = new ConcurrentHashMap<>();
+        if (ENABLED) {
+            BUFFER.get().aggregate(result);
+        }
+        return result;
+    }
+
+    // ==================== SERIALIZACIÓN ====================
+
+    private static int intern(String name) {
+        Integer id = NAME_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NAMES) {
+            return NAME_IDS.computeIfAbsent(name, n -> {
+                NAMES.add(n);
+                return NAMES.size() - 1;
+            });
+        }
+    }
+
+    private static String nameOf(int id) {
+        synchronized (NAMES) {
+            return NAMES.get(id);
+        }
+    }
+
+    private static void write(Path file, List<ThreadBuffer> buffers) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+                boolean first = true;
+                for (ThreadBuffer buffer : buffers) {
+                    out.write(first ? "" : ",");
+                    first = false;
+                    out.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + buffer.tid
+                            + ",\"args\":{\"name\":\"" + escape(buffer.threadName) + "\"}}");
+                    for (int i = 0; i < buffer.size; i++) {
+                        out.write(",{\"ph\":\"");
+                        out.write((char) buffer.phases[i]);
+                        out.write("\",\"pid\":1,\"tid\":" + buffer.tid + ",\"ts\":" + buffer.micros(i));
+                        if (buffer.phases[i] == BEGIN) {
+                            out.write(",\"name\":\"" + escape(nameOf(buffer.nameIds[i])) + "\"");
+                        }
+                        out.write("}");
+                    }
+                }
+                out.write("]}");
+            }
+        } catch (IOException e) {
+            LOG.warn("Error al escribir " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // ==================== MODELO ====================
+
+    /**
+     * Eventos de un hilo en arreglos paralelos que crecen por duplicación.
+     */
+    private static final class ThreadBuffer {
+
+        private final int tid;
+        private final String threadName;
+        private long[] timestamps = new long[1024];
+        private int[] nameIds = new int[1024];
+        private byte[] phases = new byte[1024];
+        private int size;
+        private int depth;
+        private boolean recording;
+
+        ThreadBuffer(int tid, String threadName) {
+            this.tid = tid;
+            this.threadName = threadName;
+        }
+
+        void add(byte phase, int nameId) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                nameIds = Arrays.copyOf(nameIds, size * 2);
+                phases = Arrays.copyOf(phases, size * 2);
+            }
+            if (phase == END) {
+                if (depth == 0) {
+                    return;
+                }
+                depth--;
+            } else {
+                depth++;
+            }
+            timestamps[size] = System.nanoTime();
+            nameIds[size] = nameId;
+            phases[size] = phase;
+            size++;
+        }
+
+        void closeOpenSpans() {
+            while (depth > 0) {
+                add(END, 0);
+            }
+        }
+
+        void reset() {
+            size = 0;
+            depth = 0;
+        }
+
+        long micros(int i) {
+            return (timestamps[i] - EPOCH_NANOS) / 1000;
+        }
+
+        ThreadBuffer snapshot() {
+            ThreadBuffer copy = new ThreadBuffer(tid, threadName);
+            copy.timestamps = Arrays.copyOf(timestamps, size);
+            copy.nameIds = Arrays.copyOf(nameIds, size);
+            copy.phases = Arrays.copyOf(phases, size);
+            copy.size = size;
+            return copy;
+        }
+
+        void aggregate(Map<String, long[]> result) {
+            int[] stack = new int[Math.max(depth, 1) + 64];
+            int top = 0;
+            for (int i = 0; i < size; i++) {
+                if (phases[i] == BEGIN) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = i;
+                } else if (top > 0) {
+                    int begin = stack[--top];
+                    long[] total = result.computeIfAbsent(nameOf(nameIds[begin]), k -> new long[2]);
+                    total[0]++;
+                    total[1] += (timestamps[i] - timestamps[begin]) / 1_000_000;
+                }
+            }
+        }
+    }
+}
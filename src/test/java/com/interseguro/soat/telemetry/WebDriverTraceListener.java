@@ -0,0 +1,54 @@
+package com.interseguro.soat.telemetry;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listener de Selenium que registra cada comando WebDriver / WebElement
+ * como un span del {@link Tracer}. Se aplica con EventFiringDecorator en DriverFactory.
+ *
+ * Los nombres de span ("WebElement.click", "WebDriver.findElements"...) se
+ * calculan una sola vez por método y se cachean para no asignar memoria por comando.
+ * También cuenta los comandos de cada hilo para el historial de rendimiento.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar el listener de
+ * eventos de Selenium 4 integrado con el tracer.
+ */
+public class WebDriverTraceListener implements WebDriverListener {
+
+    private static final Map<Method, String> SPAN_NAMES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<int[]> COMMANDS = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Devuelve y reinicia el número de comandos WebDriver del hilo actual.
+     *
+     * @return Comandos ejecutados desde la última llamada
+     */
+    public static int takeCommandCount() {
+        int[] counter = COMMANDS.get();
+        int count = counter[0];
+        counter[0] = 0;
+        return count;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        COMMANDS.get()[0]++;
+        Tracer.begin(SPAN_NAMES.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Tracer.end();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Tracer.end();
+    }
+}
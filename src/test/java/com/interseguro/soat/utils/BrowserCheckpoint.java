@@ -0,0 +1,196 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Checkpoints del estado del navegador tras el prefijo costoso de la cotización
+ * (placa → COTIZAR AHORA → espera de cotizacion/planes), reutilizables por los
+ * escenarios y filas de Examples de la misma placa que corren en el mismo worker.
+ *
+ * El primer escenario de cada placa recorre el prefijo por UI y guarda cookies,
+ * localStorage, sessionStorage y URL de la página de planes. Los siguientes, ya en la
+ * landing (mismo origen), restauran ese estado en su sesión nueva, navegan a la URL
+ * guardada y validan la página; si la validación falla se limpia el estado, se descarta
+ * el checkpoint y el escenario vuelve al camino completo por UI.
+ *
+ * Las cookies apuntan a la cotización del servidor, que el escenario que capturó (y cada
+ * escenario restaurado) sigue modificando: edita el vehículo, elige plan y avanza al pago.
+ * Por eso el checkpoint guarda también el vehículo de la cotización recién creada, y al
+ * restaurar se exige que la cotización siga mostrando ese vehículo; si no, se descarta
+ * y el escenario recorre el prefijo por UI (creando una cotización nueva).
+ *
+ * Los checkpoints se guardan por worker (hilo) y placa: las cookies restauradas llevan
+ * la sesión del sitio, y dos escenarios concurrentes no deben compartir una sesión.
+ * Dentro de un worker los escenarios corren uno tras otro, así que cada sesión tiene
+ * un único usuario a la vez.
+ *
+ * Cada escenario reporta el tiempo de prefijo que se saltó.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la captura y restauración del
+ * estado del navegador (cookies y Web Storage).
+ */
+public final class BrowserCheckpoint {
+
+    private static final Log LOG = Log.get("Checkpoint");
+
+    private static final Map<String, Checkpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> SCENARIO_SUMMARY = new ThreadLocal<>();
+
+    private static final String READ_STORAGE_JS =
+            "function dump(s){var o={};for(var i=0;i<s.length;i++){var k=s.key(i);o[k]=s.getItem(k);}return o;}"
+            + "return [dump(window.localStorage), dump(window.sessionStorage)];";
+    private static final String WRITE_STORAGE_JS =
+            "var l=arguments[0],s=arguments[1];"
+            + "Object.keys(l).forEach(function(k){window.localStorage.setItem(k,l[k]);});"
+            + "Object.keys(s).forEach(function(k){window.sessionStorage.setItem(k,s[k]);});";
+    private static final String CLEAR_STORAGE_JS =
+            "window.localStorage.clear();window.sessionStorage.clear();";
+
+    private BrowserCheckpoint() {
+        // Constructor privado - clase utilitaria
+    }
+
+    // ==================== CAPTURA Y RESTAURACIÓN ====================
+
+    /**
+     * Guarda el estado actual del navegador como checkpoint de la placa en este worker (si aún no existe).
+     *
+     * @param driver       WebDriver en la página de planes
+     * @param placa        Placa que identifica el prefijo
+     * @param prefixMillis Duración del prefijo recorrido por UI
+     * @param vehicle      Lector del vehículo de la cotización (solo se llama si se guarda el checkpoint)
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String placa, long prefixMillis, Supplier<String> vehicle) {
+        String key = key(placa);
+        if (!ConfigManager.getInstance().isCheckpointEnabled() || CHECKPOINTS.containsKey(key)) {
+            return;
+        }
+        try {
+            List<Map<String, String>> storage = (List<Map<String, String>>) ((JavascriptExecutor) driver)
+                    .executeScript(READ_STORAGE_JS);
+            Checkpoint checkpoint = new Checkpoint(driver.getCurrentUrl(), new ArrayList<>(driver.manage().getCookies()),
+                    storage.get(0), storage.get(1), vehicle.get(), prefixMillis);
+            if (CHECKPOINTS.putIfAbsent(key, checkpoint) == null) {
+                LOG.info("Prefijo de '" + placa + "' guardado (" + prefixMillis + " ms, "
+                        + checkpoint.cookies.size() + " cookies, vehículo " + checkpoint.vehicle + ")");
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            LOG.warn("No se pudo capturar el estado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Restaura el checkpoint de la placa capturado en este worker en la sesión actual
+     * (que debe estar en la landing).
+     *
+     * @param driver    WebDriver en la landing (mismo origen que el checkpoint)
+     * @param placa     Placa que identifica el prefijo
+     * @param validator Validación de la página restaurada (ej: planes cargada)
+     * @param vehicle   Lector del vehículo de la cotización restaurada
+     * @return true si se restauró y la cotización sigue con el vehículo original; false si no
+     *         hay checkpoint o falló (en ese caso el estado se limpia y se vuelve a la landing)
+     */
+    public static boolean restore(WebDriver driver, String placa, BooleanSupplier validator, Supplier<String> vehicle) {
+        String key = key(placa);
+        Checkpoint checkpoint = ConfigManager.getInstance().isCheckpointEnabled() ? CHECKPOINTS.get(key) : null;
+        if (checkpoint == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        String landingUrl = driver.getCurrentUrl();
+        try {
+            for (Cookie cookie : checkpoint.cookies) {
+                try {
+                    driver.manage().addCookie(cookie);
+                } catch (WebDriverException e) {
+                    // Cookie de otro dominio: no se puede fijar desde la landing
+                }
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_JS, checkpoint.localStorage, checkpoint.sessionStorage);
+            driver.get(checkpoint.url);
+            if (!validator.getAsBoolean()) {
+                LOG.info("Validación fallida para '" + placa + "', se usa el camino completo por UI");
+            } else if (!checkpoint.vehicle.equals(vehicle.get())) {
+                LOG.info("La cotización de '" + placa + "' ya fue modificada (se esperaba " + checkpoint.vehicle
+                        + "), se usa el camino completo por UI");
+            } else {
+                long restoreMillis = (System.nanoTime() - start) / 1_000_000;
+                SCENARIO_SUMMARY.set(String.format(Locale.ROOT,
+                        "Prefijo restaurado desde checkpoint '%s': %d ms omitidos (prefijo %d ms, restauración %d ms)",
+                        placa, Math.max(0, checkpoint.prefixMillis - restoreMillis), checkpoint.prefixMillis, restoreMillis));
+                return true;
+            }
+        } catch (WebDriverException e) {
+            LOG.warn("Error al restaurar '" + placa + "': " + e.getMessage());
+        }
+        // Checkpoint inválido: descartarlo para que el próximo escenario lo vuelva a capturar
+        CHECKPOINTS.remove(key, checkpoint);
+        clear(driver);
+        driver.get(landingUrl);
+        SCENARIO_SUMMARY.set("Checkpoint '" + placa + "' inválido: prefijo recorrido por UI");
+        return false;
+    }
+
+    /**
+     * Devuelve y olvida el resumen del checkpoint del escenario del hilo actual.
+     *
+     * @return Resumen, o null si el escenario no usó checkpoints
+     */
+    public static String endScenario() {
+        String summary = SCENARIO_SUMMARY.get();
+        SCENARIO_SUMMARY.remove();
+        return summary;
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    /** Clave del checkpoint: worker actual + placa (ver Javadoc de la clase) */
+    private static String key(String placa) {
+        return Thread.currentThread().getName() + "|" + placa;
+    }
+
+    private static void clear(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_JS);
+        } catch (WebDriverException e) {
+            LOG.warn("No se pudo limpiar el estado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Estado del navegador tras el prefijo.
+     */
+    private static final class Checkpoint {
+
+        private final String url;
+        private final List<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final String vehicle;
+        private final long prefixMillis;
+
+        Checkpoint(String url, List<Cookie> cookies, Map<String, String> localStorage,
+                   Map<String, String> sessionStorage, String vehicle, long prefixMillis) {
+            this.url = url;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.vehicle = vehicle;
+            this.prefixMillis = prefixMillis;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de contextos de navegador aislados dentro de un único proceso Chrome
+ * (execution.mode=contexts).
+ *
+ * Un ChromeDriver "anfitrión" lanza Chrome con un puerto de depuración fijo.
+ * Por cada escenario se crea un browser context (equivalente a una ventana
+ * incógnito: cookies, localStorage, sessionStorage y caché propios) con su
+ * propia pestaña, y se adjunta una sesión ChromeDriver ligera (debuggerAddress)
+ * que controla únicamente esa pestaña. Al liberar la sesión se cierra la pestaña
+ * y se destruye el contexto, por lo que no queda estado compartido entre escenarios.
+ *
+ * Al final reporta la memoria por escenario concurrente frente al costo de un
+ * proceso Chrome dedicado (medido con un solo contexto activo).
+ *
+ * Concurrencia: el lock del pool solo cubre las llamadas CDP compartidas
+ * (crear/cerrar contexto y pestaña) y la contabilidad; el arranque y el quit de
+ * cada ChromeDriver adjunto corren en paralelo entre workers.
+ *
+ * Patrón: Singleton + Object Pool
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar la conexión CDP a nivel
+ * de navegador (Target.createBrowserContext) y la medición de memoria por escenario.
+ */
+public final class BrowserContextPool {
+
+    private static final Log LOG = Log.get("Contexts");
+
+    private static final Json JSON = new Json();
+    private static BrowserContextPool instance;
+
+    private final Map<WebDriver, ContextLease> leases = new ConcurrentHashMap<>();
+    private ChromeDriver hostDriver;
+    private CdpConnection cdp;
+    private int debuggingPort;
+    private long hostDriverPid = -1;
+
+    private int peakActive;
+    private long peakRssKb;
+    private long singleContextRssKb;
+    private int contextsCreated;
+
+    private BrowserContextPool() {
+    }
+
+    /**
+     * Obtiene la instancia única del pool.
+     *
+     * @return Instancia del BrowserContextPool
+     */
+    public static synchronized BrowserContextPool getInstance() {
+        if (instance == null) {
+            instance = new BrowserContextPool();
+        }
+        return instance;
+    }
+
+    // ==================== CONTEXTOS ====================
+
+    /**
+     * Crea un contexto aislado con su propia pestaña y devuelve un WebDriver
+     * que la controla.
+     *
+     * @param options Opciones de Chrome (solo se usan al lanzar el proceso compartido)
+     * @return WebDriver adjunto al nuevo contexto
+     */
+    public WebDriver acquire(ChromeOptions options) {
+        ensureStarted(options);
+
+        String contextId;
+        String targetId;
+        synchronized (this) {
+            Map<String, Object> created = cdp.send("Target.createBrowserContext", Map.of("disposeOnDetach", false));
+            contextId = (String) created.get("browserContextId");
+
+            // Garantía de aislamiento: un contexto nuevo no puede heredar cookies de otro
+            List<?> cookies = (List<?>) cdp.send("Storage.getCookies", Map.of("browserContextId", contextId))
+                    .getOrDefault("cookies", List.of());
+            if (!cookies.isEmpty()) {
+                cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+                throw new IllegalStateException("[Contexts] El contexto nuevo no está aislado: "
+                        + cookies.size() + " cookies heredadas");
+            }
+
+            targetId = (String) cdp.send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+        }
+
+        // Sesión adjunta fuera del lock; su servicio explícito identifica el PID del chromedriver
+        ChromeOptions attachOptions = new ChromeOptions();
+        attachOptions.setExperimentalOption("debuggerAddress", "127.0.0.1:" + debuggingPort);
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        ChromeDriver driver;
+        try {
+            driver = new ChromeDriver(service, attachOptions);
+        } catch (RuntimeException e) {
+            disposeContext(targetId, contextId);
+            throw e;
+        }
+        long attachedPid = ProcessTree.jvmChildWithArgument("--port=" + service.getUrl().getPort());
+
+        if (!driver.getWindowHandles().contains(targetId)) {
+            driver.quit();
+            disposeContext(targetId, contextId);
+            throw new IllegalStateException("[Contexts] La pestaña del contexto no es visible para la sesión: " + targetId);
+        }
+        driver.switchTo().window(targetId);
+
+        synchronized (this) {
+            leases.put(driver, new ContextLease(contextId, targetId, attachedPid));
+            contextsCreated++;
+            sampleMemory();
+        }
+        return driver;
+    }
+
+    /**
+     * Cierra la sesión adjunta, la pestaña y destruye el contexto.
+     *
+     * @param driver WebDriver obtenido con {@link #acquire(ChromeOptions)}
+     */
+    public void release(WebDriver driver) {
+        ContextLease lease = leases.remove(driver);
+        try {
+            // Una sesión adjunta por debuggerAddress no cierra el Chrome compartido al hacer quit
+            driver.quit();
+        } finally {
+            if (lease != null) {
+                disposeContext(lease.targetId, lease.contextId);
+            }
+        }
+    }
+
+    // ==================== PROCESO COMPARTIDO ====================
+
+    private synchronized void ensureStarted(ChromeOptions options) {
+        if (hostDriver != null) {
+            return;
+        }
+        WebDriverManager.chromedriver().setup();
+        debuggingPort = findFreePort();
+        options.addArguments("--remote-debugging-port=" + debuggingPort);
+
+        Set<Long> before = ProcessTree.jvmChildren();
+        hostDriver = new ChromeDriver(options);
+        hostDriverPid = ProcessTree.jvmChildren().stream()
+                .filter(pid -> !before.contains(pid))
+                .findFirst()
+                .orElse(-1L);
+
+        cdp = CdpConnection.connect(debuggingPort);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-context-pool-shutdown"));
+        LOG.info("Chrome compartido iniciado (puerto de depuración " + debuggingPort + ")");
+    }
+
+    /**
+     * Cierra todas las sesiones adjuntas y el proceso Chrome compartido.
+     */
+    public void shutdown() {
+        for (WebDriver driver : List.copyOf(leases.keySet())) {
+            try {
+                release(driver);
+            } catch (RuntimeException e) {
+                LOG.warn("Error liberando contexto: " + e.getMessage());
+            }
+        }
+        closeHost();
+    }
+
+    private synchronized void closeHost() {
+        if (cdp != null) {
+            cdp.close();
+            cdp = null;
+        }
+        if (hostDriver != null) {
+            hostDriver.quit();
+            hostDriver = null;
+        }
+    }
+
+    private synchronized void disposeContext(String targetId, String contextId) {
+        try {
+            cdp.send("Target.closeTarget", Map.of("targetId", targetId));
+        } catch (RuntimeException e) {
+            // La pestaña pudo cerrarse junto con la sesión
+        }
+        cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+    }
+
+    // ==================== MEMORIA ====================
+
+    /**
+     * Mide la memoria del Chrome compartido más los chromedriver adjuntos
+     * y actualiza los valores de referencia del reporte.
+     */
+    private void sampleMemory() {
+        if (hostDriverPid < 0) {
+            return;
+        }
+        long rssKb = ProcessTree.treeRssKb(hostDriverPid);
+        for (ContextLease lease : leases.values()) {
+            if (lease.attachedPid >= 0) {
+                rssKb += ProcessTree.rssKb(lease.attachedPid);
+            }
+        }
+        int active = leases.size();
+        if (active == 1 && singleContextRssKb == 0) {
+            singleContextRssKb = rssKb;
+        }
+        if (active > peakActive || (active == peakActive && rssKb > peakRssKb)) {
+            peakActive = active;
+            peakRssKb = rssKb;
+        }
+    }
+
+    /**
+     * Imprime la memoria por escenario concurrente frente a un proceso por escenario.
+     */
+    public synchronized void printSummary() {
+        if (contextsCreated == 0) {
+            return;
+        }
+        LOG.info("Contextos creados: " + contextsCreated + " | Pico concurrente: " + peakActive);
+        if (peakRssKb > 0 && peakActive > 0) {
+            long perScenarioKb = peakRssKb / peakActive;
+            LOG.info("Memoria en el pico: " + peakRssKb / 1024 + " MB → "
+                    + perScenarioKb / 1024 + " MB por escenario concurrente");
+            if (singleContextRssKb > 0) {
+                LOG.info("Un proceso por escenario (medido con 1 contexto): "
+                        + singleContextRssKb / 1024 + " MB por escenario → estimado "
+                        + singleContextRssKb * peakActive / 1024 + " MB para " + peakActive + " escenarios");
+                LOG.info(String.format(Locale.ROOT, "Ahorro por escenario: %.1f%%",
+                        100.0 * (singleContextRssKb - perScenarioKb) / singleContextRssKb));
+            }
+        } else {
+            LOG.info("Medición de memoria no disponible (requiere /proc)");
+        }
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("[Contexts] No hay puertos libres para depuración", e);
+        }
+    }
+
+    /**
+     * Contexto asignado a una sesión: ids CDP y PID del chromedriver adjunto (-1 si no se identificó).
+     */
+    private static class ContextLease {
+
+        private final String contextId;
+        private final String targetId;
+        private final long attachedPid;
+
+        ContextLease(String contextId, String targetId, long attachedPid) {
+            this.contextId = contextId;
+            this.targetId = targetId;
+            this.attachedPid = attachedPid;
+        }
+    }
+
+    /**
+     * Conexión CDP mínima al endpoint de navegador (no de página), necesaria para
+     * los métodos Target.* de gestión de contextos.
+     */
+    private static class CdpConnection implements WebSocket.Listener {
+
+        private static final long TIMEOUT_SECONDS = 15;
+
+        private final Map<Integer, CompletableFuture<Map<String, Object>>> pending = new ConcurrentHashMap<>();
+        private final AtomicInteger ids = new AtomicInteger();
+        private final StringBuilder buffer = new StringBuilder();
+        private WebSocket socket;
+
+        static CdpConnection connect(int port) {
+            HttpClient http = HttpClient.newHttpClient();
+            try {
+                HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://127.0.0.1:" + port + "/json/version")).GET().build();
+                Map<String, Object> version = JSON.toType(
+                        http.send(request, HttpResponse.BodyHandlers.ofString()).body(), Json.MAP_TYPE);
+                CdpConnection connection = new CdpConnection();
+                connection.socket = http.newWebSocketBuilder()
+                        .buildAsync(URI.create((String) version.get("webSocketDebuggerUrl")), connection)
+                        .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                return connection;
+            } catch (IOException | ExecutionException | TimeoutException e) {
+                throw new IllegalStateException("[Contexts] No se pudo conectar a CDP: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("[Contexts] Conexión CDP interrumpida", e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized Map<String, Object> send(String method, Map<String, Object> params) {
+            int id = ids.incrementAndGet();
+            CompletableFuture<Map<String, Object>> response = new CompletableFuture<>();
+            pending.put(id, response);
+            try {
+                socket.sendText(JSON.toJson(Map.of("id", id, "method", method, "params", params)), true)
+                        .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                Map<String, Object> message = response.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (message.containsKey("error")) {
+                    throw new IllegalStateException("[Contexts] " + method + " falló: " + message.get("error"));
+                }
+                return (Map<String, Object>) message.getOrDefault("result", Map.of());
+            } catch (ExecutionException | TimeoutException e) {
+                throw new IllegalStateException("[Contexts] " + method + " sin respuesta: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("[Contexts] " + method + " interrumpido", e);
+            } finally {
+                pending.remove(id);
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                Map<String, Object> message = JSON.toType(buffer.toString(), Json.MAP_TYPE);
+                buffer.setLength(0);
+                Object id = message.get("id");
+                if (id instanceof Number) {
+                    CompletableFuture<Map<String, Object>> response = pending.get(((Number) id).intValue());
+                    if (response != null) {
+                        response.complete(message);
+                    }
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        void close() {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "").orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
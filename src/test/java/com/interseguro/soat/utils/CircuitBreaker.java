@@ -0,0 +1,172 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Circuit breaker compartido por todos los workers para fallos de entorno
+ * (sitio caído, errores de red, páginas que no cargan).
+ *
+ * Estados:
+ *   - CLOSED: las operaciones se ejecutan normalmente; breaker.failure.threshold fallos
+ *     de entorno consecutivos (de cualquier worker) lo abren
+ *   - OPEN: las operaciones fallan de inmediato con {@link OpenException} durante
+ *     breaker.open.seconds, en lugar de que cada escenario agote sus timeouts
+ *   - HALF_OPEN: pasado ese tiempo se deja pasar una sola operación de prueba;
+ *     si tiene éxito se cierra, si falla vuelve a abrirse
+ *
+ * Lo usa {@link RetryEngine}; los éxitos reinician el contador de fallos.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar la máquina de estados
+ * del circuit breaker.
+ */
+public final class CircuitBreaker {
+
+    private static final Log LOG = Log.get("Breaker");
+
+    private static CircuitBreaker instance;
+
+    /** Estado del breaker */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean probeInFlight;
+    private long timesOpened;
+    private long rejectedCalls;
+    private final List<String> transitions = new ArrayList<>();
+
+    private CircuitBreaker() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.enabled = config.isBreakerEnabled();
+        this.failureThreshold = Math.max(1, config.getBreakerFailureThreshold());
+        this.openMillis = config.getBreakerOpenSeconds() * 1000L;
+    }
+
+    /**
+     * Obtiene la instancia única del breaker (compartida entre hilos).
+     *
+     * @return Instancia del CircuitBreaker
+     */
+    public static synchronized CircuitBreaker getInstance() {
+        if (instance == null) {
+            instance = new CircuitBreaker();
+        }
+        return instance;
+    }
+
+    // ==================== CONTROL DE LLAMADAS ====================
+
+    /**
+     * Autoriza una operación. En OPEN falla de inmediato; en HALF_OPEN solo deja pasar
+     * la primera operación de prueba.
+     *
+     * @param operation Nombre de la operación (para el mensaje de error)
+     * @throws OpenException si el breaker no admite la operación
+     */
+    public synchronized void acquire(String operation) {
+        if (!enabled) {
+            return;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() - openedAtMillis >= openMillis) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+            rejectedCalls++;
+            long remaining = Math.max(0, openMillis - (System.currentTimeMillis() - openedAtMillis));
+            throw new OpenException("[Breaker] Entorno no disponible (" + state + ", " + consecutiveFailures
+                    + " fallos de entorno seguidos): '" + operation + "' rechazada, reintento en " + remaining + " ms");
+        }
+        if (state == State.HALF_OPEN) {
+            probeInFlight = true;
+        }
+    }
+
+    /**
+     * Registra una operación exitosa: reinicia el contador y cierra el breaker si estaba a prueba.
+     */
+    public synchronized void recordSuccess() {
+        if (!enabled) {
+            return;
+        }
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    /**
+     * Registra un fallo de entorno; abre el breaker al llegar al umbral o si falló la prueba.
+     */
+    public synchronized void recordEnvironmentFailure() {
+        if (!enabled) {
+            return;
+        }
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAtMillis = System.currentTimeMillis();
+            timesOpened++;
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * Libera la operación de prueba sin veredicto (fallo que no es de entorno).
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    /** @return Estado actual */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return Estado, aperturas, rechazos y transiciones del breaker
+     */
+    public synchronized Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("state", state.name());
+        metrics.put("consecutiveFailures", consecutiveFailures);
+        metrics.put("timesOpened", timesOpened);
+        metrics.put("rejectedCalls", rejectedCalls);
+        metrics.put("transitions", new ArrayList<>(transitions));
+        return metrics;
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private void transition(State next) {
+        transitions.add(Instant.now() + " " + state + " -> " + next);
+        LOG.info(state + " -> " + next + " (fallos de entorno seguidos: " + consecutiveFailures + ")");
+        state = next;
+    }
+
+    /**
+     * Operación rechazada porque el breaker está abierto.
+     */
+    public static class OpenException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public OpenException(String message) {
+            super(message);
+        }
+    }
+}
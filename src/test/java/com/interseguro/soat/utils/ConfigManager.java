@@ -45,68 +45,626 @@ public final class ConfigManager {
         return instance;
     }
 
+    /**
+     * Obtiene una propiedad dando prioridad a las System Properties (-Dclave=valor)
+     * sobre el archivo config.properties.
+     *
+     * @param key          Clave de la propiedad
+     * @param defaultValue Valor por defecto si no está definida
+     * @return Valor de la propiedad
+     */
+    private String getProperty(String key, String defaultValue) {
+        String systemValue = System.getProperty(key);
+        if (systemValue != null && !systemValue.isBlank()) {
+            return systemValue;
+        }
+        return properties.getProperty(key, defaultValue);
+    }
+
     // ==================== Propiedades de URL ====================
 
     /** @return URL base de la aplicación SOAT Digital */
     public String getBaseUrl() {
-        return properties.getProperty("app.base.url", "https://test.interseguro.pe/soat-digital/");
+        return getProperty("app.base.url", "https://test.interseguro.pe/soat-digital/");
     }
 
     // ==================== Propiedades del Browser ====================
 
     /** @return Navegador a utilizar (chrome, firefox, edge) */
     public String getBrowser() {
-        return properties.getProperty("browser", "chrome");
+        return getProperty("browser", "chrome");
     }
 
     /** @return true si debe ejecutar en modo headless */
     public boolean isHeadless() {
-        return Boolean.parseBoolean(properties.getProperty("browser.headless", "false"));
+        return Boolean.parseBoolean(getProperty("browser.headless", "false"));
     }
 
     /** @return true si debe maximizar la ventana del navegador */
     public boolean isMaximize() {
-        return Boolean.parseBoolean(properties.getProperty("browser.maximize", "true"));
+        return Boolean.parseBoolean(getProperty("browser.maximize", "true"));
     }
 
-    // ==================== Propiedades de Timeouts ====================
+    /** @return Modo de ejecución del navegador: local (ChromeDriver), grid (RemoteWebDriver) o contexts (Chrome compartido) */
+    public String getExecutionMode() {
+        return getProperty("execution.mode", "local");
+    }
+
+    // ==================== Propiedades del Selenium Grid ====================
+
+    /** @return URL del Selenium Grid (hub o standalone) */
+    public String getGridUrl() {
+        return getProperty("grid.url", "http://localhost:4444");
+    }
+
+    /** @return Intentos máximos de creación de sesión en el Grid */
+    public int getGridSessionMaxAttempts() {
+        return Integer.parseInt(getProperty("grid.session.max.attempts", "5"));
+    }
+
+    /** @return Backoff inicial entre reintentos de sesión en milisegundos */
+    public long getGridBackoffInitialMs() {
+        return Long.parseLong(getProperty("grid.backoff.initial.ms", "1000"));
+    }
 
-    /** @return Timeout implícito en segundos */
-    public int getImplicitTimeout() {
-        return Integer.parseInt(properties.getProperty("timeout.implicit", "10"));
+    /** @return Backoff máximo entre reintentos de sesión en milisegundos */
+    public long getGridBackoffMaxMs() {
+        return Long.parseLong(getProperty("grid.backoff.max.ms", "15000"));
     }
 
+    /** @return Tiempo máximo esperando capacidad libre en el Grid en segundos */
+    public int getGridQueueTimeoutSeconds() {
+        return Integer.parseInt(getProperty("grid.queue.timeout.seconds", "300"));
+    }
+
+    // ==================== Propiedades de Timeouts ====================
+
     /** @return Timeout de waits explícitos en segundos */
     public int getExplicitTimeout() {
-        return Integer.parseInt(properties.getProperty("timeout.explicit", "20"));
+        return Integer.parseInt(getProperty("timeout.explicit", "20"));
     }
 
     /** @return Timeout de carga de página en segundos */
     public int getPageLoadTimeout() {
-        return Integer.parseInt(properties.getProperty("timeout.page.load", "60"));
+        return Integer.parseInt(getProperty("timeout.page.load", "60"));
+    }
+
+    /** @return Timeout de la redirección a cotizacion/planes tras "COTIZAR AHORA" en segundos */
+    public int getCotizacionRedirectTimeout() {
+        return Integer.parseInt(getProperty("timeout.cotizacion.redirect", "20"));
+    }
+
+    /** @return Timeout de aparición de la sección de renovación automática en segundos */
+    public int getRenewalPopupTimeout() {
+        return Integer.parseInt(getProperty("timeout.renewal.popup", "5"));
+    }
+
+    /** @return Timeout de sondeo del mensaje de error de placa en segundos */
+    public int getErrorProbeTimeout() {
+        return Integer.parseInt(getProperty("timeout.error.probe", "3"));
+    }
+
+    /** @return Presupuesto total de espera por escenario en segundos */
+    public int getScenarioBudgetSeconds() {
+        return Integer.parseInt(getProperty("timeout.scenario.budget.seconds", "240"));
+    }
+
+    /** @return Presupuesto total de espera por paso en segundos */
+    public int getStepBudgetSeconds() {
+        return Integer.parseInt(getProperty("timeout.step.budget.seconds", "90"));
+    }
+
+    /** @return Intervalo inicial de sondeo de las esperas en milisegundos */
+    public long getWaitPollInitialMs() {
+        return Long.parseLong(getProperty("wait.poll.initial.ms", "50"));
+    }
+
+    /** @return Intervalo máximo de sondeo de las esperas en milisegundos */
+    public long getWaitPollMaxMs() {
+        return Long.parseLong(getProperty("wait.poll.max.ms", "500"));
     }
 
     // ==================== Propiedades de Screenshots ====================
 
     /** @return Directorio de almacenamiento de screenshots */
     public String getScreenshotsDir() {
-        return properties.getProperty("screenshots.dir", "target/screenshots/");
+        return getProperty("screenshots.dir", "target/screenshots/");
     }
 
     /** @return true si debe capturar screenshot en caso de fallo */
     public boolean isScreenshotOnFailure() {
-        return Boolean.parseBoolean(properties.getProperty("screenshots.on.failure", "true"));
+        return Boolean.parseBoolean(getProperty("screenshots.on.failure", "true"));
     }
 
     // ==================== Propiedades de Reintentos ====================
 
     /** @return Número máximo de reintentos para carga de página */
     public int getMaxRetryAttempts() {
-        return Integer.parseInt(properties.getProperty("retry.max.attempts", "2"));
+        return Integer.parseInt(getProperty("retry.max.attempts", "2"));
     }
 
-    /** @return Tiempo de espera entre reintentos en milisegundos */
+    /** @return Espera inicial (antes del backoff) entre reintentos en milisegundos */
     public int getRetryDelayMs() {
-        return Integer.parseInt(properties.getProperty("retry.delay.ms", "2000"));
+        return Integer.parseInt(getProperty("retry.delay.ms", "2000"));
+    }
+
+    /** @return Factor por el que se multiplica la espera en cada reintento */
+    public double getRetryBackoffMultiplier() {
+        return Double.parseDouble(getProperty("retry.backoff.multiplier", "2.0"));
+    }
+
+    /** @return Espera máxima entre reintentos en milisegundos */
+    public long getRetryBackoffMaxMs() {
+        return Long.parseLong(getProperty("retry.backoff.max.ms", "10000"));
+    }
+
+    /** @return Fracción aleatoria de cada espera (0 = fija, 1 = full jitter) */
+    public double getRetryJitterRatio() {
+        return Double.parseDouble(getProperty("retry.jitter.ratio", "0.5"));
+    }
+
+    /** @return Timeout en segundos por intento para que una página quede lista tras navegar */
+    public int getPageReadyTimeout() {
+        return Integer.parseInt(getProperty("retry.page.ready.timeout.seconds", "10"));
+    }
+
+    /** @return Archivo JSON donde se exportan las métricas de reintentos y del breaker */
+    public String getRetryMetricsFile() {
+        return getProperty("retry.metrics.file", "target/retry-metrics.json");
+    }
+
+    /** @return true si el circuit breaker compartido de entorno está activo */
+    public boolean isBreakerEnabled() {
+        return Boolean.parseBoolean(getProperty("breaker.enabled", "true"));
+    }
+
+    /** @return Fallos de entorno consecutivos (entre todos los workers) que abren el breaker */
+    public int getBreakerFailureThreshold() {
+        return Integer.parseInt(getProperty("breaker.failure.threshold", "5"));
+    }
+
+    /** @return Segundos que el breaker permanece abierto antes de dejar pasar una prueba */
+    public int getBreakerOpenSeconds() {
+        return Integer.parseInt(getProperty("breaker.open.seconds", "30"));
+    }
+
+    // ==================== Propiedades de Carga (Load Mode) ====================
+
+    /** @return Número de usuarios sintéticos concurrentes */
+    public int getLoadUsers() {
+        return Integer.parseInt(getProperty("load.users", "5"));
+    }
+
+    /** @return Duración de la rampa de subida de usuarios en segundos */
+    public int getLoadRampUpSeconds() {
+        return Integer.parseInt(getProperty("load.rampup.seconds", "30"));
+    }
+
+    /** @return Duración del estado estable (tras la rampa) en segundos */
+    public int getLoadSteadySeconds() {
+        return Integer.parseInt(getProperty("load.steady.seconds", "120"));
+    }
+
+    /** @return Tasa objetivo de journeys por minuto (0 = sin límite, lazo cerrado) */
+    public int getLoadTargetRatePerMinute() {
+        return Integer.parseInt(getProperty("load.target.rate.per.minute", "0"));
+    }
+
+    /** @return Intervalo de reporte de métricas en segundos */
+    public int getLoadReportIntervalSeconds() {
+        return Integer.parseInt(getProperty("load.report.interval.seconds", "10"));
+    }
+
+    /** @return Placa utilizada por los usuarios sintéticos */
+    public String getLoadPlaca() {
+        return getProperty("load.placa", "ABC-123");
+    }
+
+    /** @return Directorio de salida de los reportes de carga */
+    public String getLoadReportsDir() {
+        return getProperty("load.reports.dir", "target/load-reports/");
+    }
+
+    // ==================== Propiedades de la Suite API ====================
+
+    /** @return URL base del backend de cotización para la suite API */
+    public String getApiBaseUrl() {
+        return getProperty("api.base.url", "https://test.interseguro.pe/soat-digital/api/");
+    }
+
+    /** @return true si la suite API debe levantar el stub local en lugar del backend real (solo desarrollo local) */
+    public boolean isApiStubEnabled() {
+        return Boolean.parseBoolean(getProperty("api.stub.enabled", "false"));
+    }
+
+    /** @return Timeout por petición HTTP de la suite API en segundos */
+    public int getApiTimeout() {
+        return Integer.parseInt(getProperty("api.timeout.seconds", "10"));
+    }
+
+    // ==================== Propiedades de Recursos y Paralelismo ====================
+
+    /** @return true si se muestrean CPU/RSS/FDs de JVM, chromedriver y Chrome */
+    public boolean isSamplerEnabled() {
+        return Boolean.parseBoolean(getProperty("sampler.enabled", "true"));
+    }
+
+    /** @return Intervalo de muestreo de recursos en milisegundos */
+    public long getSamplerIntervalMs() {
+        return Long.parseLong(getProperty("sampler.interval.ms", "1000"));
+    }
+
+    /** @return true si el número de escenarios concurrentes se ajusta automáticamente */
+    public boolean isAdaptiveParallelismEnabled() {
+        return Boolean.parseBoolean(getProperty("parallelism.adaptive.enabled", "false"));
+    }
+
+    /** @return Mínimo de escenarios concurrentes */
+    public int getParallelismMin() {
+        return Integer.parseInt(getProperty("parallelism.min", "1"));
+    }
+
+    /** @return Máximo de escenarios concurrentes (igual al número de hilos de Cucumber) */
+    public int getParallelismMax() {
+        return Integer.parseInt(getProperty("parallelism.max", "4"));
+    }
+
+    /** @return Escenarios concurrentes al inicio de la ejecución */
+    public int getParallelismInitial() {
+        return Integer.parseInt(getProperty("parallelism.initial", "2"));
+    }
+
+    /** @return Techo de CPU del sistema en porcentaje */
+    public double getParallelismCpuCeilingPct() {
+        return Double.parseDouble(getProperty("parallelism.cpu.ceiling.pct", "85"));
+    }
+
+    /** @return Techo de memoria del sistema en porcentaje */
+    public double getParallelismMemoryCeilingPct() {
+        return Double.parseDouble(getProperty("parallelism.memory.ceiling.pct", "85"));
+    }
+
+    /** @return Intervalo mínimo entre ajustes del límite en milisegundos */
+    public long getParallelismAdjustIntervalMs() {
+        return Long.parseLong(getProperty("parallelism.adjust.interval.ms", "5000"));
+    }
+
+    // ==================== Propiedades de Trazas ====================
+
+    /** @return true si se generan trazas trace-event por escenario */
+    public boolean isTraceEnabled() {
+        return Boolean.parseBoolean(getProperty("trace.enabled", "true"));
+    }
+
+    /** @return true si además se genera la traza combinada de la suite */
+    public boolean isTraceMerged() {
+        return Boolean.parseBoolean(getProperty("trace.merged", "true"));
+    }
+
+    /** @return Directorio de salida de las trazas */
+    public String getTraceDir() {
+        return getProperty("trace.dir", "target/traces/");
+    }
+
+    // ==================== Propiedades de Screencast ====================
+
+    /** @return true si se graba el screencast de DevTools de cada escenario */
+    public boolean isScreencastEnabled() {
+        return Boolean.parseBoolean(getProperty("screencast.enabled", "false"));
+    }
+
+    /** @return Frames por segundo máximos que se conservan */
+    public int getScreencastFps() {
+        return Integer.parseInt(getProperty("screencast.fps", "5"));
+    }
+
+    /** @return Ancho máximo de los frames en píxeles */
+    public int getScreencastMaxWidth() {
+        return Integer.parseInt(getProperty("screencast.max.width", "1280"));
+    }
+
+    /** @return Alto máximo de los frames en píxeles */
+    public int getScreencastMaxHeight() {
+        return Integer.parseInt(getProperty("screencast.max.height", "720"));
+    }
+
+    /** @return Calidad JPEG de los frames (0-100) */
+    public int getScreencastQuality() {
+        return Integer.parseInt(getProperty("screencast.quality", "60"));
+    }
+
+    /** @return Segundos finales del escenario que se conservan en el buffer */
+    public int getScreencastBufferSeconds() {
+        return Integer.parseInt(getProperty("screencast.buffer.seconds", "20"));
+    }
+
+    /** @return Directorio donde se guardan los frames de escenarios fallidos */
+    public String getScreencastDir() {
+        return getProperty("screencast.dir", "target/screencasts/");
+    }
+
+    // ==================== Propiedades de Caché entre Ejecuciones ====================
+
+    /** @return Directorio de la caché local que se reutiliza entre ejecuciones */
+    public String getCacheDir() {
+        return getProperty("cache.dir", ".soat-cache/");
+    }
+
+    /** @return true si los dropdowns prueban primero la estrategia que mejor funcionó antes */
+    public boolean isDropdownLearningEnabled() {
+        return Boolean.parseBoolean(getProperty("dropdown.learning.enabled", "true"));
+    }
+
+    // ==================== Propiedades del Catálogo de Vehículos ====================
+
+    /** @return true si los Examples de marca/modelo se validan contra el catálogo antes de abrir el navegador */
+    public boolean isCatalogValidationEnabled() {
+        return Boolean.parseBoolean(getProperty("catalog.validation.enabled", "true"));
+    }
+
+    /** @return true si el catálogo se vuelve a capturar (con navegador) cuando falta o caducó y un escenario lo necesita */
+    public boolean isCatalogAutoRefresh() {
+        return Boolean.parseBoolean(getProperty("catalog.auto.refresh", "false"));
+    }
+
+    /** @return Horas tras las cuales el catálogo se considera desactualizado */
+    public long getCatalogRefreshHours() {
+        return Long.parseLong(getProperty("catalog.refresh.hours", "24"));
+    }
+
+    /** @return Mínimo de marcas para aceptar un catálogo capturado (rechaza capturas vacías o parciales) */
+    public int getCatalogMinMakes() {
+        return Integer.parseInt(getProperty("catalog.min.makes", "5"));
+    }
+
+    /** @return Placa usada para llegar a la página de planes al capturar el catálogo */
+    public String getCatalogPlaca() {
+        return getProperty("catalog.placa", "ABC-123");
+    }
+
+    // ==================== Propiedades del Historial de Rendimiento ====================
+
+    /** @return true si cada escenario se agrega al historial de rendimiento */
+    public boolean isPerfHistoryEnabled() {
+        return Boolean.parseBoolean(getProperty("perf.history.enabled", "true"));
+    }
+
+    /** @return Directorio del historial de rendimiento (fuera de target/ para sobrevivir a mvn clean) */
+    public String getPerfHistoryDir() {
+        return getProperty("perf.history.dir", ".soat-cache/perf-history/");
+    }
+
+    /** @return Commit a registrar; vacío para usar "git rev-parse HEAD" */
+    public String getPerfCommit() {
+        return getProperty("perf.commit", "");
+    }
+
+    /** @return Número de ejecuciones anteriores que forman la línea base móvil */
+    public int getPerfBaselineRuns() {
+        return Integer.parseInt(getProperty("perf.baseline.runs", "10"));
+    }
+
+    /** @return Métricas (nombres de span o "scenario") evaluadas por el gate, separadas por comas */
+    public String getPerfGateMetrics() {
+        return getProperty("perf.gate.metrics", "PlanSelectionPage.selectFromDropdown,PaymentPage.waitForPageLoad,scenario");
+    }
+
+    /** @return Empeoramiento máximo tolerado de la mediana, en porcentaje */
+    public double getPerfGateThresholdPct() {
+        return Double.parseDouble(getProperty("perf.gate.threshold.pct", "20"));
+    }
+
+    /** @return Nivel de significancia de la prueba estadística del gate */
+    public double getPerfGateAlpha() {
+        return Double.parseDouble(getProperty("perf.gate.alpha", "0.05"));
+    }
+
+    /** @return Muestras mínimas (actual y línea base) para evaluar una métrica */
+    public int getPerfGateMinSamples() {
+        return Integer.parseInt(getProperty("perf.gate.min.samples", "3"));
+    }
+
+    // ==================== Propiedades del Dashboard en Vivo ====================
+
+    /** @return true si se sirve el dashboard SSE de la ejecución en curso */
+    public boolean isDashboardEnabled() {
+        return Boolean.parseBoolean(getProperty("dashboard.enabled", "false"));
+    }
+
+    /** @return Puerto HTTP del dashboard (0 = puerto libre aleatorio) */
+    public int getDashboardPort() {
+        return Integer.parseInt(getProperty("dashboard.port", "8099"));
+    }
+
+    /** @return Interfaz donde escucha el dashboard (vacío = solo loopback; ej: 0.0.0.0 para exponerlo) */
+    public String getDashboardBindAddress() {
+        return getProperty("dashboard.bind.address", "").trim();
+    }
+
+    // ==================== Propiedades de Checkpoints del Navegador ====================
+
+    /** @return true si el prefijo de cotización por placa se restaura desde un checkpoint */
+    public boolean isCheckpointEnabled() {
+        return Boolean.parseBoolean(getProperty("checkpoint.enabled", "false"));
+    }
+
+    /** @return Timeout en segundos para validar la página restaurada desde un checkpoint */
+    public int getCheckpointValidationTimeout() {
+        return Integer.parseInt(getProperty("checkpoint.validation.timeout.seconds", "10"));
+    }
+
+    // ==================== Propiedades de Throttling ====================
+
+    /** @return Perfil de red/CPU por defecto (none, 3g, slow-4g, cpu-4x, mobile); el tag @profile-xxx lo reemplaza */
+    public String getThrottlingProfile() {
+        return getProperty("throttling.profile", "none");
+    }
+
+    // ==================== Propiedades de Logging ====================
+
+    /**
+     * @param category Categoría del logger (ej: Dropdown)
+     * @return Nivel de la categoría (log.level.&lt;categoría&gt;) o el global (log.level)
+     */
+    public String getLogLevel(String category) {
+        return getProperty("log.level." + category, getProperty("log.level", "INFO"));
+    }
+
+    /** @return Directorio de logs (suite.jsonl y logs por escenario) */
+    public String getLogDir() {
+        return getProperty("log.dir", "target/logs/");
+    }
+
+    /** @return Capacidad del buffer circular de eventos (se redondea a potencia de 2) */
+    public int getLogBufferSize() {
+        return Integer.parseInt(getProperty("log.buffer.size", "8192"));
+    }
+
+    /** @return true si además de la consola se escribe log.dir/suite.jsonl */
+    public boolean isLogJsonEnabled() {
+        return Boolean.parseBoolean(getProperty("log.json", "true"));
+    }
+
+    /** @return Logs por escenario que se conservan: failed, all o none */
+    public String getLogScenarioFiles() {
+        return getProperty("log.scenario.files", "failed");
+    }
+
+    // ==================== Propiedades de Snapshots del DOM y Locators ====================
+
+    /** @return true si se guarda un snapshot del DOM de cada estado de página (una vez por ejecución) */
+    public boolean isDomSnapshotsEnabled() {
+        return Boolean.parseBoolean(getProperty("dom.snapshots.enabled", "false"));
+    }
+
+    /** @return Directorio de los snapshots del DOM (&lt;estado&gt;.html.gz) */
+    public String getDomSnapshotsDir() {
+        return getProperty("dom.snapshots.dir", "target/dom-snapshots/");
+    }
+
+    /** @return Evaluaciones por locator y snapshot para medir su costo */
+    public int getLocatorsIterations() {
+        return Integer.parseInt(getProperty("locators.iterations", "50"));
+    }
+
+    /** @return Microsegundos por evaluación a partir de los que un locator se marca como lento */
+    public double getLocatorsSlowThresholdUs() {
+        return Double.parseDouble(getProperty("locators.slow.threshold.us", "500"));
+    }
+
+    /** @return Valor que reemplaza %s en las plantillas XPath (ej: opción de dropdown) */
+    public String getLocatorsSampleValue() {
+        return getProperty("locators.sample.value", "TOYOTA");
+    }
+
+    /** @return Directorio del reporte de costo de locators */
+    public String getLocatorsReportDir() {
+        return getProperty("locators.report.dir", "target/locator-report/");
+    }
+
+    // ==================== Propiedades de Snapshots de Fallos y Replay ====================
+
+    /** @return true si se guarda la página al terminar cada paso (a disco solo si el escenario falla) */
+    public boolean isFailureSnapshotsEnabled() {
+        return Boolean.parseBoolean(getProperty("failure.snapshots.enabled", "false"));
+    }
+
+    /** @return true si además del DOM se captura el MHTML de la página (requiere CDP) */
+    public boolean isFailureSnapshotsMhtmlEnabled() {
+        return Boolean.parseBoolean(getProperty("failure.snapshots.mhtml", "true"));
+    }
+
+    /** @return Pasos más recientes que se conservan por escenario */
+    public int getFailureSnapshotsMaxSteps() {
+        return Integer.parseInt(getProperty("failure.snapshots.max.steps", "20"));
+    }
+
+    /** @return Directorio de los snapshots de escenarios fallidos */
+    public String getFailureSnapshotsDir() {
+        return getProperty("failure.snapshots.dir", "target/failure-snapshots/");
+    }
+
+    /** @return Snapshot que carga el replay: mhtml (con estilos) o dom */
+    public String getReplayFormat() {
+        return getProperty("replay.format", "mhtml");
+    }
+
+    // ==================== Propiedades de Regresión Visual ====================
+
+    /** @return true si cada captura del Resumen de compra se compara con su baseline */
+    public boolean isVisualEnabled() {
+        return Boolean.parseBoolean(getProperty("visual.enabled", "false"));
+    }
+
+    /** @return Directorio de baselines por fila de Examples (&lt;escenario&gt;_L&lt;línea&gt;.png) */
+    public String getVisualBaselineDir() {
+        return getProperty("visual.baseline.dir", "src/test/resources/visual-baselines/");
+    }
+
+    /** @return Directorio de capturas (actual/), diffs (diff/) y reporte */
+    public String getVisualDir() {
+        return getProperty("visual.dir", "target/visual/");
+    }
+
+    /** @return Distancia de Hamming máxima del hash perceptual (0-64) antes del diff por píxel */
+    public int getVisualHashMaxDistance() {
+        return Integer.parseInt(getProperty("visual.hash.max.distance", "12"));
+    }
+
+    /** @return Diferencia máxima por canal (0-255) que no cuenta como píxel distinto */
+    public int getVisualPixelTolerance() {
+        return Integer.parseInt(getProperty("visual.pixel.tolerance", "16"));
+    }
+
+    /** @return Proporción máxima de píxeles distintos para considerar que la captura coincide */
+    public double getVisualMaxDiffRatio() {
+        return Double.parseDouble(getProperty("visual.max.diff.ratio", "0.0001"));
+    }
+
+    /** @return Lado en píxeles de los tiles que se comparan en paralelo */
+    public int getVisualTileSize() {
+        return Integer.parseInt(getProperty("visual.tile.size", "64"));
+    }
+
+    /** @return Regiones que no se comparan: "x,y,ancho,alto;x,y,ancho,alto" */
+    public String getVisualIgnoreRegions() {
+        return getProperty("visual.ignore.regions", "");
+    }
+
+    /** @return true si una captura distinta al baseline hace fallar el escenario (o el lote) */
+    public boolean isVisualFailOnMismatch() {
+        return Boolean.parseBoolean(getProperty("visual.fail.on.mismatch", "true"));
+    }
+
+    /** @return true si las capturas reemplazan a los baselines existentes */
+    public boolean isVisualUpdateBaselines() {
+        return Boolean.parseBoolean(getProperty("visual.update.baselines", "false"));
+    }
+
+    /** @return Hilos de fondo para las comparaciones durante la ejecución */
+    public int getVisualThreads() {
+        return Integer.parseInt(getProperty("visual.threads", "2"));
+    }
+
+    // ==================== WATCHDOG DE SESIONES ====================
+
+    /** @return true si se vigilan las sesiones del navegador y sus procesos */
+    public boolean isWatchdogEnabled() {
+        return Boolean.parseBoolean(getProperty("watchdog.enabled", "true"));
+    }
+
+    /** @return Vida máxima de una sesión en segundos antes de matar su árbol de procesos */
+    public int getWatchdogMaxSessionSeconds() {
+        return Integer.parseInt(getProperty("watchdog.max.session.seconds", "600"));
+    }
+
+    /** @return Segundos entre revisiones del watchdog */
+    public int getWatchdogIntervalSeconds() {
+        return Integer.parseInt(getProperty("watchdog.interval.seconds", "15"));
+    }
+
+    /** @return Segundos que se espera a driver.quit() antes de considerarlo colgado */
+    public int getWatchdogQuitTimeoutSeconds() {
+        return Integer.parseInt(getProperty("watchdog.quit.timeout.seconds", "20"));
     }
 }
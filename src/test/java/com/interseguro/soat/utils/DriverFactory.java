@@ -1,15 +1,26 @@
 package com.interseguro.soat.utils;
 
+import com.interseguro.soat.telemetry.WebDriverTraceListener;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.time.Duration;
 
 /**
  * Factoría para la gestión del WebDriver (Singleton con ThreadLocal).
- * Configura e inicializa el navegador Chrome para las pruebas automatizadas.
+ * Configura e inicializa el navegador Chrome para las pruebas automatizadas,
+ * según execution.mode:
+ *   - local:    un proceso ChromeDriver/Chrome por escenario
+ *   - grid:     sesiones RemoteWebDriver en un Selenium Grid
+ *   - contexts: un contexto aislado (tipo incógnito) por escenario dentro de un Chrome compartido
+ *
+ * Las sesiones local y grid quedan bajo {@link SessionWatchdog}, que mata sus procesos
+ * si no se cierran a tiempo.
  *
  * [IA - GitHub Copilot]: Se utilizó IA para generar la configuración óptima
  * del ChromeDriver incluyendo opciones de rendimiento y estabilidad.
@@ -17,6 +28,7 @@ import java.time.Duration;
 public class DriverFactory {
 
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> rawDriverThreadLocal = new ThreadLocal<>();
 
     private DriverFactory() {
         // Constructor privado - patrón Singleton
@@ -29,39 +41,135 @@ public class DriverFactory {
      */
     public static WebDriver getDriver() {
         if (driverThreadLocal.get() == null) {
-            WebDriverManager.chromedriver().setup();
             ConfigManager config = ConfigManager.getInstance();
+            ChromeOptions options = buildChromeOptions(config);
 
-            ChromeOptions options = new ChromeOptions();
-            if (config.isMaximize()) {
-                options.addArguments("--start-maximized");
-            }
-            if (config.isHeadless()) {
-                options.addArguments("--headless=new");
+            WebDriver driver;
+            if (isGridMode()) {
+                driver = GridScheduler.getInstance().createSession(options);
+                SessionWatchdog.getInstance().track(driver, -1);
+            } else if (isContextsMode()) {
+                driver = BrowserContextPool.getInstance().acquire(options);
+            } else {
+                WebDriverManager.chromedriver().setup();
+                // Servicio explícito: su puerto identifica el PID del chromedriver de esta sesión
+                ChromeDriverService service = ChromeDriverService.createDefaultService();
+                driver = new ChromeDriver(service, options);
+                SessionWatchdog.getInstance().track(driver,
+                        ProcessTree.jvmChildWithArgument("--port=" + service.getUrl().getPort()));
             }
-            options.addArguments("--disable-notifications");
-            options.addArguments("--disable-popup-blocking");
-            options.addArguments("--remote-allow-origins=*");
-            options.addArguments("--disable-blink-features=AutomationControlled");
-
-            WebDriver driver = new ChromeDriver(options);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitTimeout()));
+            // Sin implicit wait: se sumaría a las esperas explícitas de WaitEngine
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
-            driver.manage().window().maximize();
+            if (!isContextsMode()) {
+                driver.manage().window().maximize();
+            }
+            // Perfil de red/CPU del escenario (tag @profile-xxx o throttling.profile)
+            ThrottlingProfile.current().apply(driver);
 
-            driverThreadLocal.set(driver);
+            rawDriverThreadLocal.set(driver);
+            // Con trazas activas cada comando WebDriver queda registrado como span
+            driverThreadLocal.set(config.isTraceEnabled()
+                    ? new EventFiringDecorator<>(new WebDriverTraceListener()).decorate(driver)
+                    : driver);
         }
         return driverThreadLocal.get();
     }
 
     /**
-     * Cierra el navegador y limpia la instancia del driver.
+     * Obtiene el driver sin decorar (sin listener de trazas) del hilo actual.
+     * Útil para CDP y para identificar la sesión en Grid / contextos.
+     *
+     * @return WebDriver original, o null si no hay navegador
+     */
+    public static WebDriver getRawDriver() {
+        return rawDriverThreadLocal.get();
+    }
+
+    /**
+     * Indica si el hilo actual tiene un navegador abierto, sin crearlo.
+     *
+     * @return true si existe un WebDriver para el hilo actual
+     */
+    public static boolean hasDriver() {
+        return driverThreadLocal.get() != null;
+    }
+
+    /**
+     * @return true si las sesiones se crean en un Selenium Grid (execution.mode=grid)
+     */
+    public static boolean isGridMode() {
+        return "grid".equalsIgnoreCase(ConfigManager.getInstance().getExecutionMode());
+    }
+
+    /**
+     * @return true si cada escenario usa un contexto aislado de un Chrome compartido (execution.mode=contexts)
+     */
+    public static boolean isContextsMode() {
+        return "contexts".equalsIgnoreCase(ConfigManager.getInstance().getExecutionMode());
+    }
+
+    /**
+     * Obtiene los tiempos en cola y en ejecución de la sesión del Grid del hilo actual.
+     *
+     * @return Sesión del Grid, o null en ejecución local o si no hay navegador
+     */
+    public static GridScheduler.GridSession getGridSession() {
+        WebDriver driver = rawDriverThreadLocal.get();
+        if (!isGridMode() || !(driver instanceof RemoteWebDriver)) {
+            return null;
+        }
+        return GridScheduler.getInstance().getSession(((RemoteWebDriver) driver).getSessionId());
+    }
+
+    /**
+     * Cierra el navegador y limpia la instancia del driver. El quit lo vigila
+     * {@link SessionWatchdog}: si se cuelga o deja procesos vivos, los mata.
      */
     public static void quitDriver() {
-        WebDriver driver = driverThreadLocal.get();
+        WebDriver driver = rawDriverThreadLocal.get();
         if (driver != null) {
-            driver.quit();
-            driverThreadLocal.remove();
+            try {
+                if (isGridMode() && driver instanceof RemoteWebDriver) {
+                    GridScheduler.getInstance().sessionClosed(((RemoteWebDriver) driver).getSessionId());
+                }
+                if (isContextsMode()) {
+                    BrowserContextPool.getInstance().release(driver);
+                } else {
+                    SessionWatchdog.getInstance().quit(driver);
+                }
+            } finally {
+                forgetDriver();
+            }
+        }
+    }
+
+    /**
+     * Olvida el driver del hilo actual sin cerrarlo (su sesión ya la cerró {@link SessionWatchdog}).
+     */
+    static void forgetDriver() {
+        driverThreadLocal.remove();
+        rawDriverThreadLocal.remove();
+    }
+
+    /**
+     * Construye las opciones de Chrome comunes a la ejecución local y en Grid.
+     *
+     * @param config Configuración del framework
+     * @return Opciones de Chrome
+     */
+    private static ChromeOptions buildChromeOptions(ConfigManager config) {
+        ChromeOptions options = new ChromeOptions();
+        if (config.isMaximize()) {
+            options.addArguments("--start-maximized");
+        }
+        if (config.isHeadless()) {
+            options.addArguments("--headless=new");
         }
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        return options;
     }
 }
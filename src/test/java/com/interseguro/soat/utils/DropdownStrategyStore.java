@@ -0,0 +1,252 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Memoria persistente de qué estrategia funciona en cada dropdown custom de Vue.js.
+ *
+ * Para cada dropdown (make, model), fase y entorno (app.base.url)
+ * acumula éxitos, fallos y tiempo medio de cada estrategia, y devuelve el orden en
+ * que conviene probarlas: primero la de mayor tasa de éxito (suavizada) y, a igualdad,
+ * la más rápida; las estrategias sin historial conservan el orden original.
+ * Solo se usa para la apertura: la selección de opciones tiene un orden fijo
+ * (texto exacto antes que contains) para no elegir una opción parecida.
+ *
+ * El historial se guarda en cache.dir/dropdown-strategies.json al terminar la JVM
+ * y se reutiliza en las siguientes ejecuciones.
+ *
+ * También lleva, por escenario, los intentos realizados frente a los que se esperan con el
+ * orden fijo original. Ese orden no se ejecuta, así que su costo es una ESTIMACIÓN a partir
+ * de la tasa de éxito histórica de cada estrategia ({@link #expectedAttempts}), y el reporte
+ * lo presenta como tal.
+ *
+ * Patrón: Singleton
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar el ranking de estrategias
+ * y la persistencia del historial entre ejecuciones.
+ */
+public final class DropdownStrategyStore {
+
+    private static final Log LOG = Log.get("Dropdown");
+
+    private static final Json JSON = new Json();
+    private static final String FILE_NAME = "dropdown-strategies.json";
+    private static final ThreadLocal<ScenarioStats> SCENARIO = ThreadLocal.withInitial(ScenarioStats::new);
+    private static DropdownStrategyStore instance;
+
+    private final Path file;
+    private final String environment;
+    private final boolean enabled;
+    /** clave "entorno|dropdown|fase" → estrategia → {éxitos, fallos, ms acumulados de los éxitos} */
+    private final Map<String, Map<String, long[]>> stats = new LinkedHashMap<>();
+
+    private DropdownStrategyStore(ConfigManager config) {
+        this.file = Paths.get(config.getCacheDir(), FILE_NAME);
+        this.environment = config.getBaseUrl();
+        this.enabled = config.isDropdownLearningEnabled();
+        if (enabled) {
+            load();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::save, "dropdown-strategies-save"));
+        }
+    }
+
+    /**
+     * Obtiene la instancia única del almacén.
+     *
+     * @return Instancia del DropdownStrategyStore
+     */
+    public static synchronized DropdownStrategyStore getInstance() {
+        if (instance == null) {
+            instance = new DropdownStrategyStore(ConfigManager.getInstance());
+        }
+        return instance;
+    }
+
+    // ==================== ORDEN Y REGISTRO ====================
+
+    /**
+     * Devuelve las estrategias en el orden en que conviene probarlas.
+     *
+     * @param dropdown   Identificador del dropdown (ej: make)
+     * @param phase      Fase (ej: open, select)
+     * @param strategies Estrategias en su orden original
+     * @return Estrategias ordenadas por historial (orden original si el aprendizaje está deshabilitado)
+     */
+    public synchronized <E extends Enum<E>> List<E> order(String dropdown, String phase, E[] strategies) {
+        List<E> ordered = new ArrayList<>(Arrays.asList(strategies));
+        if (!enabled) {
+            return ordered;
+        }
+        Map<String, long[]> byStrategy = stats.getOrDefault(key(dropdown, phase), Map.of());
+        // Orden estable: a igual puntuación se mantiene el orden original
+        ordered.sort(Comparator.<E>comparingDouble(s -> -successRate(byStrategy.get(s.name())))
+                .thenComparingDouble(s -> averageMillis(byStrategy.get(s.name()))));
+        return ordered;
+    }
+
+    /**
+     * Registra el resultado de un intento.
+     *
+     * @param dropdown Identificador del dropdown
+     * @param phase    Fase del intento
+     * @param strategy Estrategia usada
+     * @param success  true si la estrategia funcionó
+     * @param millis   Duración del intento
+     */
+    public synchronized void record(String dropdown, String phase, Enum<?> strategy, boolean success, long millis) {
+        if (!enabled) {
+            return;
+        }
+        long[] counters = stats.computeIfAbsent(key(dropdown, phase), k -> new LinkedHashMap<>())
+                .computeIfAbsent(strategy.name(), k -> new long[3]);
+        if (success) {
+            counters[0]++;
+            counters[2] += millis;
+        } else {
+            counters[1]++;
+        }
+    }
+
+    /**
+     * Intentos esperados con un orden dado, según la tasa de éxito histórica (suavizada) de cada
+     * estrategia: suma de las probabilidades de que los intentos previos hayan fallado, probando
+     * las estrategias en ciclo hasta maxAttempts.
+     *
+     * @param dropdown    Identificador del dropdown
+     * @param phase       Fase
+     * @param order       Orden en que se probarían las estrategias
+     * @param maxAttempts Intentos máximos
+     * @return Intentos esperados (estimación)
+     */
+    public synchronized <E extends Enum<E>> double expectedAttempts(String dropdown, String phase,
+                                                                     List<E> order, int maxAttempts) {
+        Map<String, long[]> byStrategy = stats.getOrDefault(key(dropdown, phase), Map.of());
+        double expected = 0;
+        double allFailed = 1;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            expected += allFailed;
+            allFailed *= 1 - successRate(byStrategy.get(order.get(attempt % order.size()).name()));
+        }
+        return expected;
+    }
+
+    // ==================== TELEMETRÍA POR ESCENARIO ====================
+
+    /**
+     * Registra cuántos intentos hizo una fase frente a los estimados para el orden fijo.
+     *
+     * @param attempts         Intentos realizados con el orden aprendido
+     * @param baselineAttempts Intentos estimados para el orden original ({@link #expectedAttempts}),
+     *                         o los realizados si el orden usado fue el original
+     * @param costPerAttemptMs Costo fijo de cada intento fallido (pausa), 0 si no aplica
+     */
+    public static void recordAttempts(int attempts, double baselineAttempts, long costPerAttemptMs) {
+        ScenarioStats scenario = SCENARIO.get();
+        scenario.attempts += attempts;
+        scenario.baselineAttempts += baselineAttempts;
+        scenario.savedMillis += (baselineAttempts - attempts) * costPerAttemptMs;
+    }
+
+    /**
+     * Devuelve y reinicia el resumen de intentos del escenario del hilo actual.
+     *
+     * @return Resumen, o null si el escenario no usó dropdowns
+     */
+    public static String endScenario() {
+        ScenarioStats scenario = SCENARIO.get();
+        SCENARIO.remove();
+        if (scenario.attempts == 0) {
+            return null;
+        }
+        return String.format(Locale.ROOT,
+                "Intentos en dropdowns: %d | orden fijo, estimado por historial: %.1f"
+                        + " | intentos ahorrados (estimado): %.1f | tiempo ahorrado (estimado): %.0f ms",
+                scenario.attempts, scenario.baselineAttempts,
+                scenario.baselineAttempts - scenario.attempts, scenario.savedMillis);
+    }
+
+    // ==================== PERSISTENCIA ====================
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            Map<String, Object> stored = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            stored.forEach((key, value) -> {
+                Map<String, long[]> byStrategy = new LinkedHashMap<>();
+                ((Map<?, ?>) value).forEach((strategy, counters) -> {
+                    List<?> values = (List<?>) counters;
+                    long[] parsed = new long[3];
+                    for (int i = 0; i < parsed.length && i < values.size(); i++) {
+                        parsed[i] = ((Number) values.get(i)).longValue();
+                    }
+                    byStrategy.put((String) strategy, parsed);
+                });
+                stats.put(key, byStrategy);
+            });
+        } catch (IOException | JsonException | ClassCastException e) {
+            LOG.warn("Historial de estrategias ilegible, se empieza de cero: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Guarda el historial en disco (se invoca automáticamente al terminar la JVM).
+     */
+    public synchronized void save() {
+        if (!enabled || stats.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Map<String, List<Long>>> serializable = new LinkedHashMap<>();
+            stats.forEach((key, byStrategy) -> {
+                Map<String, List<Long>> counters = new LinkedHashMap<>();
+                byStrategy.forEach((strategy, values) -> counters.put(strategy, Arrays.stream(values).boxed().toList()));
+                serializable.put(key, counters);
+            });
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, JSON.toJson(serializable), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("No se pudo guardar el historial de estrategias: " + e.getMessage());
+        }
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private String key(String dropdown, String phase) {
+        return environment + "|" + dropdown + "|" + phase;
+    }
+
+    /** Tasa de éxito con suavizado de Laplace: sin historial vale 0.5 */
+    private static double successRate(long[] counters) {
+        return counters == null ? 0.5 : (counters[0] + 1.0) / (counters[0] + counters[1] + 2.0);
+    }
+
+    private static double averageMillis(long[] counters) {
+        return counters == null || counters[0] == 0 ? Double.MAX_VALUE : (double) counters[2] / counters[0];
+    }
+
+    /**
+     * Intentos del escenario actual frente a la estimación del orden fijo.
+     */
+    private static final class ScenarioStats {
+        private int attempts;
+        private double baselineAttempts;
+        private double savedMillis;
+    }
+}
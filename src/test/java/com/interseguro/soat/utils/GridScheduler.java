@@ -0,0 +1,327 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Planificador de sesiones sobre un Selenium Grid (standalone o hub + nodos).
+ * Antes de pedir una sesión consulta la capacidad de los nodos (/status) y la
+ * longitud de la cola de sesiones (/graphql); si el Grid está saturado espera
+ * con backoff exponencial, y reintenta también cuando la creación de la sesión falla.
+ *
+ * Mide por separado el tiempo en cola (desde la petición hasta que el Grid
+ * entrega la sesión) y el tiempo de ejecución (desde la entrega hasta el quit).
+ *
+ * Patrón: Singleton
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar la consulta de
+ * capacidad del Grid y la política de reintentos con backoff.
+ */
+public final class GridScheduler {
+
+    private static final Log LOG = Log.get("Grid");
+
+    private static final Json JSON = new Json();
+    private static final String QUEUE_QUERY = "{ grid { sessionQueueSize maxSession sessionCount } }";
+    private static GridScheduler instance;
+
+    private final ConfigManager config;
+    private final URL gridUrl;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final Map<SessionId, GridSession> activeSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionsCreated = new AtomicInteger();
+    private final AtomicInteger saturationWaits = new AtomicInteger();
+    private final AtomicInteger creationRetries = new AtomicInteger();
+    private final AtomicLong totalQueuedMillis = new AtomicLong();
+    private final AtomicLong totalExecutionMillis = new AtomicLong();
+
+    private GridScheduler(ConfigManager config) {
+        this.config = config;
+        try {
+            this.gridUrl = new URL(config.getGridUrl());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("[Grid] URL inválida: " + config.getGridUrl(), e);
+        }
+    }
+
+    /**
+     * Obtiene la instancia única del GridScheduler.
+     *
+     * @return Instancia del GridScheduler
+     */
+    public static synchronized GridScheduler getInstance() {
+        if (instance == null) {
+            instance = new GridScheduler(ConfigManager.getInstance());
+        }
+        return instance;
+    }
+
+    // ==================== SESIONES ====================
+
+    /**
+     * Crea una sesión remota respetando la capacidad del Grid. Las esperas por saturación
+     * solo las limita grid.queue.timeout.seconds; grid.session.max.attempts cuenta únicamente
+     * los intentos reales de creación.
+     *
+     * @param capabilities Capacidades del navegador (ej: ChromeOptions)
+     * @return RemoteWebDriver conectado al Grid
+     */
+    public RemoteWebDriver createSession(Capabilities capabilities) {
+        long requestedAt = System.nanoTime();
+        long backoff = config.getGridBackoffInitialMs();
+        int maxAttempts = config.getGridSessionMaxAttempts();
+        long queueDeadline = requestedAt + Duration.ofSeconds(config.getGridQueueTimeoutSeconds()).toNanos();
+
+        int attempt = 0;
+        while (true) {
+            GridCapacity capacity = fetchCapacity();
+            if (capacity != null && capacity.isSaturated()) {
+                if (System.nanoTime() > queueDeadline) {
+                    throw new SessionNotCreatedException("[Grid] Saturado durante más de "
+                            + config.getGridQueueTimeoutSeconds() + " s (" + capacity + ")");
+                }
+                saturationWaits.incrementAndGet();
+                LOG.info("Saturado (" + capacity + "), esperando " + backoff + " ms...");
+                sleep(backoff);
+                backoff = nextBackoff(backoff);
+                continue;
+            }
+            attempt++;
+            try {
+                RemoteWebDriver driver = new RemoteWebDriver(gridUrl, capabilities);
+                long queuedMillis = (System.nanoTime() - requestedAt) / 1_000_000;
+                GridSession session = new GridSession(queuedMillis);
+                activeSessions.put(driver.getSessionId(), session);
+                sessionsCreated.incrementAndGet();
+                totalQueuedMillis.addAndGet(queuedMillis);
+                LOG.info("Sesión " + driver.getSessionId() + " creada tras " + queuedMillis + " ms en cola");
+                return driver;
+            } catch (SessionNotCreatedException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                creationRetries.incrementAndGet();
+                LOG.warn("No se pudo crear la sesión (intento " + attempt + "/" + maxAttempts
+                        + "), reintentando en " + backoff + " ms: " + firstLine(e.getMessage()));
+                sleep(backoff);
+                backoff = nextBackoff(backoff);
+            }
+        }
+    }
+
+    /**
+     * Registra el cierre de una sesión y acumula su tiempo de ejecución.
+     *
+     * @param sessionId Identificador de la sesión cerrada
+     * @return Sesión cerrada con sus tiempos, o null si no era del Grid
+     */
+    public GridSession sessionClosed(SessionId sessionId) {
+        GridSession session = sessionId == null ? null : activeSessions.remove(sessionId);
+        if (session != null) {
+            session.close();
+            totalExecutionMillis.addAndGet(session.getExecutionMillis());
+        }
+        return session;
+    }
+
+    /**
+     * @param sessionId Identificador de la sesión
+     * @return Sesión activa, o null si no existe
+     */
+    public GridSession getSession(SessionId sessionId) {
+        return sessionId == null ? null : activeSessions.get(sessionId);
+    }
+
+    // ==================== CAPACIDAD ====================
+
+    /**
+     * Consulta la capacidad del Grid: slots libres en nodos disponibles y cola de sesiones.
+     *
+     * @return Capacidad actual, o null si el Grid no responde (se intenta la sesión igualmente)
+     */
+    @SuppressWarnings("unchecked")
+    public GridCapacity fetchCapacity() {
+        try {
+            Map<String, Object> status = JSON.toType(get("/status"), Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            int totalSlots = 0;
+            int freeSlots = 0;
+            for (Map<String, Object> node : (List<Map<String, Object>>) value.getOrDefault("nodes", List.of())) {
+                if (!"UP".equals(node.get("availability"))) {
+                    continue;
+                }
+                List<Map<String, Object>> slots = (List<Map<String, Object>>) node.getOrDefault("slots", List.of());
+                long busy = slots.stream().filter(slot -> slot.get("session") != null).count();
+                // Un nodo expone un slot por stereotype, pero su concurrencia real la limita maxSessions
+                int maxSessions = ((Number) node.getOrDefault("maxSessions", slots.size())).intValue();
+                totalSlots += Math.min(slots.size(), maxSessions);
+                freeSlots += (int) Math.max(0, Math.min(slots.size() - busy, maxSessions - busy));
+            }
+            return new GridCapacity(totalSlots, freeSlots, fetchQueueSize());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("No se pudo consultar la capacidad: " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int fetchQueueSize() throws IOException, InterruptedException {
+        try {
+            String body = post("/graphql", JSON.toJson(Map.of("query", QUEUE_QUERY)));
+            Map<String, Object> response = JSON.toType(body, Json.MAP_TYPE);
+            Map<String, Object> data = (Map<String, Object>) response.get("data");
+            Map<String, Object> grid = (Map<String, Object>) data.get("grid");
+            return ((Number) grid.get("sessionQueueSize")).intValue();
+        } catch (RuntimeException e) {
+            // Standalone antiguos sin GraphQL: se asume cola vacía
+            return 0;
+        }
+    }
+
+    // ==================== REPORTE ====================
+
+    /**
+     * Imprime el resumen de uso del Grid: sesiones, esperas y tiempos en cola vs. ejecución.
+     */
+    public void printSummary() {
+        int sessions = sessionsCreated.get();
+        if (sessions == 0) {
+            return;
+        }
+        LOG.info("Sesiones creadas: " + sessions
+                + " | Esperas por saturación: " + saturationWaits.get()
+                + " | Reintentos de creación: " + creationRetries.get());
+        LOG.info("Tiempo en cola: total " + totalQueuedMillis.get() + " ms, promedio "
+                + totalQueuedMillis.get() / sessions + " ms");
+        LOG.info("Tiempo en ejecución: total " + totalExecutionMillis.get() + " ms, promedio "
+                + totalExecutionMillis.get() / sessions + " ms");
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gridUrl + path))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private String post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gridUrl + path))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    /**
+     * Backoff exponencial (x2) con jitter del ±20% y tope en grid.backoff.max.ms.
+     */
+    private long nextBackoff(long current) {
+        long doubled = Math.min(current * 2, config.getGridBackoffMaxMs());
+        long jitter = (long) (doubled * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Math.max(100, doubled + jitter);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("[Grid] Espera de sesión interrumpida", e);
+        }
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newLine = message.indexOf('\n');
+        return newLine < 0 ? message : message.substring(0, newLine);
+    }
+
+    // ==================== MODELO ====================
+
+    /**
+     * Fotografía de la capacidad del Grid.
+     */
+    public static class GridCapacity {
+
+        private final int totalSlots;
+        private final int freeSlots;
+        private final int queueSize;
+
+        GridCapacity(int totalSlots, int freeSlots, int queueSize) {
+            this.totalSlots = totalSlots;
+            this.freeSlots = freeSlots;
+            this.queueSize = queueSize;
+        }
+
+        /** @return true si no hay slots libres para atender la cola más una nueva sesión */
+        public boolean isSaturated() {
+            return totalSlots > 0 && freeSlots <= queueSize;
+        }
+
+        /** @return Slots totales en nodos disponibles */
+        public int getTotalSlots() {
+            return totalSlots;
+        }
+
+        @Override
+        public String toString() {
+            return "slots libres " + freeSlots + "/" + totalSlots + ", cola " + queueSize;
+        }
+    }
+
+    /**
+     * Tiempos de una sesión del Grid: en cola y en ejecución.
+     */
+    public static class GridSession {
+
+        private final long queuedMillis;
+        private final long startedNanos = System.nanoTime();
+        private long executionMillis = -1;
+
+        GridSession(long queuedMillis) {
+            this.queuedMillis = queuedMillis;
+        }
+
+        void close() {
+            executionMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+        }
+
+        /** @return Milisegundos esperando a que el Grid entregara la sesión */
+        public long getQueuedMillis() {
+            return queuedMillis;
+        }
+
+        /** @return Milisegundos de ejecución (hasta ahora si la sesión sigue activa) */
+        public long getExecutionMillis() {
+            return executionMillis >= 0 ? executionMillis : (System.nanoTime() - startedNanos) / 1_000_000;
+        }
+    }
+}
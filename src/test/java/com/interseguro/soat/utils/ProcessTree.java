@@ -0,0 +1,196 @@
+package com.interseguro.soat.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utilidad para inspeccionar árboles de procesos (JVM, chromedriver, Chrome).
+ * Lee la memoria residente desde /proc en Linux; en otros sistemas las
+ * métricas de memoria devuelven 0 y el resto de operaciones sigue funcionando.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para implementar la lectura de
+ * /proc y el recorrido de procesos descendientes con ProcessHandle.
+ */
+public final class ProcessTree {
+
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessTree() {
+        // Constructor privado - clase utilitaria
+    }
+
+    /**
+     * @return PIDs de los hijos directos de la JVM en este momento
+     */
+    public static Set<Long> jvmChildren() {
+        return ProcessHandle.current().children()
+                .map(ProcessHandle::pid)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Busca el hijo directo de la JVM lanzado con un argumento dado (ej: "--port=9515").
+     *
+     * @param argument Argumento exacto de la línea de comandos
+     * @return PID del hijo, o -1 si no se encuentra o el sistema no expone los argumentos
+     */
+    public static long jvmChildWithArgument(String argument) {
+        return ProcessHandle.current().children()
+                .filter(p -> p.info().arguments().map(args -> Arrays.asList(args).contains(argument)).orElse(false))
+                .mapToLong(ProcessHandle::pid)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    /**
+     * Obtiene el proceso raíz y todos sus descendientes vivos.
+     *
+     * @param pid PID del proceso raíz
+     * @return Lista con la raíz seguida de sus descendientes (vacía si no existe)
+     */
+    public static List<ProcessHandle> tree(long pid) {
+        List<ProcessHandle> result = new ArrayList<>();
+        ProcessHandle.of(pid).filter(ProcessHandle::isAlive).ifPresent(root -> {
+            result.add(root);
+            root.descendants().forEach(result::add);
+        });
+        return result;
+    }
+
+    /**
+     * Suma la memoria residente (RSS) del proceso y todos sus descendientes.
+     *
+     * @param pid PID del proceso raíz
+     * @return RSS total en KB
+     */
+    public static long treeRssKb(long pid) {
+        return tree(pid).stream().mapToLong(p -> rssKb(p.pid())).sum();
+    }
+
+    /**
+     * Lee la memoria residente (VmRSS) de un proceso.
+     *
+     * @param pid PID del proceso
+     * @return RSS en KB, o 0 si no está disponible
+     */
+    public static long rssKb(long pid) {
+        for (String line : readLines(PROC.resolve(pid + "/status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return parseKb(line);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Lee el tiempo de CPU consumido por un proceso (utime + stime).
+     *
+     * @param pid PID del proceso
+     * @return Ticks de CPU (USER_HZ), o 0 si no está disponible
+     */
+    public static long cpuTicks(long pid) {
+        List<String> lines = readLines(PROC.resolve(pid + "/stat"));
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        // El nombre del proceso va entre paréntesis y puede contener espacios
+        String stat = lines.get(0);
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+        try {
+            // Campos 14 (utime) y 15 (stime) de /proc/[pid]/stat; tras el nombre quedan desde el campo 3
+            return Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Cuenta los descriptores de archivo abiertos por un proceso.
+     *
+     * @param pid PID del proceso
+     * @return Número de descriptores, o 0 si no está disponible
+     */
+    public static int fdCount(long pid) {
+        String[] fds = PROC.resolve(pid + "/fd").toFile().list();
+        return fds == null ? 0 : fds.length;
+    }
+
+    /**
+     * Lee los ticks de CPU agregados del sistema desde /proc/stat.
+     *
+     * @return Arreglo {ticks ocupados, ticks totales}, o {0, 0} si no está disponible
+     */
+    public static long[] systemCpuTicks() {
+        List<String> lines = readLines(PROC.resolve("stat"));
+        if (lines.isEmpty() || !lines.get(0).startsWith("cpu ")) {
+            return new long[]{0, 0};
+        }
+        String[] fields = lines.get(0).trim().split("\\s+");
+        long total = 0;
+        long idle = 0;
+        for (int i = 1; i < fields.length; i++) {
+            long value = Long.parseLong(fields[i]);
+            total += value;
+            // idle (4) + iowait (5)
+            if (i == 4 || i == 5) {
+                idle += value;
+            }
+        }
+        return new long[]{total - idle, total};
+    }
+
+    /**
+     * Calcula el porcentaje de memoria del sistema en uso (MemTotal - MemAvailable).
+     *
+     * @return Porcentaje de memoria usada (0-100), o 0 si no está disponible
+     */
+    public static double systemMemoryUsedPct() {
+        long total = 0;
+        long available = 0;
+        for (String line : readLines(PROC.resolve("meminfo"))) {
+            if (line.startsWith("MemTotal:")) {
+                total = parseKb(line);
+            } else if (line.startsWith("MemAvailable:")) {
+                available = parseKb(line);
+            }
+        }
+        return total == 0 ? 0 : 100.0 * (total - available) / total;
+    }
+
+    /**
+     * @param pid PID del proceso
+     * @return Nombre del ejecutable (ej: chrome, chromedriver), o vacío si no se conoce
+     */
+    public static String command(long pid) {
+        return ProcessHandle.of(pid)
+                .flatMap(p -> p.info().command())
+                .map(cmd -> Paths.get(cmd).getFileName().toString())
+                .orElse("");
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file);
+        } catch (IOException | SecurityException e) {
+            return List.of();
+        }
+    }
+
+    private static long parseKb(String line) {
+        String[] parts = line.trim().split("\\s+");
+        try {
+            return parts.length >= 2 ? Long.parseLong(parts[1]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
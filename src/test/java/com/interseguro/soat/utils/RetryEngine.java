@@ -0,0 +1,294 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Motor de reintentos para acciones de Page Objects: backoff exponencial con jitter,
+ * clasificación de excepciones y {@link CircuitBreaker} compartido.
+ *
+ * Clasificación de fallos:
+ *   - TRANSIENT: elementos obsoletos, interceptados o aún no interactuables → se reintenta
+ *   - ENVIRONMENT: errores de red (net::ERR_*) y timeouts de carga de página → se
+ *     reintenta y cuenta para abrir el breaker
+ *   - FATAL: esperas explícitas agotadas, aserciones, sesión perdida, breaker abierto y
+ *     cualquier otro error → no se reintenta. Una espera agotada ya consumió su timeout
+ *     completo: reintentarla solo multiplicaría ese tiempo por retry.max.attempts
+ *
+ * Las navegaciones usan {@link #classifyNavigation(Throwable)}: si tras driver.get la página
+ * no queda lista (página de error 502/503 de un proxy, hidratación lenta) el fallo es de
+ * ENTORNO, porque la espera de página lista tiene un timeout corto por intento
+ * (retry.page.ready.timeout.seconds) y el fallo debe contar para el breaker.
+ *
+ * El backoff parte de retry.delay.ms, se multiplica por retry.backoff.multiplier hasta
+ * retry.backoff.max.ms, y retry.jitter.ratio de cada espera es aleatorio para que los
+ * workers no reintenten a la vez. Las esperas pasan por {@link WaitEngine#pause(long)},
+ * por lo que cuentan en el presupuesto del paso.
+ *
+ * Métricas: intentos, reintentos y fallos por operación y estado del breaker, adjuntos
+ * por escenario y exportados al final de la suite a retry.metrics.file.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la política de backoff con jitter
+ * y la clasificación de excepciones de Selenium.
+ */
+public final class RetryEngine {
+
+    private static final Log LOG = Log.get("Retry");
+
+    /** Clasificación de un fallo */
+    public enum Failure { TRANSIENT, ENVIRONMENT, FATAL }
+
+    private static final Map<String, OperationStats> STATS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> SCENARIO_LOG = new ThreadLocal<>();
+
+    private RetryEngine() {
+        // Constructor privado - clase utilitaria
+    }
+
+    // ==================== EJECUCIÓN ====================
+
+    /**
+     * Ejecuta una acción sin valor de retorno con la política de reintentos.
+     *
+     * @param operation Nombre de la operación (ej: HomePage.navigateTo)
+     * @param action    Acción a ejecutar
+     */
+    public static void run(String operation, Runnable action) {
+        call(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Ejecuta una acción con la política de reintentos.
+     *
+     * @param operation Nombre de la operación (ej: HomePage.navigateTo)
+     * @param action    Acción a ejecutar
+     * @return Valor devuelto por la acción
+     */
+    public static <T> T call(String operation, Supplier<T> action) {
+        return call(operation, RetryEngine::classify, action);
+    }
+
+    /**
+     * Ejecuta una navegación (driver.get + espera de página lista) con la política de reintentos;
+     * una página que no queda lista cuenta como fallo de entorno.
+     *
+     * @param operation Nombre de la operación (ej: HomePage.navigateTo)
+     * @param action    Navegación a ejecutar
+     */
+    public static void navigate(String operation, Runnable action) {
+        call(operation, RetryEngine::classifyNavigation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static <T> T call(String operation, Function<Throwable, Failure> classifier, Supplier<T> action) {
+        ConfigManager config = ConfigManager.getInstance();
+        CircuitBreaker breaker = CircuitBreaker.getInstance();
+        OperationStats stats = STATS.computeIfAbsent(operation, k -> new OperationStats());
+        int maxRetries = Math.max(0, config.getMaxRetryAttempts());
+        long delay = config.getRetryDelayMs();
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                breaker.acquire(operation);
+            } catch (CircuitBreaker.OpenException e) {
+                stats.rejected.increment();
+                log(operation + ": rechazada por el breaker");
+                throw e;
+            }
+            stats.attempts.increment();
+            try {
+                T result = action.get();
+                breaker.recordSuccess();
+                stats.successes.increment();
+                if (attempt > 0) {
+                    log(operation + ": éxito tras " + attempt + " reintento(s)");
+                }
+                return result;
+            } catch (RuntimeException | Error e) {
+                Failure failure = classifier.apply(e);
+                if (failure == Failure.ENVIRONMENT) {
+                    breaker.recordEnvironmentFailure();
+                    stats.environmentFailures.increment();
+                } else {
+                    breaker.release();
+                }
+                if (failure == Failure.FATAL || attempt >= maxRetries) {
+                    stats.failures.increment();
+                    log(operation + ": falla definitiva (" + failure + ", intento " + (attempt + 1) + "): " + firstLine(e));
+                    throw e;
+                }
+                long sleep = jitter(delay, config.getRetryJitterRatio());
+                stats.retries.increment();
+                log(operation + ": " + failure + " en intento " + (attempt + 1) + ", reintento en " + sleep + " ms: " + firstLine(e));
+                LOG.info(operation + " (" + failure + ") reintento " + (attempt + 1) + "/" + maxRetries
+                        + " en " + sleep + " ms: " + firstLine(e));
+                WaitEngine.pause(sleep);
+                delay = Math.min((long) (delay * config.getRetryBackoffMultiplier()), config.getRetryBackoffMaxMs());
+            }
+        }
+    }
+
+    /**
+     * Clasifica un fallo para decidir si se reintenta y si cuenta para el breaker.
+     *
+     * @param error Excepción lanzada por la acción
+     * @return Clasificación del fallo
+     */
+    public static Failure classify(Throwable error) {
+        if (error instanceof CircuitBreaker.OpenException || error instanceof Error) {
+            return Failure.FATAL;
+        }
+        String message = String.valueOf(error.getMessage());
+        if (error instanceof WebDriverException
+                && (message.contains("net::ERR_") || message.contains("Timed out receiving message from renderer"))) {
+            return Failure.ENVIRONMENT;
+        }
+        if (error instanceof TimeoutException) {
+            return Failure.FATAL;
+        }
+        if (error instanceof StaleElementReferenceException
+                || error instanceof ElementClickInterceptedException
+                || error instanceof ElementNotInteractableException
+                || error instanceof NoSuchElementException
+                || error instanceof MoveTargetOutOfBoundsException) {
+            return Failure.TRANSIENT;
+        }
+        return Failure.FATAL;
+    }
+
+    /**
+     * Clasifica un fallo de navegación: la espera de página lista agotada tras driver.get
+     * es de ENTORNO (el sitio respondió con una página de error o no terminó de cargar);
+     * el resto se clasifica como en {@link #classify(Throwable)}.
+     *
+     * @param error Excepción lanzada por la navegación
+     * @return Clasificación del fallo
+     */
+    public static Failure classifyNavigation(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return Failure.ENVIRONMENT;
+        }
+        return classify(error);
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    /**
+     * Devuelve y olvida los reintentos del escenario del hilo actual.
+     *
+     * @return Resumen, o null si el escenario no reintentó nada
+     */
+    public static String endScenario() {
+        StringBuilder log = SCENARIO_LOG.get();
+        SCENARIO_LOG.remove();
+        if (log == null) {
+            return null;
+        }
+        return log.append("Breaker: ").append(CircuitBreaker.getInstance().getState()).toString();
+    }
+
+    /**
+     * Imprime las métricas de la suite y las exporta en JSON a retry.metrics.file.
+     */
+    public static void exportMetrics() {
+        Map<String, Object> operations = new TreeMap<>();
+        STATS.forEach((operation, stats) -> operations.put(operation, stats.toMap()));
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("operations", operations);
+        metrics.put("breaker", CircuitBreaker.getInstance().metrics());
+
+        if (!operations.isEmpty()) {
+            LOG.info("Operación                                intentos reintentos fallos entorno rechazos");
+            STATS.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry ->
+                    LOG.info(String.format(Locale.ROOT, "%-40s %8d %10d %6d %7d %8d",
+                            entry.getKey(), entry.getValue().attempts.sum(), entry.getValue().retries.sum(),
+                            entry.getValue().failures.sum(), entry.getValue().environmentFailures.sum(),
+                            entry.getValue().rejected.sum())));
+            LOG.info("Breaker: " + CircuitBreaker.getInstance().metrics());
+        }
+
+        Path file = Paths.get(ConfigManager.getInstance().getRetryMetricsFile());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(metrics), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("No se pudieron exportar las métricas: " + e.getMessage());
+        }
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    /** Una fracción "ratio" de la espera es aleatoria (0 = fija, 1 = full jitter) */
+    private static long jitter(long delay, double ratio) {
+        double clamped = Math.max(0, Math.min(1, ratio));
+        return (long) (delay * (1 - clamped) + ThreadLocalRandom.current().nextDouble() * delay * clamped);
+    }
+
+    private static void log(String line) {
+        StringBuilder log = SCENARIO_LOG.get();
+        if (log == null) {
+            log = new StringBuilder();
+            SCENARIO_LOG.set(log);
+        }
+        log.append(line).append('\n');
+    }
+
+    private static String firstLine(Throwable e) {
+        String message = String.valueOf(e.getMessage());
+        int newline = message.indexOf('\n');
+        return e.getClass().getSimpleName() + ": " + (newline < 0 ? message : message.substring(0, newline));
+    }
+
+    /**
+     * Contadores de una operación (acumulados entre hilos).
+     */
+    private static final class OperationStats {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder environmentFailures = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("attempts", attempts.sum());
+            map.put("successes", successes.sum());
+            map.put("retries", retries.sum());
+            map.put("failures", failures.sum());
+            map.put("environmentFailures", environmentFailures.sum());
+            map.put("rejected", rejected.sum());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Grabador ligero de la pantalla del escenario mediante el screencast de DevTools
+ * (Page.startScreencast), alternativa barata a un video completo.
+ *
+ * Optimizaciones para que los escenarios que pasan casi no paguen nada:
+ *   - el navegador solo emite frames cuando cambia la pantalla, al tamaño
+ *     y calidad JPEG configurados (screencast.max.width/height, screencast.quality)
+ *   - se limita la tasa a screencast.fps descartando frames demasiado seguidos
+ *   - se descartan frames idénticos consecutivos
+ *   - los frames se guardan en un buffer circular con solo los últimos
+ *     screencast.buffer.seconds segundos, sin decodificar (base64 tal cual llega)
+ *   - solo se decodifican y escriben a disco si el escenario falla
+ *
+ * Requiere un driver con DevTools (ChromeDriver local o contextos); en Grid no se graba.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para integrar el screencast de CDP
+ * con el buffer circular acotado por tiempo.
+ */
+public final class ScreencastRecorder {
+
+    private static final Log LOG = Log.get("Screencast");
+
+    /** El compositor de Chrome produce hasta 60 frames por segundo */
+    private static final int COMPOSITOR_FPS = 60;
+    private static final ThreadLocal<ScreencastRecorder> CURRENT = new ThreadLocal<>();
+
+    private final DevTools devTools;
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final long minIntervalNanos;
+    private final long windowNanos;
+    private final long startNanos = System.nanoTime();
+
+    private String lastData;
+    private long lastFrameNanos;
+    private int received;
+    private int dropped;
+
+    private ScreencastRecorder(DevTools devTools, ConfigManager config) {
+        this.devTools = devTools;
+        int fps = Math.max(1, config.getScreencastFps());
+        this.minIntervalNanos = 1_000_000_000L / fps;
+        this.windowNanos = config.getScreencastBufferSeconds() * 1_000_000_000L;
+    }
+
+    // ==================== CICLO DE VIDA ====================
+
+    /**
+     * Empieza a grabar el navegador del hilo actual (si screencast.enabled=true).
+     *
+     * @param driver WebDriver sin decorar (ver {@link DriverFactory#getRawDriver()})
+     */
+    public static void start(WebDriver driver) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isScreencastEnabled() || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            ScreencastRecorder recorder = new ScreencastRecorder(devTools, config);
+            devTools.addListener(new Event<Map<String, Object>>("Page.screencastFrame",
+                    input -> input.read(Json.MAP_TYPE)), recorder::onFrame);
+            int fps = Math.max(1, config.getScreencastFps());
+            devTools.send(new Command<Void>("Page.startScreencast", Map.of(
+                    "format", "jpeg",
+                    "quality", config.getScreencastQuality(),
+                    "maxWidth", config.getScreencastMaxWidth(),
+                    "maxHeight", config.getScreencastMaxHeight(),
+                    "everyNthFrame", Math.max(1, COMPOSITOR_FPS / fps))));
+            CURRENT.set(recorder);
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudo iniciar la grabación: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene la grabación del hilo actual y, si el escenario falló, escribe los frames a disco.
+     *
+     * @param failed       true si el escenario falló
+     * @param scenarioName Nombre del escenario (nombre de la carpeta de salida)
+     * @return Carpeta con los frames, o null si no se escribió nada
+     */
+    public static Path stop(boolean failed, String scenarioName) {
+        ScreencastRecorder recorder = CURRENT.get();
+        CURRENT.remove();
+        if (recorder == null) {
+            return null;
+        }
+        try {
+            recorder.devTools.send(new Command<Void>("Page.stopScreencast", Map.of()));
+        } catch (RuntimeException e) {
+            LOG.warn("Error al detener la grabación: " + e.getMessage());
+        } finally {
+            recorder.devTools.clearListeners();
+        }
+        return failed ? recorder.flush(scenarioName.replaceAll("[^a-zA-Z0-9]", "_")) : null;
+    }
+
+    // ==================== FRAMES ====================
+
+    private void onFrame(Map<String, Object> event) {
+        // Confirmar siempre el frame: sin ack Chrome deja de enviar más
+        devTools.send(new Command<Void>("Page.screencastFrameAck",
+                Map.of("sessionId", event.get("sessionId"))).doesNotSendResponse());
+
+        long now = System.nanoTime();
+        String data = (String) event.get("data");
+        synchronized (frames) {
+            received++;
+            if (data == null || now - lastFrameNanos < minIntervalNanos || data.equals(lastData)) {
+                dropped++;
+                return;
+            }
+            lastData = data;
+            lastFrameNanos = now;
+            frames.addLast(new Frame(now - startNanos, data));
+            while (!frames.isEmpty() && now - startNanos - frames.peekFirst().offsetNanos > windowNanos) {
+                frames.removeFirst();
+            }
+        }
+    }
+
+    private Path flush(String scenarioName) {
+        Path dir = Paths.get(ConfigManager.getInstance().getScreencastDir(), scenarioName);
+        synchronized (frames) {
+            if (frames.isEmpty()) {
+                return null;
+            }
+            try {
+                Files.createDirectories(dir);
+                Base64.Decoder decoder = Base64.getDecoder();
+                try (Writer index = Files.newBufferedWriter(dir.resolve("frames.txt"), StandardCharsets.UTF_8)) {
+                    int i = 0;
+                    for (Frame frame : frames) {
+                        String name = String.format("frame_%04d.jpg", ++i);
+                        Files.write(dir.resolve(name), decoder.decode(frame.data));
+                        index.write(name + "\t" + frame.offsetNanos / 1_000_000 + " ms\n");
+                    }
+                }
+                LOG.info(frames.size() + " frames guardados en " + dir
+                        + " (recibidos " + received + ", descartados " + dropped + ")");
+                return dir;
+            } catch (IOException e) {
+                LOG.warn("Error al guardar frames: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Frame JPEG en base64 con su desplazamiento desde el inicio de la grabación.
+     */
+    private static final class Frame {
+
+        private final long offsetNanos;
+        private final String data;
+
+        Frame(long offsetNanos, String data) {
+            this.offsetNanos = offsetNanos;
+            this.data = data;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.interseguro.soat.utils;
 
+import com.interseguro.soat.logging.Log;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
@@ -13,6 +14,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utilidad para la captura de screenshots durante la ejecución de pruebas.
@@ -24,9 +26,13 @@ import java.time.format.DateTimeFormatter;
  */
 public class ScreenshotHelper {
 
+    private static final Log LOG = Log.get("Screenshot");
+
     private static final String SCREENSHOTS_DIR = ConfigManager.getInstance().getScreenshotsDir();
     private static final DateTimeFormatter FORMATTER =
             DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    /** Secuencia de la JVM: dos capturas del mismo segundo (workers en paralelo) no se pisan */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
 
     private ScreenshotHelper() {
         // Constructor privado - clase utilitaria
@@ -42,18 +48,17 @@ public class ScreenshotHelper {
     public static String captureElement(WebElement element, String fileName) {
         try {
             createDirectoryIfNotExists();
-            String timestamp = LocalDateTime.now().format(FORMATTER);
-            String filePath = SCREENSHOTS_DIR + fileName + "_" + timestamp + ".png";
+            String filePath = uniqueFilePath(fileName);
 
             // Selenium 4 soporta screenshots a nivel de elemento
             File screenshot = element.getScreenshotAs(OutputType.FILE);
             Path destination = Paths.get(filePath);
             Files.copy(screenshot.toPath(), destination, StandardCopyOption.REPLACE_EXISTING);
 
-            System.out.println("[Screenshot] Elemento capturado en: " + filePath);
+            LOG.info("Elemento capturado en: " + filePath);
             return filePath;
         } catch (IOException e) {
-            System.err.println("[Screenshot] Error al capturar elemento: " + e.getMessage());
+            LOG.warn("Error al capturar elemento: " + e.getMessage());
             // Fallback: capturar página completa
             return captureFullPage(DriverFactory.getDriver(), fileName + "_fullpage");
         }
@@ -69,20 +74,30 @@ public class ScreenshotHelper {
     public static String captureFullPage(WebDriver driver, String fileName) {
         try {
             createDirectoryIfNotExists();
-            String timestamp = LocalDateTime.now().format(FORMATTER);
-            String filePath = SCREENSHOTS_DIR + fileName + "_" + timestamp + ".png";
+            String filePath = uniqueFilePath(fileName);
 
             File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
             Path destination = Paths.get(filePath);
             Files.copy(screenshot.toPath(), destination, StandardCopyOption.REPLACE_EXISTING);
 
-            System.out.println("[Screenshot] Página capturada en: " + filePath);
+            LOG.info("Página capturada en: " + filePath);
             return filePath;
         } catch (IOException e) {
             throw new RuntimeException("[Screenshot] Error al capturar página: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Ruta única de una captura: nombre base, fecha y hora, y secuencia de la JVM.
+     *
+     * @param fileName Nombre base del archivo
+     * @return Ruta del archivo (ej: target/screenshots/resumen_de_compra_20260101_120000_7.png)
+     */
+    private static String uniqueFilePath(String fileName) {
+        return SCREENSHOTS_DIR + fileName + "_" + LocalDateTime.now().format(FORMATTER)
+                + "_" + SEQUENCE.incrementAndGet() + ".png";
+    }
+
     /**
      * Crea el directorio de screenshots si no existe.
      */
@@ -0,0 +1,388 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Watchdog de las sesiones de navegador creadas por {@link DriverFactory}, para que
+ * Chrome y chromedriver no queden vivos si Hooks.tearDown no llega a cerrar el
+ * navegador o si driver.quit() se cuelga.
+ *
+ * De cada sesión registra el árbol de PIDs (chromedriver y sus Chrome, solo en
+ * execution.mode=local), la hora de creación y el escenario dueño. Mata el árbol de
+ * procesos de una sesión cuando:
+ *   - driver.quit() tarda más de watchdog.quit.timeout.seconds o falla
+ *   - quedan procesos vivos después de un quit correcto
+ *   - el escenario termina sin haber cerrado su navegador (huérfana)
+ *   - el hilo dueño ya no existe (huérfana)
+ *   - supera watchdog.max.session.seconds de vida (colgada)
+ * En Grid no hay procesos locales: se fuerza el quit remoto en segundo plano. Los
+ * contextos de execution.mode=contexts los cierra {@link BrowserContextPool}.
+ *
+ * Al apagar la JVM mata las sesiones que sigan abiertas y cualquier proceso chrome* que
+ * siga colgando de la JVM. Al final de la suite reporta las sesiones filtradas y la
+ * memoria (RSS) que retenían.
+ *
+ * Patrón: Singleton
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el seguimiento del árbol de procesos
+ * por sesión y la limpieza al apagar la JVM.
+ */
+public final class SessionWatchdog {
+
+    private static final Log LOG = Log.get("Watchdog");
+
+    /** Espera a que un proceso termine con destroy() antes de destroyForcibly() */
+    private static final long KILL_GRACE_MILLIS = 2_000;
+
+    private static SessionWatchdog instance;
+
+    private final Map<WebDriver, Session> sessions = new ConcurrentHashMap<>();
+    private final List<Leak> leaks = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final AtomicInteger peakOpen = new AtomicInteger();
+    private final boolean enabled;
+    private final long maxSessionMillis;
+    private final long quitTimeoutMillis;
+    private final ExecutorService quitExecutor;
+
+    private SessionWatchdog() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.enabled = config.isWatchdogEnabled();
+        this.maxSessionMillis = TimeUnit.SECONDS.toMillis(config.getWatchdogMaxSessionSeconds());
+        this.quitTimeoutMillis = TimeUnit.SECONDS.toMillis(config.getWatchdogQuitTimeoutSeconds());
+        this.quitExecutor = Executors.newCachedThreadPool(r -> daemon(r, "session-quit"));
+        if (enabled) {
+            int interval = Math.max(1, config.getWatchdogIntervalSeconds());
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "session-watchdog"));
+            scheduler.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::onJvmShutdown, "session-watchdog-shutdown"));
+        }
+    }
+
+    /**
+     * Obtiene la instancia única del watchdog.
+     *
+     * @return Instancia del SessionWatchdog
+     */
+    public static synchronized SessionWatchdog getInstance() {
+        if (instance == null) {
+            instance = new SessionWatchdog();
+        }
+        return instance;
+    }
+
+    // ==================== CICLO DE LA SESIÓN ====================
+
+    /**
+     * Registra una sesión recién creada por el hilo actual.
+     *
+     * @param driver  WebDriver sin decorar
+     * @param rootPid PID del chromedriver, o -1 si no hay procesos locales (Grid) o no se encontró
+     */
+    public void track(WebDriver driver, long rootPid) {
+        if (!enabled) {
+            return;
+        }
+        String scenario = Log.currentScenario();
+        Session session = new Session(created.incrementAndGet(), driver, rootPid,
+                scenario == null ? "sin escenario" : scenario, Thread.currentThread());
+        session.refresh();
+        sessions.put(driver, session);
+        peakOpen.accumulateAndGet(sessions.size(), Math::max);
+        LOG.debug("Sesión #" + session.id + " registrada: " + session.describe());
+    }
+
+    /**
+     * Cierra una sesión con driver.quit() limitado a watchdog.quit.timeout.seconds. Si el
+     * quit se cuelga o falla, o deja procesos vivos, mata el árbol de procesos de la sesión.
+     *
+     * @param driver WebDriver sin decorar
+     */
+    public void quit(WebDriver driver) {
+        Session session = sessions.remove(driver);
+        if (!enabled || session == null) {
+            driver.quit();
+            return;
+        }
+        Future<?> quit = quitExecutor.submit(driver::quit);
+        try {
+            quit.get(quitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            quit.cancel(true);
+            reap(session, "driver.quit() colgado más de " + quitTimeoutMillis / 1000 + " s");
+            return;
+        } catch (ExecutionException e) {
+            reap(session, "driver.quit() falló: " + e.getCause());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reap(session, "interrumpido durante driver.quit()");
+            return;
+        }
+        // chromedriver cierra Chrome en el quit; lo que sobreviva es una fuga
+        List<ProcessHandle> survivors = awaitExit(session.alive(), KILL_GRACE_MILLIS);
+        if (survivors.isEmpty()) {
+            closed.incrementAndGet();
+        } else {
+            reap(session, survivors.size() + " procesos vivos tras driver.quit()");
+        }
+    }
+
+    /**
+     * Se llama al terminar cada escenario: las sesiones del hilo actual que sigan
+     * abiertas quedaron huérfanas (tearDown no cerró el navegador) y se matan.
+     */
+    public void scenarioFinished() {
+        Thread current = Thread.currentThread();
+        for (Session session : List.copyOf(sessions.values())) {
+            if (session.owner == current) {
+                reap(session, "el escenario terminó sin cerrar el navegador");
+                DriverFactory.forgetDriver();
+            }
+        }
+    }
+
+    // ==================== VIGILANCIA ====================
+
+    /**
+     * Revisión periódica: actualiza el árbol de procesos y la memoria de cada sesión y
+     * mata las huérfanas o las que superan la vida máxima.
+     */
+    private void check() {
+        try {
+            for (Session session : List.copyOf(sessions.values())) {
+                session.refresh();
+                if (!session.owner.isAlive()) {
+                    reap(session, "huérfana: el hilo " + session.owner.getName() + " terminó");
+                } else if (session.ageMillis() > maxSessionMillis) {
+                    reap(session, "superó la vida máxima de " + maxSessionMillis / 1000 + " s");
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Error en la revisión de sesiones: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mata el árbol de procesos de una sesión (o fuerza el quit remoto en Grid) y la
+     * registra como fuga con la memoria que retenía.
+     */
+    private void reap(Session session, String reason) {
+        sessions.remove(session.driver);
+        session.refresh();
+        Leak leak = new Leak(session, reason);
+        if (session.rootPid < 0) {
+            quitExecutor.submit(() -> {
+                try {
+                    session.driver.quit();
+                } catch (RuntimeException e) {
+                    // La sesión remota pudo expirar en el Grid
+                }
+            });
+        } else {
+            leak.killed = kill(session.alive());
+        }
+        leaks.add(leak);
+        LOG.warn("Sesión #" + session.id + " " + leak);
+    }
+
+    /**
+     * Termina los procesos (hijos primero): destroy(), y destroyForcibly() a los que
+     * no terminen en KILL_GRACE_MILLIS.
+     *
+     * @return Procesos terminados
+     */
+    private static int kill(List<ProcessHandle> processes) {
+        List<ProcessHandle> ordered = new ArrayList<>(processes);
+        Collections.reverse(ordered);
+        ordered.forEach(ProcessHandle::destroy);
+        List<ProcessHandle> survivors = awaitExit(ordered, KILL_GRACE_MILLIS);
+        survivors.forEach(ProcessHandle::destroyForcibly);
+        return ordered.size() - awaitExit(survivors, KILL_GRACE_MILLIS).size();
+    }
+
+    /** @return Procesos que siguen vivos después de esperar hasta timeoutMillis en total */
+    private static List<ProcessHandle> awaitExit(List<ProcessHandle> processes, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<ProcessHandle> survivors = new ArrayList<>();
+        for (ProcessHandle process : processes) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    process.onExit().get(remaining, TimeUnit.NANOSECONDS);
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                // Sigue vivo
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (process.isAlive()) {
+                survivors.add(process);
+            }
+        }
+        return survivors;
+    }
+
+    // ==================== APAGADO Y REPORTE ====================
+
+    /**
+     * Mata las sesiones que sigan abiertas (ej: al final de la suite).
+     *
+     * @param reason Motivo que se registra en el reporte de fugas
+     */
+    public void reapAll(String reason) {
+        List.copyOf(sessions.values()).forEach(session -> reap(session, reason));
+    }
+
+    /**
+     * Hook de apagado de la JVM: mata las sesiones abiertas y cualquier proceso chrome*
+     * que siga colgando de la JVM. Escribe a System.err porque el appender de logs puede
+     * haberse cerrado ya.
+     */
+    private void onJvmShutdown() {
+        for (Session session : List.copyOf(sessions.values())) {
+            reap(session, "seguía abierta al apagar la JVM");
+            System.err.println("[Watchdog] Sesión #" + session.id + " cerrada al apagar la JVM: " + session.describe());
+        }
+        List<ProcessHandle> strays = ProcessHandle.current().descendants()
+                .filter(p -> ProcessTree.command(p.pid()).startsWith("chrome"))
+                .collect(Collectors.toList());
+        // Las demás limpiezas (ej: el Chrome compartido de BrowserContextPool) corren en paralelo
+        List<ProcessHandle> survivors = awaitExit(strays, KILL_GRACE_MILLIS);
+        if (!survivors.isEmpty()) {
+            System.err.println("[Watchdog] " + survivors.size() + " procesos chrome* vivos al apagar la JVM: "
+                    + survivors.stream().map(p -> ProcessTree.command(p.pid()) + ":" + p.pid()).collect(Collectors.joining(", ")));
+            kill(survivors);
+        }
+    }
+
+    /**
+     * Imprime las sesiones creadas, cerradas y filtradas, con la memoria que retenía cada fuga.
+     */
+    public void printSummary() {
+        if (created.get() == 0) {
+            return;
+        }
+        List<Leak> snapshot;
+        synchronized (leaks) {
+            snapshot = new ArrayList<>(leaks);
+        }
+        LOG.info("Sesiones: " + created.get() + " creadas | " + closed.get() + " cerradas sin fugas | "
+                + snapshot.size() + " filtradas | pico abiertas: " + peakOpen.get());
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        snapshot.sort(Comparator.comparingLong((Leak leak) -> leak.rssKb).reversed());
+        snapshot.forEach(leak -> LOG.warn("  #" + leak.sessionId + " " + leak));
+        long totalKb = snapshot.stream().mapToLong(leak -> leak.rssKb).sum();
+        LOG.warn(String.format(Locale.ROOT, "Memoria retenida por sesiones filtradas: %.1f MB", totalKb / 1024.0));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Sesión vigilada: su árbol de procesos conocido, creación y escenario dueño.
+     */
+    private static final class Session {
+
+        private final int id;
+        private final WebDriver driver;
+        private final long rootPid;
+        private final String scenario;
+        private final Thread owner;
+        private final long createdNanos = System.nanoTime();
+        /**
+         * Procesos vistos alguna vez en el árbol: un Chrome sigue contando si su chromedriver muere.
+         * Se guardan los ProcessHandle (PID + instante de inicio) y no el PID: si el PID se
+         * reutiliza, el handle ya no está vivo y destroy() no afecta al proceso nuevo.
+         */
+        private final Set<ProcessHandle> processes = ConcurrentHashMap.newKeySet();
+        private volatile long rssKb;
+
+        Session(int id, WebDriver driver, long rootPid, String scenario, Thread owner) {
+            this.id = id;
+            this.driver = driver;
+            this.rootPid = rootPid;
+            this.scenario = scenario;
+            this.owner = owner;
+        }
+
+        void refresh() {
+            if (rootPid < 0) {
+                return;
+            }
+            processes.addAll(ProcessTree.tree(rootPid));
+            rssKb = alive().stream().mapToLong(p -> ProcessTree.rssKb(p.pid())).sum();
+        }
+
+        /** @return Procesos conocidos que siguen vivos, raíz primero */
+        List<ProcessHandle> alive() {
+            return processes.stream()
+                    .filter(ProcessHandle::isAlive)
+                    .sorted(Comparator.comparing((ProcessHandle p) -> p.pid() != rootPid))
+                    .collect(Collectors.toList());
+        }
+
+        long ageMillis() {
+            return (System.nanoTime() - createdNanos) / 1_000_000;
+        }
+
+        String describe() {
+            return scenario + " | PID " + (rootPid < 0 ? "remoto" : rootPid + " (" + processes.size() + " procesos)")
+                    + " | " + ageMillis() / 1000 + " s";
+        }
+    }
+
+    /**
+     * Sesión filtrada: motivo y memoria que retenía al matarla.
+     */
+    private static final class Leak {
+
+        private final int sessionId;
+        private final String scenario;
+        private final String reason;
+        private final long ageMillis;
+        private final long rssKb;
+        private final int processes;
+        private int killed;
+
+        Leak(Session session, String reason) {
+            this.sessionId = session.id;
+            this.scenario = session.scenario;
+            this.reason = reason;
+            this.ageMillis = session.ageMillis();
+            this.rssKb = session.rssKb;
+            this.processes = session.alive().size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s → %s | %d s | %.1f MB en %d procesos (%d terminados)",
+                    scenario, reason, ageMillis / 1000, rssKb / 1024.0, processes, killed);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.logging.Log;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Perfiles de emulación de red y CPU para probar el flujo de compra en condiciones
+ * degradadas (clientes que compran el SOAT desde redes móviles).
+ *
+ * El perfil de cada escenario se elige con el tag @profile-&lt;nombre&gt; (ej: @profile-3g)
+ * o, si no tiene tag, con throttling.profile. {@link DriverFactory} lo aplica al crear
+ * el navegador con los comandos CDP Network.emulateNetworkConditions y
+ * Emulation.setCPUThrottlingRate.
+ *
+ * Cada escenario queda etiquetado con su perfil en el reporte y en el historial de
+ * rendimiento, y al final se imprime la latencia por perfil.
+ *
+ * Un throttling.profile desconocido se rechaza al registrar el plugin (antes de correr
+ * nada); un tag desconocido solo invalida su escenario: se registra el motivo y el hook
+ * de validación lo hace fallar ({@link #takeInvalidReason(String)}).
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para definir los perfiles a partir de
+ * los presets de throttling de Chrome DevTools / Lighthouse.
+ */
+public enum ThrottlingProfile {
+
+    /** Sin emulación */
+    NONE("none", 0, -1, -1, 1),
+    /** 3G: 300 ms RTT, 780 kbps bajada, 330 kbps subida */
+    G3("3g", 300, 780, 330, 1),
+    /** 4G lento (preset móvil de Lighthouse): 150 ms RTT, 1.6 Mbps bajada, 750 kbps subida */
+    SLOW_4G("slow-4g", 150, 1600, 750, 1),
+    /** CPU 4 veces más lenta, red sin limitar */
+    CPU_4X("cpu-4x", 0, -1, -1, 4),
+    /** Móvil de gama media: 4G lento + CPU 4x */
+    MOBILE("mobile", 150, 1600, 750, 4);
+
+    private static final Log LOG = Log.get("Throttling");
+
+    private static final String TAG_PREFIX = "@profile-";
+    private static final ThreadLocal<ThrottlingProfile> CURRENT = new ThreadLocal<>();
+    private static final Map<String, long[]> DURATIONS = new TreeMap<>();
+    private static final Map<String, String> INVALID_SCENARIOS = new ConcurrentHashMap<>();
+
+    private final String label;
+    private final int latencyMs;
+    private final int downloadKbps;
+    private final int uploadKbps;
+    private final int cpuSlowdown;
+
+    ThrottlingProfile(String label, int latencyMs, int downloadKbps, int uploadKbps, int cpuSlowdown) {
+        this.label = label;
+        this.latencyMs = latencyMs;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.cpuSlowdown = cpuSlowdown;
+    }
+
+    /** @return Nombre del perfil usado en tags, configuración y reportes */
+    public String getLabel() {
+        return label;
+    }
+
+    // ==================== SELECCIÓN ====================
+
+    /**
+     * Valida throttling.profile.
+     *
+     * @return Perfil configurado por defecto
+     * @throws IllegalArgumentException si el perfil no existe
+     */
+    public static ThrottlingProfile configured() {
+        String name = ConfigManager.getInstance().getThrottlingProfile();
+        ThrottlingProfile profile = fromLabel(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("[Throttling] throttling.profile desconocido: " + unknown(name));
+        }
+        return profile;
+    }
+
+    /**
+     * Elige el perfil del escenario del hilo actual según sus tags o throttling.profile.
+     * Un tag desconocido no lanza excepción (se llama desde el bus de eventos de Cucumber):
+     * el escenario queda marcado como inválido y corre sin emulación hasta que el hook lo falle.
+     *
+     * @param scenarioId Id del escenario (TestCase.getId())
+     * @param tags       Tags del escenario
+     * @return Perfil seleccionado
+     */
+    public static ThrottlingProfile select(String scenarioId, Collection<String> tags) {
+        ThrottlingProfile profile = configured();
+        for (String tag : tags) {
+            if (tag.startsWith(TAG_PREFIX)) {
+                String name = tag.substring(TAG_PREFIX.length());
+                profile = fromLabel(name);
+                if (profile == null) {
+                    INVALID_SCENARIOS.put(scenarioId, "tag " + tag + ": " + unknown(name));
+                    profile = NONE;
+                }
+            }
+        }
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Devuelve (y olvida) el motivo por el que el perfil del escenario es inválido.
+     *
+     * @param scenarioId Id del escenario (Scenario.getId())
+     * @return Motivo del rechazo, o null si el perfil es válido
+     */
+    public static String takeInvalidReason(String scenarioId) {
+        return INVALID_SCENARIOS.remove(scenarioId);
+    }
+
+    /**
+     * @return Perfil del escenario del hilo actual (NONE si no se seleccionó)
+     */
+    public static ThrottlingProfile current() {
+        ThrottlingProfile profile = CURRENT.get();
+        return profile == null ? NONE : profile;
+    }
+
+    /** @return Perfil con ese nombre, o null si no existe */
+    private static ThrottlingProfile fromLabel(String name) {
+        for (ThrottlingProfile profile : values()) {
+            if (profile.label.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        return null;
+    }
+
+    private static String unknown(String name) {
+        return "perfil desconocido '" + name + "'. Disponibles: none, 3g, slow-4g, cpu-4x, mobile";
+    }
+
+    // ==================== APLICACIÓN ====================
+
+    /**
+     * Aplica la emulación de red y CPU al navegador mediante CDP.
+     *
+     * @param driver WebDriver sin decorar (ChromeDriver local o de contextos)
+     */
+    public void apply(WebDriver driver) {
+        if (this == NONE) {
+            return;
+        }
+        if (!(driver instanceof HasCdp)) {
+            LOG.warn("El driver no admite CDP (Grid); perfil '" + label + "' no aplicado");
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            if (downloadKbps > 0 || latencyMs > 0) {
+                cdp.executeCdpCommand("Network.enable", Map.of());
+                cdp.executeCdpCommand("Network.emulateNetworkConditions", Map.of(
+                        "offline", false,
+                        "latency", latencyMs,
+                        "downloadThroughput", bytesPerSecond(downloadKbps),
+                        "uploadThroughput", bytesPerSecond(uploadKbps)));
+            }
+            if (cpuSlowdown > 1) {
+                cdp.executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", cpuSlowdown));
+            }
+            LOG.info("Perfil aplicado: " + this);
+        } catch (WebDriverException e) {
+            throw new IllegalStateException("[Throttling] No se pudo aplicar el perfil '" + label + "': " + e.getMessage(), e);
+        }
+    }
+
+    /** CDP espera bytes por segundo; -1 desactiva el límite */
+    private static double bytesPerSecond(int kbps) {
+        return kbps < 0 ? -1 : kbps * 1000 / 8.0;
+    }
+
+    // ==================== RESUMEN POR PERFIL ====================
+
+    /**
+     * Acumula la duración de un escenario terminado en el perfil del hilo actual.
+     *
+     * @param durationMs Duración del escenario
+     */
+    public static void recordScenario(long durationMs) {
+        String label = current().label;
+        synchronized (DURATIONS) {
+            long[] totals = DURATIONS.computeIfAbsent(label, k -> new long[3]);
+            totals[0]++;
+            totals[1] += durationMs;
+            totals[2] = Math.max(totals[2], durationMs);
+        }
+    }
+
+    /**
+     * @return Latencia media y máxima de los escenarios por perfil, o null si solo se usó "none"
+     */
+    public static String summary() {
+        synchronized (DURATIONS) {
+            if (DURATIONS.isEmpty() || (DURATIONS.size() == 1 && DURATIONS.containsKey(NONE.label))) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder("Duración de escenarios por perfil:\n");
+            DURATIONS.forEach((label, totals) -> sb.append(String.format(Locale.ROOT,
+                    "  %-8s %3d escenarios | media %7d ms | máx %7d ms%n",
+                    label, totals[0], totals[1] / totals[0], totals[2])));
+            return sb.toString();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label + (this == NONE ? "" : String.format(Locale.ROOT, " (latencia %d ms, bajada %s, subida %s, CPU %dx)",
+                latencyMs, downloadKbps < 0 ? "sin límite" : downloadKbps + " kbps",
+                uploadKbps < 0 ? "sin límite" : uploadKbps + " kbps", cpuSlowdown));
+    }
+}
@@ -0,0 +1,240 @@
+package com.interseguro.soat.utils;
+
+import com.interseguro.soat.telemetry.Tracer;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Motor único de esperas con presupuesto por escenario y por paso.
+ *
+ * Reemplaza la mezcla de implicit wait + WebDriverWait: el driver trabaja con
+ * implicit wait = 0 y todas las esperas de los Page Objects pasan por aquí.
+ * El timeout efectivo de cada espera es el menor entre:
+ *   - el timeout pedido por el Page Object
+ *   - lo que queda del presupuesto del paso (timeout.step.budget.seconds)
+ *   - lo que queda del presupuesto del escenario (timeout.scenario.budget.seconds)
+ * así un fallo nunca tarda más de lo configurado.
+ *
+ * El sondeo es adaptativo: empieza en wait.poll.initial.ms y crece x1.5 hasta
+ * wait.poll.max.ms, para reaccionar rápido a condiciones que se cumplen pronto
+ * sin saturar el driver en esperas largas.
+ *
+ * Registra la telemetría de tiempo esperando vs. actuando por paso y escenario.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para diseñar el cálculo del deadline
+ * efectivo y la política de sondeo adaptativo.
+ */
+public final class WaitEngine {
+
+    private static final double POLL_GROWTH = 1.5;
+    private static final ThreadLocal<Budget> BUDGET = new ThreadLocal<>();
+
+    private WaitEngine() {
+        // Constructor privado - clase utilitaria
+    }
+
+    // ==================== PRESUPUESTOS ====================
+
+    /**
+     * Inicia el presupuesto del escenario del hilo actual.
+     */
+    public static void startScenario() {
+        ConfigManager config = ConfigManager.getInstance();
+        BUDGET.set(new Budget(Duration.ofSeconds(config.getScenarioBudgetSeconds()),
+                Duration.ofSeconds(config.getStepBudgetSeconds())));
+    }
+
+    /**
+     * Inicia el presupuesto de un paso dentro del escenario actual.
+     *
+     * @param stepName Texto del paso (para la telemetría)
+     */
+    public static void startStep(String stepName) {
+        Budget budget = BUDGET.get();
+        if (budget != null) {
+            budget.startStep(stepName);
+        }
+    }
+
+    /**
+     * Cierra el paso actual y acumula su telemetría.
+     */
+    public static void endStep() {
+        Budget budget = BUDGET.get();
+        if (budget != null) {
+            budget.endStep();
+        }
+    }
+
+    /**
+     * Cierra el presupuesto del escenario.
+     *
+     * @return Resumen de tiempo esperando vs. actuando, o null si no había escenario activo
+     */
+    public static String endScenario() {
+        Budget budget = BUDGET.get();
+        BUDGET.remove();
+        return budget == null ? null : budget.summary();
+    }
+
+    // ==================== ESPERAS ====================
+
+    /**
+     * Espera hasta que la condición devuelva un valor no nulo y distinto de false.
+     *
+     * @param driver    WebDriver activo
+     * @param condition Condición a evaluar (ej: ExpectedConditions.visibilityOf)
+     * @param timeout   Timeout pedido; se recorta al presupuesto restante
+     * @return Valor devuelto por la condición
+     * @throws TimeoutException si la condición no se cumple dentro del deadline efectivo
+     */
+    public static <T> T until(WebDriver driver, Function<? super WebDriver, T> condition, Duration timeout) {
+        ConfigManager config = ConfigManager.getInstance();
+        Budget budget = BUDGET.get();
+        long start = System.nanoTime();
+        long effectiveNanos = budget == null ? timeout.toNanos() : budget.clamp(timeout.toNanos());
+        long deadline = start + effectiveNanos;
+        long poll = config.getWaitPollInitialMs();
+        long maxPoll = config.getWaitPollMaxMs();
+        RuntimeException lastError = null;
+
+        Tracer.begin("WaitEngine.until");
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException(describeTimeout(condition, timeout, effectiveNanos, budget), lastError);
+                }
+                sleepNanos(Math.min(poll * 1_000_000L, remaining));
+                poll = Math.min((long) (poll * POLL_GROWTH), maxPoll);
+            }
+        } finally {
+            Tracer.end();
+            recordWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Pausa fija (animaciones de Vue.js); se contabiliza como tiempo de espera.
+     *
+     * @param millis Milisegundos a esperar
+     */
+    public static void pause(long millis) {
+        long start = System.nanoTime();
+        Tracer.begin("WaitEngine.pause");
+        try {
+            sleepNanos(millis * 1_000_000L);
+        } finally {
+            Tracer.end();
+            recordWait(System.nanoTime() - start);
+        }
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private static void recordWait(long nanos) {
+        Budget budget = BUDGET.get();
+        if (budget != null) {
+            budget.stepWaitNanos += nanos;
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("[Wait] Espera interrumpida", e);
+        }
+    }
+
+    private static String describeTimeout(Object condition, Duration requested, long effectiveNanos, Budget budget) {
+        String message = "[Wait] Condición no cumplida: " + condition + " (timeout efectivo "
+                + effectiveNanos / 1_000_000 + " ms de " + requested.toMillis() + " ms pedidos";
+        if (budget != null && effectiveNanos < requested.toNanos()) {
+            message += ", recortado por el presupuesto del " + budget.limitingScope();
+        }
+        return message + ")";
+    }
+
+    /**
+     * Presupuesto de tiempo del escenario actual y de su paso en curso.
+     */
+    private static class Budget {
+
+        private final long scenarioDeadline;
+        private final long stepBudgetNanos;
+        private final long scenarioStart = System.nanoTime();
+        private final List<String> stepLines = new ArrayList<>();
+
+        private long stepDeadline = Long.MAX_VALUE;
+        private long stepStart;
+        private String stepName;
+        private long stepWaitNanos;
+        private long totalWaitNanos;
+        private long totalStepNanos;
+
+        Budget(Duration scenarioBudget, Duration stepBudget) {
+            this.scenarioDeadline = scenarioStart + scenarioBudget.toNanos();
+            this.stepBudgetNanos = stepBudget.toNanos();
+        }
+
+        void startStep(String name) {
+            stepName = name;
+            stepStart = System.nanoTime();
+            stepDeadline = stepStart + stepBudgetNanos;
+            stepWaitNanos = 0;
+        }
+
+        void endStep() {
+            if (stepName == null) {
+                return;
+            }
+            long duration = System.nanoTime() - stepStart;
+            totalStepNanos += duration;
+            totalWaitNanos += stepWaitNanos;
+            stepLines.add(String.format(Locale.ROOT, "%7d ms esperando | %7d ms actuando | %s",
+                    stepWaitNanos / 1_000_000, Math.max(0, duration - stepWaitNanos) / 1_000_000, stepName));
+            stepName = null;
+            stepDeadline = Long.MAX_VALUE;
+        }
+
+        long clamp(long requestedNanos) {
+            long now = System.nanoTime();
+            return Math.max(0, Math.min(requestedNanos, Math.min(stepDeadline, scenarioDeadline) - now));
+        }
+
+        String limitingScope() {
+            return stepDeadline < scenarioDeadline ? "paso" : "escenario";
+        }
+
+        String summary() {
+            long scenarioNanos = System.nanoTime() - scenarioStart;
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT,
+                    "Escenario: %d ms | esperando %d ms (%.0f%%) | actuando %d ms | fuera de pasos %d ms%n",
+                    scenarioNanos / 1_000_000, totalWaitNanos / 1_000_000,
+                    totalStepNanos == 0 ? 0.0 : 100.0 * totalWaitNanos / totalStepNanos,
+                    Math.max(0, totalStepNanos - totalWaitNanos) / 1_000_000,
+                    Math.max(0, scenarioNanos - totalStepNanos) / 1_000_000));
+            stepLines.forEach(line -> sb.append(line).append('\n'));
+            return sb.toString();
+        }
+    }
+}
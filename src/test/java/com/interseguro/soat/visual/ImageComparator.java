@@ -0,0 +1,254 @@
+package com.interseguro.soat.visual;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Comparación de una captura contra su baseline, en tres etapas de menor a mayor costo:
+ *   1. tamaño: si las dimensiones difieren, es un cambio de layout
+ *   2. hash perceptual (dHash de 64 bits sobre 9x8 luminancias): una distancia de Hamming
+ *      mayor que maxHashDistance es un cambio grosero y decide que no coincide, sin mirar
+ *      maxDiffRatio; aun así se calcula el diff para adjuntar la imagen
+ *   3. diff por tiles de tileSize×tileSize en paralelo (un tile por tarea del pool): un píxel
+ *      difiere si algún canal cambia más de pixelTolerance; las regiones ignoradas no cuentan.
+ *      La captura coincide si la proporción de píxeles distintos no supera maxDiffRatio
+ *
+ * La imagen de diff (siempre que no coincide, en cualquier etapa) muestra el baseline atenuado, los píxeles
+ * distintos en rojo y las regiones ignoradas en azul.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para el hash perceptual y el diff por tiles en paralelo.
+ */
+public final class ImageComparator {
+
+    private static final int CHANGED = 0xFFFF0000;
+    private static final int IGNORED = 0xFF9DB7E8;
+
+    private final int maxHashDistance;
+    private final int pixelTolerance;
+    private final double maxDiffRatio;
+    private final int tileSize;
+    private final List<Rectangle> ignoreRegions;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param maxHashDistance Distancia de Hamming máxima del dHash (0-64) antes de comparar píxeles
+     * @param pixelTolerance  Diferencia máxima por canal (0-255) que no cuenta como cambio
+     * @param maxDiffRatio    Proporción máxima de píxeles distintos para considerar que coincide
+     * @param tileSize        Lado de los tiles que se comparan en paralelo
+     * @param ignoreRegions   Regiones (en píxeles de la captura) que no se comparan
+     * @param pool            Pool donde se reparten los tiles
+     */
+    public ImageComparator(int maxHashDistance, int pixelTolerance, double maxDiffRatio, int tileSize,
+                           List<Rectangle> ignoreRegions, ForkJoinPool pool) {
+        this.maxHashDistance = maxHashDistance;
+        this.pixelTolerance = pixelTolerance;
+        this.maxDiffRatio = maxDiffRatio;
+        this.tileSize = Math.max(8, tileSize);
+        this.ignoreRegions = ignoreRegions;
+        this.pool = pool;
+    }
+
+    // ==================== COMPARACIÓN ====================
+
+    /**
+     * Compara una captura con su baseline.
+     *
+     * @param baseline Imagen de referencia
+     * @param actual   Captura de esta ejecución
+     * @return Resultado con la etapa que decidió y, si no coincide, la imagen de diff
+     */
+    public Comparison compare(BufferedImage baseline, BufferedImage actual) {
+        int width = baseline.getWidth();
+        int height = baseline.getHeight();
+        if (width != actual.getWidth() || height != actual.getHeight()) {
+            int overlapWidth = Math.min(width, actual.getWidth());
+            int overlapHeight = Math.min(height, actual.getHeight());
+            Comparison result = new Comparison("tamaño", -1);
+            result.detail = width + "x" + height + " → " + actual.getWidth() + "x" + actual.getHeight();
+            result.diffImage = pixelDiff(pixels(baseline, overlapWidth, overlapHeight),
+                    pixels(actual, overlapWidth, overlapHeight), overlapWidth, overlapHeight,
+                    ignoreMask(overlapWidth, overlapHeight), result);
+            return result;
+        }
+
+        int[] expected = pixels(baseline, width, height);
+        int[] current = pixels(actual, width, height);
+        boolean[] ignored = ignoreMask(width, height);
+        int hashDistance = Long.bitCount(dHash(expected, width, height, ignored) ^ dHash(current, width, height, ignored));
+        if (hashDistance > maxHashDistance) {
+            // Rechazo grosero: el veredicto ya está decidido, pero el diff es lo que hay que revisar
+            Comparison result = new Comparison("hash", hashDistance);
+            result.diffImage = pixelDiff(expected, current, width, height, ignored, result);
+            return result;
+        }
+
+        Comparison result = new Comparison("píxeles", hashDistance);
+        BufferedImage diff = pixelDiff(expected, current, width, height, ignored, result);
+        result.match = result.diffRatio <= maxDiffRatio;
+        if (!result.match) {
+            result.diffImage = diff;
+        }
+        return result;
+    }
+
+    /**
+     * Hash perceptual dHash: luminancia media de una grilla de 9x8 celdas y un bit por
+     * cada par de celdas vecinas en la fila (1 si la izquierda es más clara).
+     *
+     * @return Hash de 64 bits
+     */
+    static long dHash(int[] pixels, int width, int height, boolean[] ignored) {
+        double[] sum = new double[72];
+        int[] count = new int[72];
+        for (int y = 0; y < height; y++) {
+            int cellRow = y * 8 / height * 9;
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                if (ignored != null && ignored[row + x]) {
+                    continue;
+                }
+                int rgb = pixels[row + x];
+                int cell = cellRow + x * 9 / width;
+                sum[cell] += ((rgb >> 16) & 0xFF) * 0.299 + ((rgb >> 8) & 0xFF) * 0.587 + (rgb & 0xFF) * 0.114;
+                count[cell]++;
+            }
+        }
+        long hash = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                int left = row * 9 + col;
+                double leftMean = count[left] == 0 ? 0 : sum[left] / count[left];
+                double rightMean = count[left + 1] == 0 ? 0 : sum[left + 1] / count[left + 1];
+                hash = (hash << 1) | (leftMean > rightMean ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    // ==================== DIFF POR TILES ====================
+
+    private BufferedImage pixelDiff(int[] expected, int[] current, int width, int height, boolean[] ignored,
+                                    Comparison result) {
+        int[] out = new int[width * height];
+        int tilesX = (width + tileSize - 1) / tileSize;
+        int tilesY = (height + tileSize - 1) / tileSize;
+        long[] totals = pool.submit(() -> IntStream.range(0, tilesX * tilesY).parallel()
+                .mapToObj(tile -> diffTile(tile % tilesX, tile / tilesX, expected, current, ignored, out, width, height))
+                .reduce(new long[3], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]})).join();
+        result.diffPixels = totals[0];
+        result.ignoredPixels = totals[1];
+        result.changedTiles = (int) totals[2];
+        result.totalTiles = tilesX * tilesY;
+        long compared = (long) width * height - result.ignoredPixels;
+        result.diffRatio = compared == 0 ? 0 : (double) result.diffPixels / compared;
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, width, height, out, 0, width);
+        return image;
+    }
+
+    /** @return {píxeles distintos, píxeles ignorados, 1 si el tile cambió}; escribe su parte de la imagen de diff */
+    private long[] diffTile(int tileX, int tileY, int[] expected, int[] current, boolean[] ignored,
+                            int[] out, int width, int height) {
+        long changed = 0;
+        long skipped = 0;
+        int endY = Math.min(height, (tileY + 1) * tileSize);
+        int endX = Math.min(width, (tileX + 1) * tileSize);
+        for (int y = tileY * tileSize; y < endY; y++) {
+            for (int i = y * width + tileX * tileSize, end = y * width + endX; i < end; i++) {
+                if (ignored != null && ignored[i]) {
+                    skipped++;
+                    out[i] = IGNORED;
+                    continue;
+                }
+                int a = expected[i];
+                int b = current[i];
+                if (a != b && channelDelta(a, b) > pixelTolerance) {
+                    changed++;
+                    out[i] = CHANGED;
+                } else {
+                    // Baseline en gris atenuado como fondo del diff
+                    int gray = 170 + (((a >> 16) & 0xFF) + ((a >> 8) & 0xFF) + (a & 0xFF)) / 9;
+                    out[i] = 0xFF000000 | gray << 16 | gray << 8 | gray;
+                }
+            }
+        }
+        return new long[]{changed, skipped, changed > 0 ? 1 : 0};
+    }
+
+    private static int channelDelta(int a, int b) {
+        int red = Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF));
+        int green = Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF));
+        int blue = Math.abs((a & 0xFF) - (b & 0xFF));
+        return Math.max(red, Math.max(green, blue));
+    }
+
+    private boolean[] ignoreMask(int width, int height) {
+        if (ignoreRegions.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[width * height];
+        for (Rectangle region : ignoreRegions) {
+            Rectangle clipped = region.intersection(new Rectangle(0, 0, width, height));
+            for (int y = clipped.y; y < clipped.y + clipped.height; y++) {
+                for (int x = clipped.x; x < clipped.x + clipped.width; x++) {
+                    mask[y * width + x] = true;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static int[] pixels(BufferedImage image, int width, int height) {
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+
+    /**
+     * Resultado de una comparación.
+     */
+    public static final class Comparison {
+
+        /** Etapa que decidió el resultado: tamaño, hash o píxeles */
+        final String stage;
+        final int hashDistance;
+        boolean match;
+        String detail;
+        long diffPixels;
+        long ignoredPixels;
+        double diffRatio;
+        int changedTiles;
+        int totalTiles;
+        BufferedImage diffImage;
+
+        Comparison(String stage, int hashDistance) {
+            this.stage = stage;
+            this.hashDistance = hashDistance;
+        }
+
+        public boolean isMatch() {
+            return match;
+        }
+
+        @Override
+        public String toString() {
+            List<String> parts = new ArrayList<>();
+            parts.add("etapa " + stage);
+            if (detail != null) {
+                parts.add(detail);
+            }
+            if (hashDistance >= 0) {
+                parts.add("dHash " + hashDistance + "/64");
+            }
+            if (totalTiles > 0) {
+                parts.add(diffPixels + " px distintos (" + String.format(Locale.ROOT, "%.4f%%", diffRatio * 100) + ")");
+                parts.add(changedTiles + "/" + totalTiles + " tiles");
+            }
+            return String.join(", ", parts);
+        }
+    }
+}
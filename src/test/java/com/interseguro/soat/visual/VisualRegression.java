@@ -0,0 +1,378 @@
+package com.interseguro.soat.visual;
+
+import com.interseguro.soat.logging.Log;
+import com.interseguro.soat.utils.ConfigManager;
+import org.openqa.selenium.json.Json;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Regresión visual del "Resumen de compra" (visual.enabled, desactivada por defecto):
+ * compara cada captura de PaymentPage.captureResumenCompra con su baseline por fila de
+ * Examples usando {@link ImageComparator}. La clave de la fila es el escenario más los
+ * valores de sus Examples (visual.baseline.dir/&lt;escenario&gt;__ABC_123_TOYOTA_YARIS.png),
+ * por lo que no cambia al mover líneas del feature.
+ *
+ * En la ejecución:
+ *   - el paso solo copia la captura a visual.dir/actual/ y encola la comparación en un
+ *     hilo de fondo; el paso no espera
+ *   - al terminar el escenario (con el navegador ya cerrado) se recoge el resultado, se
+ *     adjunta al reporte con la imagen de diff y, si no coincide o la comparación falló
+ *     (MISMATCH / ERROR) y visual.fail.on.mismatch=true, el escenario falla
+ *   - sin baseline, la captura queda como candidata en visual.dir/new/ (nunca se escribe
+ *     en el árbol de fuentes); hay que promoverla explícitamente. Con
+ *     visual.update.baselines=true la captura reemplaza el baseline
+ *
+ * En lote (nightly, miles de capturas): compara todo visual.dir/actual/ (o la carpeta indicada)
+ * contra los baselines, en paralelo por archivo y por tiles:
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.visual.VisualRegression
+ *       [-Dexec.args="&lt;carpeta de capturas&gt;"]
+ * Promoción de las candidatas revisadas de visual.dir/new/ a visual.baseline.dir:
+ *   mvn test-compile exec:java -Dexec.mainClass=com.interseguro.soat.visual.VisualRegression
+ *       -Dexec.args="promote"
+ *
+ * Las capturas idénticas byte a byte al baseline no se decodifican. El resumen de la suite
+ * se guarda en visual.dir/visual-report.json.
+ *
+ * [IA - GitHub Copilot]: Se utilizó IA para la comparación asíncrona y el modo en lote.
+ */
+public final class VisualRegression {
+
+    private static final Log LOG = Log.get("Visual");
+
+    /** Resultado de una comparación */
+    public enum Status { MATCH, MISMATCH, NEW, UPDATED, ERROR }
+
+    private static final ThreadLocal<String> SCENARIO_KEY = new ThreadLocal<>();
+    private static final ThreadLocal<List<Future<Result>>> PENDING = new ThreadLocal<>();
+    private static final List<Result> RESULTS = Collections.synchronizedList(new ArrayList<>());
+
+    private static ForkJoinPool pool;
+    private static ExecutorService background;
+    private static ImageComparator comparator;
+
+    private VisualRegression() {
+        // Constructor privado - clase utilitaria
+    }
+
+    public static void main(String[] args) throws IOException {
+        ConfigManager config = ConfigManager.getInstance();
+        if (args.length > 0 && "promote".equals(args[0])) {
+            promote();
+            Log.flush();
+            return;
+        }
+        Path dir = args.length > 0 ? Paths.get(args[0]) : Paths.get(config.getVisualDir(), "actual");
+        List<Path> captures = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.png")) {
+            files.forEach(captures::add);
+        }
+        long start = System.nanoTime();
+        List<Result> results = pool().submit(() -> captures.parallelStream()
+                .map(capture -> compare(keyOf(capture), capture))
+                .collect(Collectors.toList())).join();
+        RESULTS.addAll(results);
+        LOG.info(captures.size() + " capturas comparadas en " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        exportReport();
+        Log.flush();
+
+        List<String> mismatches = results.stream().filter(Result::isFailure)
+                .map(result -> result.key).sorted().collect(Collectors.toList());
+        if (!mismatches.isEmpty() && config.isVisualFailOnMismatch()) {
+            throw new IllegalStateException("[Visual] Capturas distintas al baseline: " + String.join(", ", mismatches));
+        }
+    }
+
+    // ==================== CICLO DEL ESCENARIO ====================
+
+    /**
+     * Fija la fila de Examples del hilo actual (clave del baseline).
+     *
+     * @param scenarioName  Nombre del escenario
+     * @param exampleValues Valores de los Examples de la fila (argumentos de sus pasos, en orden)
+     */
+    public static void startScenario(String scenarioName, List<String> exampleValues) {
+        StringBuilder key = new StringBuilder(scenarioName.replaceAll("[^a-zA-Z0-9]", "_")).append("_");
+        exampleValues.forEach(value -> key.append('_').append(value.replaceAll("[^a-zA-Z0-9]", "_")));
+        SCENARIO_KEY.set(key.toString());
+    }
+
+    /**
+     * Encola la comparación de una captura con el baseline de la fila actual, sin esperar.
+     *
+     * @param capturePath Ruta del PNG capturado
+     */
+    public static void submit(String capturePath) {
+        String key = SCENARIO_KEY.get();
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isVisualEnabled() || key == null || capturePath == null) {
+            return;
+        }
+        try {
+            Path actual = Paths.get(config.getVisualDir(), "actual", key + ".png");
+            Files.createDirectories(actual.getParent());
+            Files.copy(Paths.get(capturePath), actual, StandardCopyOption.REPLACE_EXISTING);
+            List<Future<Result>> pending = PENDING.get();
+            if (pending == null) {
+                pending = new ArrayList<>();
+                PENDING.set(pending);
+            }
+            pending.add(background().submit(() -> compare(key, actual)));
+        } catch (IOException e) {
+            LOG.warn("No se pudo encolar la comparación de " + capturePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Espera las comparaciones encoladas por el escenario del hilo actual y las olvida.
+     *
+     * @return Resultados del escenario (vacío si no capturó nada)
+     */
+    public static List<Result> endScenario() {
+        List<Future<Result>> pending = PENDING.get();
+        PENDING.remove();
+        SCENARIO_KEY.remove();
+        List<Result> results = new ArrayList<>();
+        if (pending == null) {
+            return results;
+        }
+        for (Future<Result> future : pending) {
+            try {
+                Result result = future.get();
+                RESULTS.add(result);
+                results.add(result);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOG.warn("Error en la comparación visual: " + e.getCause());
+            }
+        }
+        return results;
+    }
+
+    // ==================== COMPARACIÓN ====================
+
+    /**
+     * Compara una captura con el baseline de su clave. Nunca lanza excepciones.
+     *
+     * @param key    Clave de la fila (nombre del baseline sin extensión)
+     * @param actual Captura a comparar
+     * @return Resultado de la comparación
+     */
+    public static Result compare(String key, Path actual) {
+        ConfigManager config = ConfigManager.getInstance();
+        long start = System.nanoTime();
+        Result result = new Result(key);
+        try {
+            Path baseline = Paths.get(config.getVisualBaselineDir(), key + ".png");
+            if (config.isVisualUpdateBaselines()) {
+                result.status = Status.UPDATED;
+                Files.createDirectories(baseline.getParent());
+                Files.copy(actual, baseline, StandardCopyOption.REPLACE_EXISTING);
+            } else if (!Files.exists(baseline)) {
+                // Candidata: se promueve a baseline solo de forma explícita (promote)
+                Path candidate = Paths.get(config.getVisualDir(), "new", key + ".png");
+                result.status = Status.NEW;
+                result.detail = "sin baseline; candidata en " + candidate;
+                Files.createDirectories(candidate.getParent());
+                Files.copy(actual, candidate, StandardCopyOption.REPLACE_EXISTING);
+            } else if (Arrays.equals(Files.readAllBytes(baseline), Files.readAllBytes(actual))) {
+                result.status = Status.MATCH;
+                result.detail = "idéntica byte a byte";
+            } else {
+                ImageComparator.Comparison comparison = comparator().compare(ImageIO.read(baseline.toFile()),
+                        ImageIO.read(actual.toFile()));
+                result.status = comparison.isMatch() ? Status.MATCH : Status.MISMATCH;
+                result.detail = comparison.toString();
+                if (comparison.diffImage != null) {
+                    result.diff = Paths.get(config.getVisualDir(), "diff", key + ".png");
+                    Files.createDirectories(result.diff.getParent());
+                    ImageIO.write(comparison.diffImage, "png", result.diff.toFile());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            result.status = Status.ERROR;
+            result.detail = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        result.millis = (System.nanoTime() - start) / 1_000_000;
+        if (result.isFailure() || result.status == Status.NEW) {
+            LOG.warn(result.toString());
+        } else {
+            LOG.debug(result.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Copia las candidatas de visual.dir/new/ a visual.baseline.dir y las elimina de new/.
+     */
+    public static void promote() throws IOException {
+        ConfigManager config = ConfigManager.getInstance();
+        Path candidates = Paths.get(config.getVisualDir(), "new");
+        if (!Files.isDirectory(candidates)) {
+            LOG.info("No hay candidatas en " + candidates);
+            return;
+        }
+        Path baselines = Paths.get(config.getVisualBaselineDir());
+        Files.createDirectories(baselines);
+        int promoted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(candidates, "*.png")) {
+            for (Path candidate : files) {
+                Files.move(candidate, baselines.resolve(candidate.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                LOG.info("Baseline promovido: " + candidate.getFileName());
+                promoted++;
+            }
+        }
+        LOG.info(promoted + " baselines promovidos a " + baselines);
+    }
+
+    // ==================== REPORTE ====================
+
+    /**
+     * Imprime el resumen de las comparaciones y lo guarda en visual.dir/visual-report.json.
+     */
+    public static void exportReport() {
+        List<Result> results;
+        synchronized (RESULTS) {
+            results = new ArrayList<>(RESULTS);
+        }
+        if (results.isEmpty()) {
+            return;
+        }
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        List<Map<String, Object>> json = new ArrayList<>();
+        for (Result result : results) {
+            counts.merge(result.status, 1, Integer::sum);
+            json.add(result.toMap());
+        }
+        LOG.info("Regresión visual: " + counts);
+        Path file = Paths.get(ConfigManager.getInstance().getVisualDir(), "visual-report.json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, new Json().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("No se pudo guardar el reporte visual: " + e.getMessage());
+        }
+    }
+
+    // ==================== UTILIDADES PRIVADAS ====================
+
+    private static String keyOf(Path capture) {
+        String name = capture.getFileName().toString();
+        return name.substring(0, name.length() - ".png".length());
+    }
+
+    private static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+
+    /** Hilos de fondo de las comparaciones de la ejecución (no bloquean los pasos) */
+    private static synchronized ExecutorService background() {
+        if (background == null) {
+            background = Executors.newFixedThreadPool(Math.max(1, ConfigManager.getInstance().getVisualThreads()), r -> {
+                Thread thread = new Thread(r, "visual-diff");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return background;
+    }
+
+    private static synchronized ImageComparator comparator() {
+        if (comparator == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            comparator = new ImageComparator(config.getVisualHashMaxDistance(), config.getVisualPixelTolerance(),
+                    config.getVisualMaxDiffRatio(), config.getVisualTileSize(),
+                    parseRegions(config.getVisualIgnoreRegions()), pool());
+        }
+        return comparator;
+    }
+
+    /** Regiones "x,y,ancho,alto;x,y,ancho,alto" */
+    private static List<Rectangle> parseRegions(String value) {
+        List<Rectangle> regions = new ArrayList<>();
+        for (String region : value.split(";")) {
+            if (region.isBlank()) {
+                continue;
+            }
+            String[] parts = region.trim().split("\\s*,\\s*");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("[Visual] Región inválida en visual.ignore.regions: " + region);
+            }
+            regions.add(new Rectangle(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), Integer.parseInt(parts[3])));
+        }
+        return regions;
+    }
+
+    /**
+     * Resultado de comparar la captura de una fila con su baseline.
+     */
+    public static final class Result {
+
+        private final String key;
+        private Status status;
+        private String detail;
+        private Path diff;
+        private long millis;
+
+        Result(String key) {
+            this.key = key;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /** @return true si la captura no coincide o no se pudo comparar */
+        public boolean isFailure() {
+            return status == Status.MISMATCH || status == Status.ERROR;
+        }
+
+        /** @return Imagen de diff, o null si coincide */
+        public Path getDiff() {
+            return diff;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("key", key);
+            map.put("status", status.name());
+            map.put("detail", detail);
+            map.put("diff", diff == null ? null : diff.toString());
+            map.put("millis", millis);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return key + " → " + status + (detail == null ? "" : " (" + detail + ")") + " en " + millis + " ms"
+                    + (diff == null ? "" : " | diff: " + diff);
+        }
+    }
+}